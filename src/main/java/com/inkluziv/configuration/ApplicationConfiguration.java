@@ -1,53 +1,102 @@
 package com.inkluziv.configuration;
 
-import com.inkluziv.data.repository.UserRepository;
-import com.inkluziv.exception.EmailNotFoundException;
+import com.inkluziv.util.SmtpTransportPool;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.JavaMailSenderImpl;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
-import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @RequiredArgsConstructor
 public class ApplicationConfiguration {
 
-    private final UserRepository userRepository;
+    private static final String BCRYPT = "bcrypt";
+    private static final String PBKDF2 = "pbkdf2";
 
-    @Bean
-    public UserDetailsService userDetailsService() {
-        return email -> userRepository.findByEmail(email)
-                .orElseThrow(() -> new EmailNotFoundException("User not found with email: " + email));
-    }
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-       return new BCryptPasswordEncoder();
-    }
+    @Value("${security.password.encoder:bcrypt}")
+    private String passwordEncoderId;
+
+    @Value("${security.password.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.pbkdf2.iterations:310000}")
+    private int pbkdf2Iterations;
+
+    @Value("${security.password.hashing.threads:0}")
+    private int passwordHashingThreads;
+
+    @Value("${security.password.hashing.queue-capacity:0}")
+    private int passwordHashingQueueCapacity;
 
+    @Value("${email.dispatch.workers:4}")
+    private int emailDispatchWorkers;
+
+    @Value("${email.smtp.pool.max-connections:0}")
+    private int smtpPoolMaxConnections;
+
+    @Value("${email.smtp.pool.max-messages-per-connection:100}")
+    private int smtpPoolMaxMessagesPerConnection;
+
+    @Value("${email.smtp.pool.max-idle:60s}")
+    private Duration smtpPoolMaxIdle;
+
+    @Value("${email.smtp.pool.validate-after-idle:2s}")
+    private Duration smtpPoolValidateAfterIdle;
+
+    /**
+     * New hashes use {@code security.password.encoder} ({@code bcrypt} or {@code pbkdf2}) at the configured cost and
+     * carry an {@code {id}} prefix; hashes with another prefix or a lower cost still verify and are flagged by
+     * {@link PasswordEncoder#upgradeEncoding} for rehash on the next login. Unprefixed hashes from before the
+     * delegating encoder are bcrypt. Pick the cost with {@code PasswordHashingBenchmark} on the deployed hardware.
+     */
     @Bean
-    public AuthenticationManager authenticationManager(AuthenticationConfiguration authenticationConfiguration) throws Exception {
-        return authenticationConfiguration.getAuthenticationManager();
+    public PasswordEncoder passwordEncoder() {
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        encoders.put(BCRYPT, new BCryptPasswordEncoder(bcryptStrength));
+        encoders.put(PBKDF2, new Pbkdf2PasswordEncoder("", 16, pbkdf2Iterations,
+                Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+        if (!encoders.containsKey(passwordEncoderId)) {
+            throw new IllegalStateException("Unsupported security.password.encoder: " + passwordEncoderId);
+        }
+        DelegatingPasswordEncoder delegatingPasswordEncoder = new DelegatingPasswordEncoder(passwordEncoderId, encoders);
+        delegatingPasswordEncoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+        return delegatingPasswordEncoder;
     }
 
+    /**
+     * Runs bcrypt for {@link com.inkluziv.service.PasswordHashingService}: one thread per core (or
+     * {@code security.password.hashing.threads}) and a queue of {@code security.password.hashing.queue-capacity}
+     * (four per thread by default). Work beyond that is rejected rather than queued.
+     */
     @Bean
-    public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
-        authenticationProvider.setUserDetailsService(userDetailsService());
-        return authenticationProvider;
+    public ExecutorService passwordHashingExecutor(MeterRegistry meterRegistry) {
+        int threads = passwordHashingThreads > 0 ? passwordHashingThreads : Runtime.getRuntime().availableProcessors();
+        int capacity = passwordHashingQueueCapacity > 0 ? passwordHashingQueueCapacity : threads * 4;
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                Thread.ofPlatform().daemon().name("password-hashing-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+        meterRegistry.gauge("security.password.hashing.queue.depth", executor, pool -> pool.getQueue().size());
+        return executor;
     }
 
     @Bean
@@ -66,7 +115,7 @@ public class ApplicationConfiguration {
     }
 
     @Bean
-    public JavaMailSender javaMailSender() {
+    public JavaMailSenderImpl javaMailSender() {
         JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
         mailSender.setHost("smtp.gmail.com");
         mailSender.setPort(587);
@@ -85,6 +134,19 @@ public class ApplicationConfiguration {
         return mailSender;
     }
 
+    /**
+     * Authenticated SMTP connections kept open between sends, on the same session and credentials as
+     * {@link #javaMailSender()}. Sized to the email dispatch workers unless {@code email.smtp.pool.max-connections}
+     * is set.
+     */
+    @Bean
+    public SmtpTransportPool smtpTransportPool(JavaMailSenderImpl javaMailSender) {
+        int maxConnections = smtpPoolMaxConnections > 0 ? smtpPoolMaxConnections : emailDispatchWorkers;
+        return new SmtpTransportPool(javaMailSender.getSession(), javaMailSender.getHost(), javaMailSender.getPort(),
+                javaMailSender.getUsername(), javaMailSender.getPassword(), maxConnections,
+                smtpPoolMaxMessagesPerConnection, smtpPoolMaxIdle, smtpPoolValidateAfterIdle);
+    }
+
     @Bean
     public RestTemplate restTemplate(){
         return new RestTemplate();
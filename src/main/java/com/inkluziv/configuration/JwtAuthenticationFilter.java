@@ -1,28 +1,38 @@
 package com.inkluziv.configuration;
 
+import com.inkluziv.data.model.User;
+import com.inkluziv.service.TokenBlacklistService;
+import com.inkluziv.service.UserDetailsCacheService;
 import com.inkluziv.util.JwtUtil;
+import com.inkluziv.util.TokenPrincipal;
+import com.inkluziv.util.VerifiedClaims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsCacheService userDetailsCacheService;
+    private final TokenBlacklistService tokenBlacklistService;
+
+    @Value("${security.jwt.stateless-principal:false}")
+    private boolean statelessPrincipal;
 
     @Override
     protected void doFilterInternal(
@@ -32,7 +42,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwtToken;
-        final String email;
+        final VerifiedClaims claims;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -40,11 +50,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwtToken = authHeader.substring(7);
-        email = jwtUtil.extractUserName(jwtToken);
+        claims = jwtUtil.verify(jwtToken);
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(email);
-            if (jwtUtil.isValidToken(jwtToken, userDetails)) {
+        if (claims.subject() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            UserDetails userDetails = loadPrincipal(jwtToken, claims);
+            if (userDetails != null && claims.subject().equals(userDetails.getUsername())) {
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails,
                         null,
@@ -59,4 +69,26 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    /**
+     * With {@code security.jwt.stateless-principal} the principal comes from the token's own claims; tokens
+     * without those claims, and every token when the mode is off, load the user. Either way a disabled user or a
+     * revoked token leaves the request unauthenticated (null).
+     */
+    private UserDetails loadPrincipal(String jwtToken, VerifiedClaims claims) {
+        Optional<TokenPrincipal> tokenPrincipal = statelessPrincipal ? jwtUtil.principalOf(claims) : Optional.empty();
+        UserDetails principal;
+        String userId;
+        if (tokenPrincipal.isPresent()) {
+            principal = tokenPrincipal.get();
+            userId = tokenPrincipal.get().userId();
+        } else {
+            principal = userDetailsCacheService.loadUserByEmail(claims.subject());
+            userId = principal instanceof User user ? user.getId() : claims.get(JwtUtil.USER_ID_CLAIM, String.class);
+        }
+        if (!principal.isEnabled()) {
+            return null;
+        }
+        return tokenBlacklistService.isRevoked(jwtToken, userId, claims.issuedAt()) ? null : principal;
+    }
+}
@@ -0,0 +1,42 @@
+package com.inkluziv.configuration;
+
+import com.inkluziv.service.TokenBlacklistService;
+import com.inkluziv.service.TokenBlacklistServiceImpl;
+import com.inkluziv.service.UserDetailsCacheService;
+import com.inkluziv.service.UserDetailsCacheServiceImpl;
+import com.inkluziv.service.VoiceIdentificationService;
+import com.inkluziv.service.VoiceIdentificationServiceImpl;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+@Configuration
+public class RedisConfiguration {
+
+    /**
+     * Applies user-details invalidations, token revocations and voice index changes published by any node to this
+     * node's local caches.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       UserDetailsCacheService userDetailsCacheService,
+                                                                       TokenBlacklistService tokenBlacklistService,
+                                                                       VoiceIdentificationService voiceIdentificationService) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> userDetailsCacheService.evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(UserDetailsCacheServiceImpl.INVALIDATION_CHANNEL));
+        container.addMessageListener(
+                (message, pattern) -> tokenBlacklistService.onRevocationBroadcast(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(TokenBlacklistServiceImpl.REVOCATION_CHANNEL));
+        container.addMessageListener(
+                (message, pattern) -> voiceIdentificationService.refreshLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(VoiceIdentificationServiceImpl.MUTATION_CHANNEL));
+        return container;
+    }
+}
@@ -0,0 +1,92 @@
+package com.inkluziv.configuration;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inkluziv.data.model.Embedding;
+import com.inkluziv.util.AudioPreprocessor;
+import com.inkluziv.util.MfccFeatureExtractor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class VoiceMlConfiguration {
+
+    @Value("${voice.ml.client.connect-timeout:5s}")
+    private Duration connectTimeout;
+
+    @Value("${voice.extraction.local.threads:0}")
+    private int localExtractionThreads;
+
+    @Value("${voice.audio.max-duration-seconds:30}")
+    private double maxAudioDurationSeconds;
+
+    @Value("${voice.audio.vad.range-db:40}")
+    private double vadRangeDb;
+
+    @Value("${voice.embedding.cache.ttl:10m}")
+    private Duration embeddingCacheTtl;
+
+    @Value("${voice.embedding.cache.max-size:10000}")
+    private long embeddingCacheMaxSize;
+
+    /**
+     * Extraction results keyed by SHA-256 of the uploaded audio plus {@code voice.ml.model.version}, so a
+     * client retrying the same upload does not cost another ML round trip.
+     */
+    @Bean
+    public Cache<String, Embedding> embeddingCache(MeterRegistry meterRegistry) {
+        Cache<String, Embedding> cache = Caffeine.newBuilder()
+                .expireAfterWrite(embeddingCacheTtl)
+                .maximumSize(embeddingCacheMaxSize)
+                .recordStats()
+                .build();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "voice.embedding");
+    }
+
+    /**
+     * Shared client for the voice ML service. It keeps HTTP/1.1 connections alive in its pool between
+     * requests; pool size and idle time follow {@code jdk.httpclient.connectionPoolSize} and
+     * {@code jdk.httpclient.keepalive.timeout}.
+     */
+    @Bean
+    public HttpClient voiceMlHttpClient() {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    @Bean
+    public AudioPreprocessor audioPreprocessor() {
+        return new AudioPreprocessor(maxAudioDurationSeconds, vadRangeDb);
+    }
+
+    @Bean
+    public MfccFeatureExtractor mfccFeatureExtractor() {
+        return new MfccFeatureExtractor();
+    }
+
+    /**
+     * Runs in-process feature extraction. Sized to the available cores (or {@code voice.extraction.local.threads})
+     * with a bounded queue, so a burst of local extractions cannot oversubscribe the CPU the rest of the service
+     * needs.
+     */
+    @Bean
+    public ExecutorService localExtractionExecutor() {
+        int threads = localExtractionThreads > 0 ? localExtractionThreads : Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 16),
+                Thread.ofPlatform().daemon().name("voice-local-extract-", 0).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
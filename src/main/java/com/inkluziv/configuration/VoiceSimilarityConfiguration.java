@@ -0,0 +1,64 @@
+package com.inkluziv.configuration;
+
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.ScoreCohort;
+import com.inkluziv.util.SimilarityEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+@Configuration
+@Slf4j
+public class VoiceSimilarityConfiguration {
+
+    private static final String VECTOR_ENGINE_CLASS = "com.inkluziv.util.VectorSimilarityEngine";
+
+    @Value("${voice.similarity.engine:auto}")
+    private String engine;
+
+    @Value("${voice.score-normalization.cohort-path:}")
+    private String cohortPath;
+
+    @Bean
+    public SimilarityEngine similarityEngine() {
+        SimilarityEngine selected = switch (engine.toLowerCase()) {
+            case "scalar" -> new ScalarSimilarityEngine();
+            case "vector" -> loadVectorEngine(true);
+            default -> loadVectorEngine(false);
+        };
+        log.info("Voice similarity engine: {}", selected.name());
+        return selected;
+    }
+
+    /**
+     * Impostor cohort for {@code voice.score-normalization.mode}; empty when no cohort file is configured, in
+     * which case verification uses the raw threshold.
+     */
+    @Bean
+    public ScoreCohort scoreCohort() throws IOException {
+        if (cohortPath.isBlank()) {
+            return ScoreCohort.empty();
+        }
+        ScoreCohort cohort = ScoreCohort.load(Path.of(cohortPath));
+        log.info("Loaded score-normalization cohort of {} voice prints (dimension {})", cohort.size(), cohort.dimension());
+        return cohort;
+    }
+
+    private SimilarityEngine loadVectorEngine(boolean required) {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return (SimilarityEngine) Class.forName(VECTOR_ENGINE_CLASS).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                log.warn("Vector similarity engine unavailable: {}", e.getMessage());
+            }
+        }
+        if (required) {
+            throw new IllegalStateException("voice.similarity.engine=vector requires --add-modules jdk.incubator.vector");
+        }
+        return new ScalarSimilarityEngine();
+    }
+}
@@ -82,6 +82,12 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/voice-identify")
+    public ResponseEntity<LoginResponse> voiceIdentify(@ModelAttribute VoiceIdentifyRequest request) {
+        LoginResponse response = userService.voiceIdentify(request);
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/enable-voice-auth")
     public ResponseEntity<VoiceAuthResponse> enableVoiceAuthentication(@RequestParam("voiceSample") MultipartFile voiceSample) {
         EnableVoiceAuthRequest request = new EnableVoiceAuthRequest();
@@ -109,6 +115,12 @@ public class UserController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping("/deactivate")
+    public ResponseEntity<LogoutResponse> deactivateAccount() {
+        LogoutResponse response = userService.deactivateAccount();
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/enroll-voice")
     public ResponseEntity<VoiceAuthResponse> enrollVoice(@ModelAttribute VoiceEnrollRequest request) {
         return ResponseEntity.ok(userService.enrollVoiceSample(request));
@@ -0,0 +1,8 @@
+package com.inkluziv.data.enums;
+
+public enum LocalExtractionMode {
+    OFF,
+    PRIMARY,
+    FALLBACK,
+    SHADOW
+}
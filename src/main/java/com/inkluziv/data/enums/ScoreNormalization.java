@@ -0,0 +1,7 @@
+package com.inkluziv.data.enums;
+
+public enum ScoreNormalization {
+    NONE,
+    S_NORM,
+    AS_NORM
+}
@@ -0,0 +1,7 @@
+package com.inkluziv.data.enums;
+
+public enum SimilarityMode {
+    COSINE,
+    DOT_PRODUCT,
+    EUCLIDEAN
+}
@@ -1,14 +1,12 @@
 package com.inkluziv.data.model;
 
+import com.inkluziv.util.VoicePrintCodec;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import lombok.Data;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
-import java.util.List;
-import java.util.stream.Collectors;
 
 @Data
 @Document(collection = "embeddings")
@@ -18,7 +16,7 @@ public class Embedding {
     private String id;
 
     @Field("voice_print")
-    private String voicePrint;
+    private byte[] voicePrint;
 
     @Field("created_at")
     private LocalDateTime createdAt;
@@ -26,30 +24,21 @@ public class Embedding {
     @Field("feature_count")
     private int Feature_count;
 
-    public List<Double> getVoicePrintList() {
-        if (voicePrint == null || voicePrint.isEmpty()) {
-            return List.of();
-        }
-        return Arrays.stream(voicePrint.split(","))
-                .map(String::trim)
-                .map(Double::parseDouble)
-                .collect(Collectors.toList());
-    }
+    @Field("model")
+    private String model;
 
-    public void setVoicePrintList(List<Double> list) {
-        if (list == null || list.isEmpty()) {
-            this.voicePrint = "";
-        } else {
-            this.voicePrint = list.stream()
-                    .map(String::valueOf)
-                    .collect(Collectors.joining(","));
+    public float[] getVoicePrintVector() {
+        if (voicePrint == null || voicePrint.length == 0) {
+            return new float[0];
         }
+        return VoicePrintCodec.decode(voicePrint);
     }
 
-    @Field("voice_print_array")
-    private List<Double> voicePrintArray;
+    public void setVoicePrintVector(float[] vector) {
+        this.voicePrint = VoicePrintCodec.encode(vector);
+    }
 
     public Embedding() {
         this.createdAt = LocalDateTime.now();
     }
-}
\ No newline at end of file
+}
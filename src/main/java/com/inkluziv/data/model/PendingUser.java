@@ -17,7 +17,10 @@ public class PendingUser {
     private String id;
     private String email;
     private String password;
-    private String voicePrint;
+    private byte[] voicePrint;
+    private String embeddingId;
+    private String voiceModel;
+    private byte[] fallbackVoicePrint;
     private String otp;
     private LocalDateTime expiryTime;
     private Role role;
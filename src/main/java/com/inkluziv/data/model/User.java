@@ -29,7 +29,13 @@ public class User implements UserDetails {
     private String phoneNumber;
     private String lastName;
     private String location;
-    private String voicePrint;
+    private byte[] voicePrint;
+    private List<byte[]> voiceSamples;
+    private List<String> voiceEmbeddingIds;
+    private float voiceCentroidNorm;
+    private String voiceModel;
+    private byte[] fallbackVoicePrint;
+    private float fallbackVoiceCentroidNorm;
     private boolean voiceAuthEnabled;
     private String profilePicturePath;
     private LocalDateTime registrationDate;
@@ -71,6 +77,6 @@ public class User implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return UserDetails.super.isEnabled();
+        return isActive;
     }
 }
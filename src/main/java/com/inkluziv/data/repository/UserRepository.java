@@ -2,12 +2,26 @@ package com.inkluziv.data.repository;
 
 import com.inkluziv.data.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends MongoRepository<User, String> {
 
     Optional<User> findByEmail(String email);
+
+    @Query(value = "{ 'voiceAuthEnabled': true, 'voicePrint': { $type: 'binData' } }", fields = "{ 'voicePrint': 1 }")
+    Stream<User> streamVoiceEnrolledUsers();
+
+    @Query(value = "{ 'updatedAt': { $gte: ?0 } }", fields = "{ 'voicePrint': 1, 'voiceAuthEnabled': 1 }")
+    Stream<User> streamUsersUpdatedSince(LocalDateTime since);
+
+    @Query("{ '_id': ?0, 'password': ?1 }")
+    @Update("{ '$set': { 'password': ?2 } }")
+    long replacePasswordHash(String id, String currentHash, String upgradedHash);
 }
@@ -0,0 +1,9 @@
+package com.inkluziv.dto.request;
+
+import lombok.Data;
+import org.springframework.web.multipart.MultipartFile;
+
+@Data
+public class VoiceIdentifyRequest {
+    private MultipartFile voiceSample;
+}
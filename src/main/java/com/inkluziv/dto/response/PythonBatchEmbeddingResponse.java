@@ -0,0 +1,10 @@
+package com.inkluziv.dto.response;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class PythonBatchEmbeddingResponse {
+    private List<PythonEmbeddingResponse> results;
+}
@@ -1,12 +1,13 @@
 package com.inkluziv.dto.response;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.inkluziv.util.FloatArrayDeserializer;
 import lombok.Data;
 
-import java.util.List;
-
 @Data
 public class PythonEmbeddingResponse {
     private String file_id;
-    private List<Double> embedding;
+    @JsonDeserialize(using = FloatArrayDeserializer.class)
+    private float[] embedding;
     private int feature_count;
 }
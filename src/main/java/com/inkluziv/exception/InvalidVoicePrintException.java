@@ -0,0 +1,7 @@
+package com.inkluziv.exception;
+
+public class InvalidVoicePrintException extends RuntimeException {
+    public InvalidVoicePrintException(String message) {
+        super(message);
+    }
+}
@@ -10,4 +10,14 @@ public class EmbeddingMapper {
         embeddingResponse.setEmbedding(embedding);
         return embeddingResponse;
     }
+
+    public static Embedding copyOf(Embedding source) {
+        Embedding embedding = new Embedding();
+        embedding.setId(source.getId());
+        embedding.setVoicePrint(source.getVoicePrint() == null ? null : source.getVoicePrint().clone());
+        embedding.setCreatedAt(source.getCreatedAt());
+        embedding.setFeature_count(source.getFeature_count());
+        embedding.setModel(source.getModel());
+        return embedding;
+    }
 }
@@ -0,0 +1,5 @@
+package com.inkluziv.service;
+
+public interface EmailDispatcher {
+    void dispatch(String to, String subject, String htmlContent);
+}
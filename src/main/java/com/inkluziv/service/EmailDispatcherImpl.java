@@ -0,0 +1,244 @@
+package com.inkluziv.service;
+
+import com.inkluziv.exception.EmailNotSentException;
+import com.inkluziv.util.SmtpTransportPool;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.AuthenticationFailedException;
+import jakarta.mail.MessagingException;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends email off the request thread: bounded queue, batched sends over pooled SMTP connections, jittered retries
+ * and an {@code email.dead-letter} log. Workers are platform threads since JavaMail pins virtual ones.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class EmailDispatcherImpl implements EmailDispatcher {
+
+    private static final Logger DEAD_LETTERS = LoggerFactory.getLogger("email.dead-letter");
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+    private final SmtpTransportPool transportPool;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${spring.mail.username}")
+    private String fromEmail;
+
+    @Value("${email.dispatch.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${email.dispatch.workers:4}")
+    private int workers;
+
+    @Value("${email.dispatch.batch-size:20}")
+    private int batchSize;
+
+    @Value("${email.dispatch.retry.max-attempts:4}")
+    private int maxAttempts;
+
+    @Value("${email.dispatch.retry.initial-backoff:1s}")
+    private Duration initialBackoff;
+
+    @Value("${email.dispatch.retry.max-backoff:30s}")
+    private Duration maxBackoff;
+
+    @Value("${email.dispatch.shutdown-grace:10s}")
+    private Duration shutdownGrace;
+
+    private final DelayQueue<OutgoingEmail> queue = new DelayQueue<>();
+    private final List<Thread> workerThreads = new ArrayList<>();
+    private volatile boolean running;
+    private Semaphore capacity;
+
+    private Timer queueWait;
+    private Timer sendDuration;
+    private Counter sent;
+    private Counter retried;
+    private Counter rejected;
+    private Counter deadLettered;
+
+    private record OutgoingEmail(String to, String subject, String htmlContent, int attempt, long readyAtNanos)
+            implements Delayed {
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(readyAtNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(readyAtNanos, ((OutgoingEmail) other).readyAtNanos);
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        queueWait = meterRegistry.timer("email.dispatch.queue.wait");
+        sendDuration = meterRegistry.timer("email.dispatch.send");
+        sent = meterRegistry.counter("email.dispatch.sent");
+        retried = meterRegistry.counter("email.dispatch.retried");
+        rejected = meterRegistry.counter("email.dispatch.rejected");
+        deadLettered = meterRegistry.counter("email.dispatch.dead-lettered");
+        meterRegistry.gauge("email.dispatch.queue.depth", queue, DelayQueue::size);
+        capacity = new Semaphore(queueCapacity);
+
+        running = true;
+        for (int index = 0; index < workers; index++) {
+            workerThreads.add(Thread.ofPlatform().daemon().name("email-dispatch-" + index).start(this::drain));
+        }
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        long deadline = System.nanoTime() + shutdownGrace.toNanos();
+        for (Thread worker : workerThreads) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining > 0) {
+                worker.join(Duration.ofNanos(remaining));
+            }
+            worker.interrupt();
+        }
+        List<OutgoingEmail> leftover = new ArrayList<>(queue);
+        queue.clear();
+        for (OutgoingEmail email : leftover) {
+            deadLetter(email, "dispatcher shut down before delivery");
+        }
+    }
+
+    @Override
+    public void dispatch(String to, String subject, String htmlContent) {
+        if (!running || !capacity.tryAcquire()) {
+            rejected.increment();
+            throw new EmailNotSentException("Email service is busy. Please try again later.");
+        }
+        queue.put(new OutgoingEmail(to, subject, htmlContent, 1, System.nanoTime()));
+    }
+
+    @Scheduled(fixedDelayString = "${email.smtp.pool.eviction-interval-ms:30000}")
+    public void evictIdleConnections() {
+        transportPool.evictIdle();
+    }
+
+    private void drain() {
+        List<OutgoingEmail> batch = new ArrayList<>(batchSize);
+        while (running || queue.peek() != null && queue.peek().getDelay(TimeUnit.NANOSECONDS) <= 0) {
+            OutgoingEmail first;
+            try {
+                first = queue.poll(POLL_INTERVAL.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            long now = System.nanoTime();
+            for (OutgoingEmail email : batch) {
+                queueWait.record(now - email.readyAtNanos(), TimeUnit.NANOSECONDS);
+            }
+            deliver(batch);
+            batch.clear();
+        }
+    }
+
+        /**
+     * Sends {@code batch} over one leased connection; a connection failure sends the rest back for retry.
+     */
+    private void deliver(List<OutgoingEmail> batch) {
+        int next = 0;
+        try (SmtpTransportPool.Lease lease = transportPool.acquire()) {
+            for (; next < batch.size(); next++) {
+                OutgoingEmail email = batch.get(next);
+                MimeMessage message;
+                try {
+                    message = toMimeMessage(email);
+                } catch (MessagingException | RuntimeException e) {
+                    deadLetter(email, e.getMessage());
+                    continue;
+                }
+                long started = System.nanoTime();
+                try {
+                    lease.send(message);
+                    sent.increment();
+                    capacity.release();
+                    log.info("Email successfully sent to {}", email.to());
+                } catch (SendFailedException e) {
+                    if (e.getInvalidAddresses() != null && e.getInvalidAddresses().length > 0) {
+                        deadLetter(email, e.getMessage());
+                    } else {
+                        retryOrDeadLetter(email, e);
+                    }
+                } catch (MessagingException | RuntimeException e) {
+                    lease.invalidate();
+                    throw e;
+                } finally {
+                    sendDuration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            }
+        } catch (AuthenticationFailedException e) {
+            batch.subList(next, batch.size()).forEach(email -> deadLetter(email, e.getMessage()));
+        } catch (MessagingException | RuntimeException e) {
+            batch.subList(next, batch.size()).forEach(email -> retryOrDeadLetter(email, e));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            batch.subList(next, batch.size()).forEach(email -> deadLetter(email, "interrupted before delivery"));
+        }
+    }
+
+    private MimeMessage toMimeMessage(OutgoingEmail email) throws MessagingException {
+        MimeMessage mimeMessage = new MimeMessage(transportPool.session());
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(fromEmail);
+        helper.setTo(email.to());
+        helper.setSubject(email.subject());
+        helper.setText(email.htmlContent(), true);
+        return mimeMessage;
+    }
+
+    private void retryOrDeadLetter(OutgoingEmail email, Exception failure) {
+        if (email.attempt() >= maxAttempts || !running) {
+            deadLetter(email, failure.getMessage());
+            return;
+        }
+        long ceiling = Math.min(maxBackoff.toNanos(), initialBackoff.toNanos() << Math.min(email.attempt() - 1, 30));
+        long backoff = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        log.warn("Email to {} failed on attempt {}, retrying in {} ms: {}",
+                email.to(), email.attempt(), TimeUnit.NANOSECONDS.toMillis(backoff), failure.getMessage());
+        retried.increment();
+        queue.put(new OutgoingEmail(email.to(), email.subject(), email.htmlContent(), email.attempt() + 1,
+                System.nanoTime() + backoff));
+    }
+
+    private void deadLetter(OutgoingEmail email, String reason) {
+        deadLettered.increment();
+        capacity.release();
+        DEAD_LETTERS.error("Dropped email to {} with subject '{}' after {} attempt(s): {}",
+                email.to(), email.subject(), email.attempt(), reason);
+    }
+}
@@ -1,11 +1,11 @@
 package com.inkluziv.service;
 
-import org.springframework.scheduling.annotation.Async;
+import java.util.Map;
 
 public interface EmailService {
-    @Async
     void sendEmail(String toEmail, String otp);
 
-    @Async
     void sendResetPasswordEmail(String toEmail, String otp);
+
+    void sendTemplatedEmail(String toEmail, String subject, String templateName, Map<String, ?> variables);
 }
@@ -1,114 +1,62 @@
 package com.inkluziv.service;
 
 import com.inkluziv.exception.EmailCannotBeBlankException;
-import com.inkluziv.exception.EmailNotSentException;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.util.Map;
+
 @Service
 @RequiredArgsConstructor
-@Slf4j
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private static final String OTP_TEMPLATE = "otp";
+    private static final String RESET_PASSWORD_TEMPLATE = "reset-password";
 
-    @Value("${spring.mail.username}")
-    private String fromEmail;
+    private final EmailDispatcher emailDispatcher;
+    private final EmailTemplateService emailTemplateService;
 
-    private static final int OTP_EXPIRY_MINUTES = 2;
+    @Value("${otp.ttl:2m}")
+    private Duration otpTtl;
 
-    @Async
     @Override
     public void sendEmail(String toEmail, String otp) {
-        if (toEmail == null || toEmail.isBlank()) {
-            throw new EmailCannotBeBlankException("Recipient email address cannot be blank or null");
-        }
-        String subject = "Your OTP Code";
-        String htmlContent = buildOtpHtmlTemplate(otp);
-        sendHtmlEmail(toEmail, subject, htmlContent);
+        sendTemplatedEmail(toEmail, "Your OTP Code", OTP_TEMPLATE,
+                Map.of("otp", otp, "expiry", expiry(otpTtl)));
     }
 
-    @Async
     @Override
     public void sendResetPasswordEmail(String toEmail, String otp) {
+        sendTemplatedEmail(toEmail, "Reset Your Password", RESET_PASSWORD_TEMPLATE,
+                Map.of("otp", otp, "expiry", expiry(otpTtl)));
+    }
+
+    @Override
+    public void sendTemplatedEmail(String toEmail, String subject, String templateName, Map<String, ?> variables) {
         if (toEmail == null || toEmail.isBlank()) {
             throw new EmailCannotBeBlankException("Recipient email address cannot be blank or null");
         }
-        String subject = "Reset Your Password";
-        String htmlContent = buildResetPasswordHtmlTemplate(otp);
-        sendHtmlEmail(toEmail, subject, htmlContent);
+        String htmlContent = emailTemplateService.render(templateName, variables);
+        emailDispatcher.dispatch(toEmail, subject, htmlContent);
     }
 
-    private void sendHtmlEmail(String to, String subject, String content) {
-        try {
-            MimeMessage mimeMessage = mailSender.createMimeMessage();
-            MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
-
-            helper.setFrom(fromEmail);
-            helper.setTo(to);
-            helper.setSubject(subject);
-            helper.setText(content, true);
-
-            mailSender.send(mimeMessage);
-            log.info("Email successfully sent to {}", to);
-
-        } catch (MailException | MessagingException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
-            throw new EmailNotSentException("Failed to send email. Please try again later.");
+    /**
+     * The TTL as the email states it, in minutes and seconds rounded down, so the email never promises more time
+     * than the code lives.
+     */
+    private static String expiry(Duration ttl) {
+        long seconds = Math.max(1, ttl.toSeconds());
+        long minutes = seconds / 60;
+        long remainder = seconds % 60;
+        if (minutes == 0) {
+            return plural(remainder, "second");
         }
+        return remainder == 0 ? plural(minutes, "minute") : plural(minutes, "minute") + " " + plural(remainder, "second");
     }
 
-    private String buildOtpHtmlTemplate(String otp) {
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head>
-                    <meta charset="UTF-8">
-                    <title>Your OTP Code</title>
-                </head>
-                <body style="font-family: Arial, sans-serif;">
-                    <div style="max-width: 600px; margin: auto; padding: 20px; background-color: #f4f4f4; border-radius: 10px;">
-                        <h2 style="color: #333;">Your One-Time Password (OTP)</h2>
-                        <p>Please use the OTP below to complete your action:</p>
-                        <p style="font-size: 24px; font-weight: bold; color: #007BFF;">%s</p>
-                        <p>This OTP is valid for <strong>%d minutes</strong>.</p>
-                        <p>If you did not request this, you can safely ignore this email.</p>
-                        <br/>
-                        <p>Regards,<br/>SkillNest Team</p>
-                    </div>
-                </body>
-                </html>
-                """.formatted(otp, OTP_EXPIRY_MINUTES);
-    }
-
-    private String buildResetPasswordHtmlTemplate(String otp) {
-        return """
-                <!DOCTYPE html>
-                <html>
-                <head>
-                    <meta charset="UTF-8">
-                    <title>Reset Your Password</title>
-                </head>
-                <body style="font-family: Arial, sans-serif;">
-                    <div style="max-width: 600px; margin: auto; padding: 20px; background-color: #fefefe; border-radius: 10px;">
-                        <h2 style="color: #333;">Reset Password Request</h2>
-                        <p>Use the OTP below to reset your password:</p>
-                        <p style="font-size: 24px; font-weight: bold; color: #DC3545;">%s</p>
-                        <p>This code will expire in <strong>%d minutes</strong>.</p>
-                        <p>If you didn't request this, ignore this email.</p>
-                        <br/>
-                        <p>Regards,<br/>SkillNest Security</p>
-                    </div>
-                </body>
-                </html>
-                """.formatted(otp, OTP_EXPIRY_MINUTES);
+    private static String plural(long count, String unit) {
+        return count == 1 ? "1 " + unit : count + " " + unit + "s";
     }
 }
@@ -0,0 +1,7 @@
+package com.inkluziv.service;
+
+import java.util.Map;
+
+public interface EmailTemplateService {
+    String render(String templateName, Map<String, ?> variables);
+}
@@ -0,0 +1,57 @@
+package com.inkluziv.service;
+
+import com.inkluziv.util.EmailTemplate;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Compiles every {@code *.html} under {@code email.templates.location} once at startup, keyed by file name without
+ * the extension. Adding an email is a matter of dropping a template there and rendering it by name.
+ */
+@Service
+@Slf4j
+public class EmailTemplateServiceImpl implements EmailTemplateService {
+
+    @Value("${email.templates.location:classpath*:templates/email/*.html}")
+    private String templatesLocation;
+
+    private Map<String, EmailTemplate> templates = Map.of();
+
+    @PostConstruct
+    public void init() {
+        Map<String, EmailTemplate> compiled = new HashMap<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(templatesLocation)) {
+                String filename = resource.getFilename();
+                if (filename == null) {
+                    continue;
+                }
+                String name = filename.substring(0, filename.lastIndexOf('.'));
+                compiled.put(name, EmailTemplate.compile(name, resource.getContentAsString(StandardCharsets.UTF_8)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load email templates from " + templatesLocation, e);
+        }
+        templates = Map.copyOf(compiled);
+        log.info("Compiled {} email templates: {}", templates.size(), templates.keySet());
+    }
+
+    @Override
+    public String render(String templateName, Map<String, ?> variables) {
+        EmailTemplate template = templates.get(templateName);
+        if (template == null) {
+            throw new IllegalArgumentException("Unknown email template: " + templateName);
+        }
+        return template.render(variables);
+    }
+}
@@ -0,0 +1,115 @@
+package com.inkluziv.service;
+
+import com.inkluziv.data.model.Embedding;
+import com.inkluziv.data.model.PendingUser;
+import com.inkluziv.data.model.User;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Deletes {@code embeddings} documents no user or pending registration refers to, once they are older than
+ * {@code voice.embedding.compaction.grace}.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class EmbeddingCompactionTask implements ApplicationRunner {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${voice.embedding.compaction.enabled:true}")
+    private boolean compactionEnabled;
+
+    @Value("${voice.embedding.compaction.batch-size:500}")
+    private int batchSize;
+
+    @Value("${voice.embedding.compaction.grace:1h}")
+    private Duration grace;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            mongoTemplate.indexOps(User.class).ensureIndex(new Index().on("voiceEmbeddingIds", Sort.Direction.ASC));
+            mongoTemplate.indexOps(PendingUser.class).ensureIndex(new Index().on("embeddingId", Sort.Direction.ASC));
+        } catch (DataAccessException e) {
+            log.warn("Failed to create embedding reference indexes; compaction will scan: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${voice.embedding.compaction-interval-ms:3600000}")
+    public void compact() {
+        if (!compactionEnabled) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        MongoCollection<Document> embeddings = mongoTemplate.getCollection(mongoTemplate.getCollectionName(Embedding.class));
+        Date cutoff = Date.from(Instant.now().minus(grace));
+        List<Object> batch = new ArrayList<>(batchSize);
+        long scanned = 0;
+        long deleted = 0;
+
+        for (Document document : embeddings.find(Filters.lt("created_at", cutoff))
+                .projection(Projections.include("_id"))
+                .batchSize(batchSize)) {
+            batch.add(document.get("_id"));
+            scanned++;
+            if (batch.size() == batchSize) {
+                deleted += deleteUnreferenced(embeddings, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleted += deleteUnreferenced(embeddings, batch);
+        }
+        if (deleted > 0) {
+            log.info("Removed {} orphaned embeddings of {} scanned in {} ms", deleted, scanned, System.currentTimeMillis() - started);
+        }
+    }
+
+    private long deleteUnreferenced(MongoCollection<Document> embeddings, List<Object> ids) {
+        List<String> keys = ids.stream().map(String::valueOf).toList();
+        Set<String> referenced = new HashSet<>();
+        for (Document user : mongoTemplate.getCollection(mongoTemplate.getCollectionName(User.class))
+                .find(Filters.in("voiceEmbeddingIds", keys))
+                .projection(Projections.include("voiceEmbeddingIds"))) {
+            referenced.addAll(user.getList("voiceEmbeddingIds", String.class));
+        }
+        for (Document pending : mongoTemplate.getCollection(mongoTemplate.getCollectionName(PendingUser.class))
+                .find(Filters.in("embeddingId", keys))
+                .projection(Projections.include("embeddingId"))) {
+            referenced.add(pending.getString("embeddingId"));
+        }
+
+        List<Object> orphaned = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            if (!referenced.contains(String.valueOf(id))) {
+                orphaned.add(id);
+            }
+        }
+        if (orphaned.isEmpty()) {
+            return 0;
+        }
+        return embeddings.deleteMany(Filters.in("_id", orphaned)).getDeletedCount();
+    }
+}
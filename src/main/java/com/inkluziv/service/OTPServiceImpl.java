@@ -1,104 +1,173 @@
 package com.inkluziv.service;
 
-import com.inkluziv.data.model.OTP;
-import com.inkluziv.data.repository.OTPRepository;
 import com.inkluziv.dto.response.OTPResponse;
+import com.inkluziv.exception.InvalidOtpException;
 import com.inkluziv.exception.OTPCannotBeBlankException;
 import com.inkluziv.mapper.OTPMapper;
 import com.inkluziv.util.OTPGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+
+/**
+ * One-time passwords kept in Redis as digests under {@code otp.ttl}, consumed atomically and capped at
+ * {@code otp.max-attempts} failed guesses per {@code otp.attempts-window}.
+ */
 @Service
 @RequiredArgsConstructor
 public class OTPServiceImpl implements OTPService {
 
-    private final OTPRepository otpRepository;
+    private static final String CODE_PREFIX = "otp:code:";
+    private static final String ATTEMPTS_PREFIX = "otp:attempts:";
+
+    private static final long ISSUED = 1;
+    private static final long VERIFIED = 1;
+    private static final long MISMATCH = 0;
+    private static final long MISSING = -1;
+    private static final long EXHAUSTED = -2;
+
+    private static final RedisScript<Long> ISSUE_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(redis.call('GET', KEYS[2]) or '0') >= tonumber(ARGV[3]) then
+                return -2
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            return 1
+            """, Long.class);
+
+    private static final RedisScript<Long> VERIFY_SCRIPT = new DefaultRedisScript<>("""
+            if tonumber(redis.call('GET', KEYS[2]) or '0') >= tonumber(ARGV[2]) then
+                redis.call('DEL', KEYS[1])
+                return -2
+            end
+            local code = redis.call('GET', KEYS[1])
+            if not code then
+                return -1
+            end
+            if code == ARGV[1] then
+                redis.call('DEL', KEYS[1], KEYS[2])
+                return 1
+            end
+            local attempts = redis.call('INCR', KEYS[2])
+            if attempts == 1 then
+                redis.call('PEXPIRE', KEYS[2], ARGV[3])
+            end
+            if attempts >= tonumber(ARGV[2]) then
+                redis.call('DEL', KEYS[1])
+                return -2
+            end
+            return 0
+            """, Long.class);
+
+    private static final RedisScript<Long> DISCARD_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                return redis.call('DEL', KEYS[1])
+            end
+            return 0
+            """, Long.class);
+
+    private final RedisTemplate<String, String> redisTemplate;
     private final EmailService emailService;
 
+    @Value("${otp.ttl:2m}")
+    private Duration otpTtl;
+
+    @Value("${otp.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${otp.attempts-window:15m}")
+    private Duration attemptsWindow;
+
     @Override
     public OTPResponse sendOtp(String email) {
-        String generatedOtp;
-        try {
-            generatedOtp = OTPGenerator.generateOTP();
-            if (generatedOtp.isBlank()) {
-                throw new OTPCannotBeBlankException("Generated OTP cannot be null or blank");
-            }
-            OTP otp = new OTP();
-            otp.setEmail(email);
-            otp.setOtp(generatedOtp);
-            otp.setExpiresAt(OTPGenerator.calculateExpiryTime());
-            try {
-                emailService.sendEmail(email, generatedOtp);
-            }catch (Exception e) {
-                throw new RuntimeException("Failed to send OTP email: " + e.getMessage(), e);
-            }
-            otp.setUsed(true);
-            otpRepository.save(otp);
-
-        }catch (Exception e) {
-            throw new RuntimeException("Failed to send OTP: " + e.getMessage(), e);
-        }
-        return OTPMapper.mapToOTPResponse(generatedOtp, "OTP sent successfully", email);
+        String generatedOtp = issue(email, emailService::sendEmail);
+        return OTPMapper.mapToOTPResponse(generatedOtp, email, "OTP sent successfully");
     }
 
     @Override
     public OTPResponse sendResetPasswordOtp(String email) {
-        String generatedOtp = OTPGenerator.generateOTP();
-        try {
-            if (generatedOtp.isBlank()) {
-                throw new OTPCannotBeBlankException("Generated OTP cannot be null or blank");
-            }
-            OTP otp = new OTP();
-            otp.setEmail(email);
-            otp.setOtp(generatedOtp);
-            otp.setExpiresAt(OTPGenerator.calculateExpiryTime());
-            try {
-                emailService.sendResetPasswordEmail(email, generatedOtp);
-            }catch (Exception e) {
-                throw new RuntimeException("Failed to send OTP email: " + e.getMessage(), e);
-            }
-            otp.setUsed(true);
-            otpRepository.save(otp);
-
-        }catch (Exception e) {
-            throw new RuntimeException("Failed to send OTP: " + e.getMessage(), e);
-        }
-        return OTPMapper.mapToOTPResponse(generatedOtp, "OTP sent successfully",email);
+        String generatedOtp = issue(email, emailService::sendResetPasswordEmail);
+        return OTPMapper.mapToOTPResponse(generatedOtp, email, "OTP sent successfully");
     }
+
     @Override
     public OTPResponse verifyOtp(String email, String otp) {
-        OTP otpEntity = otpRepository.findByEmailAndOtp(email, otp)
-                .orElseThrow(() -> new RuntimeException("Invalid OTP or email"));
-
-        if (otpEntity.isUsed()) {
-            throw new RuntimeException("OTP has already been used");
+        Long outcome = redisTemplate.execute(VERIFY_SCRIPT, List.of(codeKey(email), attemptsKey(email)),
+                digest(email, otp), String.valueOf(maxAttempts), String.valueOf(attemptsWindow.toMillis()));
+        if (outcome == null || outcome == MISSING) {
+            throw new InvalidOtpException("OTP is invalid or has expired");
         }
-
-        if (otpEntity.getExpiresAt().isBefore(OTPGenerator.getCurrentTime())) {
-            throw new RuntimeException("OTP has expired");
+        if (outcome == EXHAUSTED) {
+            throw new InvalidOtpException("Too many invalid attempts, try again later");
         }
-
-        otpEntity.setUsed(true);
-        otpRepository.save(otpEntity);
-
-        return OTPMapper.mapToOTPResponse(otp, "OTP verified successfully", email);
+        if (outcome == MISMATCH) {
+            throw new InvalidOtpException("Invalid OTP or email");
+        }
+        return OTPMapper.mapToOTPResponse(otp, email, "OTP verified successfully");
     }
+
+    /**
+     * Drops the code if it is still pending. A verified code is already consumed and an old one has expired, so
+     * both are a no-op.
+     */
     @Override
     public OTPResponse deleteOtp(String email, String otp) {
-        OTP otpEntity = otpRepository.findByEmailAndOtp(email, otp)
-                .orElseThrow(() -> new RuntimeException("Invalid OTP or email"));
-
-        boolean isUsed = otpEntity.isUsed();
-        boolean isExpired = otpEntity.getExpiresAt().isBefore(OTPGenerator.getCurrentTime());
+        redisTemplate.execute(DISCARD_SCRIPT, List.of(codeKey(email)), digest(email, otp));
+        return OTPMapper.mapToOTPResponse(otp, email, "OTP deleted successfully");
+    }
 
-        if (!isUsed && !isExpired) {
-            throw new RuntimeException("OTP is still valid and unused. Cannot delete.");
+    private String issue(String email, BiConsumer<String, String> sender) {
+        String generatedOtp = OTPGenerator.generateOTP();
+        if (generatedOtp.isBlank()) {
+            throw new OTPCannotBeBlankException("Generated OTP cannot be null or blank");
+        }
+        String key = codeKey(email);
+        Long outcome = redisTemplate.execute(ISSUE_SCRIPT, List.of(key, attemptsKey(email)),
+                digest(email, generatedOtp), String.valueOf(otpTtl.toMillis()), String.valueOf(maxAttempts));
+        if (outcome == null || outcome != ISSUED) {
+            throw new InvalidOtpException("Too many invalid attempts, try again later");
         }
+        try {
+            sender.accept(email, generatedOtp);
+        } catch (Exception e) {
+            redisTemplate.delete(key);
+            throw new RuntimeException("Failed to send OTP email: " + e.getMessage(), e);
+        }
+        return generatedOtp;
+    }
 
-        otpRepository.delete(otpEntity);
+    private static String codeKey(String email) {
+        return CODE_PREFIX + sha256(normalize(email));
+    }
 
-        return OTPMapper.mapToOTPResponse(otp, "OTP deleted successfully",email);
+    private static String attemptsKey(String email) {
+        return ATTEMPTS_PREFIX + sha256(normalize(email));
     }
 
+    private static String digest(String email, String otp) {
+        return sha256(normalize(email) + ":" + otp);
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String sha256(String value) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
 }
@@ -0,0 +1,8 @@
+package com.inkluziv.service;
+
+public interface PasswordHashingService {
+    String encode(CharSequence rawPassword);
+    boolean matches(CharSequence rawPassword, String encodedPassword);
+    boolean upgradeEncoding(String encodedPassword);
+    String dummyHash();
+}
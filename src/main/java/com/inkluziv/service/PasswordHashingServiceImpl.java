@@ -0,0 +1,104 @@
+package com.inkluziv.service;
+
+import com.inkluziv.exception.PasswordHashingOverloadedException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every bcrypt hash and comparison on {@code passwordHashingExecutor} rather than the request thread, so
+ * at most one hash per core runs at a time. When its queue is full the call fails at once with
+ * {@link PasswordHashingOverloadedException}, answered as 503 with {@code Retry-After}, instead of tying up a
+ * Tomcat thread behind the backlog.
+ */
+@Service
+@RequiredArgsConstructor
+public class PasswordHashingServiceImpl implements PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ExecutorService passwordHashingExecutor;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password.hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private String dummyHash;
+
+    @PostConstruct
+    public void init() {
+        dummyHash = passwordEncoder.encode(UUID.randomUUID().toString());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Whether {@code encodedPassword} was hashed with another algorithm or a lower cost than new hashes get.
+     * Only parses the hash prefix, so it runs on the caller's thread.
+     */
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * A hash of a random password from the current encoder, to compare against when there is no user.
+     */
+    @Override
+    public String dummyHash() {
+        return dummyHash;
+    }
+
+    private <T> T run(String operation, Callable<T> hashing) {
+        long submitted = System.nanoTime();
+        Timer queueWait = meterRegistry.timer("security.password.hashing.queue.wait", "operation", operation);
+        Timer duration = meterRegistry.timer("security.password.hashing.duration", "operation", operation);
+        Future<T> result;
+        try {
+            result = passwordHashingExecutor.submit(() -> {
+                long started = System.nanoTime();
+                queueWait.record(started - submitted, TimeUnit.NANOSECONDS);
+                try {
+                    return hashing.call();
+                } finally {
+                    duration.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("security.password.hashing.rejected", "operation", operation).increment();
+            throw new PasswordHashingOverloadedException("Too many password requests, please retry shortly", retryAfterSeconds);
+        }
+
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing password", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+}
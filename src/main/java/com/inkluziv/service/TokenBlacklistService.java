@@ -2,9 +2,13 @@ package com.inkluziv.service;
 
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+
 @Service
 public interface TokenBlacklistService {
     void blacklistToken(String token);
     void blacklistAllUserTokens(String userId);
     boolean isTokenBlacklisted(String token);
+    boolean isRevoked(String token, String userId, Instant issuedAt);
+    void onRevocationBroadcast(String message);
 }
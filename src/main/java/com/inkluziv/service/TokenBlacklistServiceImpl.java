@@ -1,31 +1,81 @@
 package com.inkluziv.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inkluziv.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.time.Instant;
 
 
+/**
+ * Token revocation backed by Redis, checked locally through a Bloom filter and a cache of logout epochs that
+ * {@link #REVOCATION_CHANNEL} keeps in sync across nodes.
+ */
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class TokenBlacklistServiceImpl implements TokenBlacklistService{
 
+    public static final String REVOCATION_CHANNEL = "token_revocations";
+    private static final String TOKEN_MESSAGE_PREFIX = "token:";
+    private static final String USER_MESSAGE_PREFIX = "user:";
+
     private final RedisTemplate<String , String> redisTemplate;
     private static final String BLACKLIST_PREFIX = "blacklisted_token:";
     private static final String USER_TOKENS_PREFIX = "user_tokens:";
 
+    @Value("${security.jwt.revocation.bloom.expected-insertions:100000}")
+    private long expectedRevocations;
+
+    @Value("${security.jwt.revocation.bloom.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @Value("${security.jwt.revocation.epoch-cache.ttl:1m}")
+    private Duration epochCacheTtl;
+
+    @Value("${security.jwt.revocation.epoch-cache.max-size:10000}")
+    private long epochCacheMaxSize;
+
+    private volatile BloomFilter revokedTokens;
+    private volatile BloomFilter rebuildingTokens;
+    private Cache<String, Long> logoutEpochs;
+
+    @PostConstruct
+    public void init() {
+        revokedTokens = new BloomFilter(expectedRevocations, falsePositiveRate);
+        logoutEpochs = Caffeine.newBuilder()
+                .maximumSize(epochCacheMaxSize)
+                .expireAfterWrite(epochCacheTtl)
+                .build();
+    }
 
     @Override
     public void blacklistToken(String token) {
         String key = BLACKLIST_PREFIX + token;
         redisTemplate.opsForValue().set(key, "blackListed", Duration.ofHours(24));
+        String tokenId = tokenId(token);
+        markRevoked(tokenId);
+        publish(TOKEN_MESSAGE_PREFIX + tokenId);
     }
 
     @Override
     public void blacklistAllUserTokens(String userId) {
         String key = USER_TOKENS_PREFIX + userId;
-        redisTemplate.opsForValue().set(key, String.valueOf(System.currentTimeMillis()), Duration.ofDays(30));
+        long epoch = System.currentTimeMillis();
+        redisTemplate.opsForValue().set(key, String.valueOf(epoch), Duration.ofDays(30));
+        logoutEpochs.put(userId, epoch);
+        publish(USER_MESSAGE_PREFIX + userId + ":" + epoch);
     }
 
     @Override
@@ -33,4 +83,99 @@ public class TokenBlacklistServiceImpl implements TokenBlacklistService{
         String key = BLACKLIST_PREFIX + token;
         return Boolean.TRUE.equals(redisTemplate.hasKey(key));
     }
+
+        /**
+     * Whether the token was logged out or issued no later than its user's logout-all; Redis errors count as revoked.
+     */
+    @Override
+    public boolean isRevoked(String token, String userId, Instant issuedAt) {
+        if (revokedTokens.mightContain(tokenId(token))) {
+            try {
+                if (isTokenBlacklisted(token)) {
+                    return true;
+                }
+            } catch (DataAccessException e) {
+                log.warn("Could not confirm token revocation, rejecting token: {}", e.getMessage());
+                return true;
+            }
+        }
+        if (userId == null || issuedAt == null) {
+            return false;
+        }
+        long epoch;
+        try {
+            epoch = logoutEpoch(userId);
+        } catch (DataAccessException e) {
+            log.warn("Could not read logout epoch for user {}, rejecting token: {}", userId, e.getMessage());
+            return true;
+        }
+        return epoch > 0 && issuedAt.getEpochSecond() <= Math.floorDiv(epoch, 1000);
+    }
+
+    @Override
+    public void onRevocationBroadcast(String message) {
+        if (message.startsWith(TOKEN_MESSAGE_PREFIX)) {
+            markRevoked(message.substring(TOKEN_MESSAGE_PREFIX.length()));
+        } else if (message.startsWith(USER_MESSAGE_PREFIX)) {
+            int separator = message.lastIndexOf(':');
+            String userId = message.substring(USER_MESSAGE_PREFIX.length(), separator);
+            long epoch = Long.parseLong(message.substring(separator + 1));
+            logoutEpochs.asMap().merge(userId, epoch, Math::max);
+        }
+    }
+
+    /**
+     * Replaces the filter with one holding only the revocations still in Redis. Runs at startup too, so a new
+     * node begins with every live revocation. Revocations arriving during the scan go into both filters.
+     */
+    @Scheduled(fixedDelayString = "${security.jwt.revocation.bloom.rebuild-interval-ms:3600000}")
+    public void rebuildRevocationFilter() {
+        BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+        rebuildingTokens = rebuilt;
+        int loaded = 0;
+        try (Cursor<String> keys = redisTemplate.scan(ScanOptions.scanOptions().match(BLACKLIST_PREFIX + "*").count(1000).build())) {
+            while (keys.hasNext()) {
+                rebuilt.put(tokenId(keys.next().substring(BLACKLIST_PREFIX.length())));
+                loaded++;
+            }
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild token revocation filter, keeping the current one: {}", e.getMessage());
+            rebuildingTokens = null;
+            return;
+        }
+        revokedTokens = rebuilt;
+        rebuildingTokens = null;
+        log.info("Token revocation filter rebuilt with {} revoked tokens", loaded);
+    }
+
+    private void markRevoked(String tokenId) {
+        revokedTokens.put(tokenId);
+        BloomFilter rebuilding = rebuildingTokens;
+        if (rebuilding != null) {
+            rebuilding.put(tokenId);
+        }
+    }
+
+    private long logoutEpoch(String userId) {
+        Long cached = logoutEpochs.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+        String loggedOutAt = redisTemplate.opsForValue().get(USER_TOKENS_PREFIX + userId);
+        long epoch = loggedOutAt == null ? 0L : Long.parseLong(loggedOutAt);
+        logoutEpochs.asMap().merge(userId, epoch, Math::max);
+        return epoch;
+    }
+
+    private void publish(String message) {
+        try {
+            redisTemplate.convertAndSend(REVOCATION_CHANNEL, message);
+        } catch (DataAccessException e) {
+            log.warn("Could not broadcast token revocation: {}", e.getMessage());
+        }
+    }
+
+    private static String tokenId(String token) {
+        return token.substring(token.lastIndexOf('.') + 1);
+    }
 }
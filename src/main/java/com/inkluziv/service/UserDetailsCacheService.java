@@ -0,0 +1,9 @@
+package com.inkluziv.service;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+public interface UserDetailsCacheService {
+    UserDetails loadUserByEmail(String email);
+    void evict(String email);
+    void evictLocal(String email);
+}
@@ -0,0 +1,142 @@
+package com.inkluziv.service;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inkluziv.data.enums.Role;
+import com.inkluziv.data.model.User;
+import com.inkluziv.data.repository.UserRepository;
+import com.inkluziv.exception.EmailNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Two-level (Caffeine, then Redis) cache of the token-auth fields of a user, in front of {@code findByEmail}.
+ * {@link #evict} invalidates every node over {@link #INVALIDATION_CHANNEL}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserDetailsCacheServiceImpl implements UserDetailsCacheService {
+
+    public static final String INVALIDATION_CHANNEL = "user_details:invalidate";
+    private static final String KEY_PREFIX = "user_details:";
+    private static final String GENERATION_PREFIX = "user_details:generation:";
+
+    private static final RedisScript<Long> EVICT_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('INCR', KEYS[2])
+            redis.call('PEXPIRE', KEYS[2], ARGV[1])
+            return redis.call('DEL', KEYS[1])
+            """, Long.class);
+
+    private static final RedisScript<Long> SHARE_SCRIPT = new DefaultRedisScript<>("""
+            if (redis.call('GET', KEYS[2]) or '0') ~= ARGV[2] then
+                return 0
+            end
+            redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[3])
+            return 1
+            """, Long.class);
+
+    private final UserRepository userRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.user-cache.l1.ttl:5m}")
+    private Duration localTtl;
+
+    @Value("${security.user-cache.l1.max-size:10000}")
+    private long localMaxSize;
+
+    @Value("${security.user-cache.l2.ttl:30m}")
+    private Duration sharedTtl;
+
+    private Cache<String, User> localCache;
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record Snapshot(String id, String email, Role role, boolean active) {
+    }
+
+    @PostConstruct
+    public void init() {
+        localCache = CaffeineCacheMetrics.monitor(meterRegistry, Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .<String, User>build(), "security.user-details");
+    }
+
+    @Override
+    public UserDetails loadUserByEmail(String email) {
+        return localCache.get(email, this::loadShared);
+    }
+
+    @Override
+    public void evict(String email) {
+        localCache.invalidate(email);
+        try {
+            redisTemplate.execute(EVICT_SCRIPT, List.of(KEY_PREFIX + email, GENERATION_PREFIX + email),
+                    String.valueOf(sharedTtl.multipliedBy(2).toMillis()));
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, email);
+        } catch (DataAccessException e) {
+            log.warn("Failed to invalidate cached user details for {}: {}", email, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evictLocal(String email) {
+        localCache.invalidate(email);
+    }
+
+    private User loadShared(String email) {
+        List<String> keys = List.of(KEY_PREFIX + email, GENERATION_PREFIX + email);
+        String generation = null;
+        try {
+            List<String> cached = redisTemplate.opsForValue().multiGet(keys);
+            if (cached != null && cached.get(0) != null) {
+                return toUser(objectMapper.readValue(cached.get(0), Snapshot.class));
+            }
+            generation = cached == null || cached.get(1) == null ? "0" : cached.get(1);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Shared user details cache unavailable for {}: {}", email, e.getMessage());
+        }
+
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new EmailNotFoundException("User not found with email: " + email));
+        Snapshot snapshot = new Snapshot(user.getId(), user.getEmail(), user.getRole(), user.isActive());
+        if (generation == null) {
+            return toUser(snapshot);
+        }
+        try {
+            redisTemplate.execute(SHARE_SCRIPT, keys, objectMapper.writeValueAsString(snapshot), generation,
+                    String.valueOf(sharedTtl.toMillis()));
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Failed to share user details for {}: {}", email, e.getMessage());
+        }
+        return toUser(snapshot);
+    }
+
+    private static User toUser(Snapshot snapshot) {
+        User user = new User();
+        user.setId(snapshot.id());
+        user.setEmail(snapshot.email());
+        user.setRole(snapshot.role());
+        user.setActive(snapshot.active());
+        return user;
+    }
+}
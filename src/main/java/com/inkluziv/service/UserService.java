@@ -27,10 +27,14 @@ public interface UserService {
 
     LoginResponse voiceLogin(VoiceLoginRequest request);
 
+    LoginResponse voiceIdentify(VoiceIdentifyRequest request);
+
     LogoutResponse logout();
 
     LogoutResponse logoutFromAllDevices();
 
+    LogoutResponse deactivateAccount();
+
     VoiceAuthResponse enableVoiceAuthentication(EnableVoiceAuthRequest request);
 
     VoiceAuthResponse disableVoiceAuthentication();
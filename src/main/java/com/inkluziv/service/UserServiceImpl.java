@@ -12,18 +12,20 @@ import com.inkluziv.dto.response.*;
 import com.inkluziv.exception.*;
 import com.inkluziv.mapper.UserMapper;
 import com.inkluziv.util.JwtUtil;
+import com.inkluziv.util.VoiceCentroid;
+import com.inkluziv.util.VoicePrintCodec;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Service
@@ -35,12 +37,19 @@ public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
     private final PendingUserRepository pendingUserRepository;
     private final JwtUtil jwtTokenUtil;
-    private final PasswordEncoder passwordEncoder;
-    private final AuthenticationManager authenticationManager;
+    private final PasswordHashingService passwordHashingService;
     private final CloudinaryService cloudinaryService;
     private final VoiceAuthenticationService voiceAuthenticationService;
     private final EmbeddingRepository embeddingRepository;
     private final TokenBlacklistService tokenBlacklistService;
+    private final UserDetailsCacheService userDetailsCacheService;
+    private final VoiceIdentificationService voiceIdentificationService;
+
+    @Value("${voice.enrollment.max-samples:5}")
+    private int maxEnrollmentSamples;
+
+    @Value("${voice.quantization.enabled:false}")
+    private boolean quantizationEnabled;
 
     @Override
     public OTPResponse sendVerificationOTP(CreateUserRequest request) {
@@ -51,7 +60,7 @@ public class UserServiceImpl implements UserService {
         validateRegisterRequest(request);
         validateEmail(request.getEmail());
 
-        String encodedPassword = passwordEncoder.encode(request.getPassword());
+        String encodedPassword = passwordHashingService.encode(request.getPassword());
 
         PendingUser pendingUser = new PendingUser();
         pendingUser.setEmail(request.getEmail());
@@ -100,21 +109,16 @@ public class UserServiceImpl implements UserService {
         return UserMapper.mapToUploadResponse("Image has been uploaded successfully", cloud);
     }
 
+    /**
+     * An unknown email is checked against a dummy hash, so it costs the same bcrypt round as a wrong password.
+     */
     @Override
     public LoginResponse login(LoginRequest loginRequest){
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(), loginRequest.getPassword()));
-
-        Optional<User> existingUser = userRepository.findByEmail(loginRequest.getEmail());
-        if (existingUser.isEmpty()) {
-            throw new UserNotFoundException("User not found with email");
-        }
-
-        User user = existingUser.get();
+        User user = userRepository.findByEmail(loginRequest.getEmail()).orElse(null);
+        String storedHash = user == null ? passwordHashingService.dummyHash() : user.getPassword();
 
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            throw new InvalidPasswordException("Invalid password");
+        if (!passwordHashingService.matches(loginRequest.getPassword(), storedHash) || user == null) {
+            throw new InvalidPasswordException("Invalid email or password");
         }
 
         if (!user.isActive()) {
@@ -125,10 +129,30 @@ public class UserServiceImpl implements UserService {
             throw new InvalidRoleException("Invalid role for user");
         }
 
+        if (passwordHashingService.upgradeEncoding(user.getPassword())) {
+            upgradePasswordHash(user, loginRequest.getPassword());
+        }
+
         var jwtToken = jwtTokenUtil.generateToken(user);
         return UserMapper.mapToLoginResponse(jwtToken, "Login was successful", user);
     }
 
+    /**
+     * Rehashes with the current encoder. The write only lands if the stored hash is still the one just verified,
+     * so a concurrent password reset wins; an overloaded hashing pool skips the upgrade until a later login.
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        try {
+            String upgradedHash = passwordHashingService.encode(rawPassword);
+            if (userRepository.replacePasswordHash(user.getId(), user.getPassword(), upgradedHash) > 0) {
+                user.setPassword(upgradedHash);
+                userDetailsCacheService.evict(user.getEmail());
+            }
+        } catch (PasswordHashingOverloadedException e) {
+            log.debug("Deferred password hash upgrade for user {}: hashing pool saturated", user.getId());
+        }
+    }
+
     @Override
     public UpdateUserProfileResponse updateProfile(UpdateUserProfileRequest updateUserProfileRequest) {
         Authentication authentication = getAuthentication();
@@ -146,6 +170,7 @@ public class UserServiceImpl implements UserService {
         UserMapper.mapToUpdateProfile(updateUserProfileRequest, user);
 
         userRepository.save(user);
+        userDetailsCacheService.evict(email);
         var token = jwtTokenUtil.generateToken(user);
         return UserMapper.mapToUpdateUserProfileResponse(token, "User profile updated successfully");
     }
@@ -156,9 +181,10 @@ public class UserServiceImpl implements UserService {
         User user = userRepository.findByEmail(changePasswordRequest.getEmail())
                 .orElseThrow(() -> new UserNotFoundException("User not found"));
 
-        String encodedPassword = passwordEncoder.encode(changePasswordRequest.getNewPassword());
+        String encodedPassword = passwordHashingService.encode(changePasswordRequest.getNewPassword());
         user.setPassword(encodedPassword);
         userRepository.save(user);
+        userDetailsCacheService.evict(user.getEmail());
 
         otpService.deleteOtp(changePasswordRequest.getEmail(), changePasswordRequest.getOtp());
         return UserMapper.mapToResetPasswordResponse("Password reset successful",changePasswordRequest.getEmail());
@@ -201,16 +227,21 @@ public class UserServiceImpl implements UserService {
             if(voicePrint == null){
                 throw new VoiceProcessingFailedException("voice cannot be null");
             }
+            requireEnrollmentModel(voicePrint.getEmbedding());
             Embedding embedding = new Embedding();
             embedding.setId(voicePrint.getEmbedding().getId());
             embedding.setCreatedAt(voicePrint.getEmbedding().getCreatedAt());
             embedding.setVoicePrint(voicePrint.getEmbedding().getVoicePrint());
+            embedding.setModel(voicePrint.getEmbedding().getModel());
             embeddingRepository.save(embedding);
-            String generatedPassword = passwordEncoder.encode(voiceAuthenticationService.generateSecurePassword());
+            String generatedPassword = passwordHashingService.encode(voiceAuthenticationService.generateSecurePassword());
 
             PendingUser pendingUser =  new PendingUser();
             pendingUser.setEmail(request.getEmail());
             pendingUser.setVoicePrint(embedding.getVoicePrint());
+            pendingUser.setEmbeddingId(embedding.getId());
+            pendingUser.setVoiceModel(embedding.getModel());
+            pendingUser.setFallbackVoicePrint(voiceAuthenticationService.extractFallbackVoicePrint(request.getVoiceSample()));
             pendingUser.setPassword(generatedPassword);
             pendingUser.setOtp(otpService.sendOtp(request.getEmail()).getOtp());
             pendingUser.setRole(Role.valueOf(request.getRole()));
@@ -222,6 +253,8 @@ public class UserServiceImpl implements UserService {
                     "Voice authentication enabled"
             );
 
+        }catch(PasswordHashingOverloadedException | VoiceProcessingFailedException e){
+            throw e;
         }catch(Exception e){
             throw new VoiceProcessingFailedException("failed to process voice");
         }
@@ -238,13 +271,15 @@ public class UserServiceImpl implements UserService {
         User user = new User();
         user.setEmail(pendingUser.getEmail());
         user.setPassword(pendingUser.getPassword());
-        user.setVoicePrint(pendingUser.getVoicePrint());
+        addVoiceSample(user, pendingUser.getVoicePrint(), pendingUser.getEmbeddingId(), pendingUser.getVoiceModel(),
+                pendingUser.getFallbackVoicePrint());
         user.setRole(pendingUser.getRole());
         user.setRegistrationDate(LocalDateTime.now());
         user.setUpdatedAt(LocalDateTime.now());
         user.setActive(true);
         user.setVoiceAuthEnabled(true);
         userRepository.save(user);
+        voiceIdentificationService.index(user.getId(), user.getVoicePrint());
         var jwtToken = jwtTokenUtil.generateToken(user);
         pendingUserRepository.delete(pendingUser);
 
@@ -269,7 +304,7 @@ public class UserServiceImpl implements UserService {
         }
 
         try {
-            boolean voiceMatched = voiceAuthenticationService.verifyVoice(request.getVoiceSample(), user.getVoicePrint());
+            boolean voiceMatched = voiceAuthenticationService.verifyVoice(request.getVoiceSample(), user);
 
             if (!voiceMatched) {
                 throw new VoiceDoesNotMatchException("voice authentication failed");
@@ -286,6 +321,42 @@ public class UserServiceImpl implements UserService {
         }
     }
 
+    @Override
+    public LoginResponse voiceIdentify(VoiceIdentifyRequest request) {
+        if (request.getVoiceSample() == null || request.getVoiceSample().isEmpty()) {
+            throw new NoVoiceInputException("Please input your voice");
+        }
+
+        try {
+            EmbeddingResponse voicePrint = voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample());
+            if (voicePrint == null || voicePrint.getEmbedding() == null) {
+                throw new VoiceProcessingFailedException("Failed to extract voice features");
+            }
+            requireEnrollmentModel(voicePrint.getEmbedding());
+
+            String userId = voiceIdentificationService.identify(voicePrint.getEmbedding().getVoicePrintVector())
+                    .orElseThrow(() -> new VoiceDoesNotMatchException("voice not recognised"));
+            User user = userRepository.findById(userId)
+                    .orElseThrow(() -> new UserNotFoundException("user not found"));
+
+            if (!user.isActive()) {
+                throw new InactiveUserException("User account is inactive");
+            }
+            if (!user.isVoiceAuthEnabled()) {
+                voiceIdentificationService.remove(userId);
+                throw new VoiceAuthenticationException("voice authentication not enabled");
+            }
+
+            user.setLastLoginDate(LocalDateTime.now());
+            userRepository.save(user);
+
+            var jwtToken = jwtTokenUtil.generateToken(user);
+            return UserMapper.mapToLoginResponse(jwtToken, "Voice login successful", user);
+
+        } catch (IOException e) {
+            throw new VoiceProcessingFailedException("failed to process voice");
+        }
+    }
 
     @Override
     public LogoutResponse logout() {
@@ -306,6 +377,7 @@ public class UserServiceImpl implements UserService {
 
         user.setLastLogoutDate(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsCacheService.evict(email);
 
         SecurityContextHolder.clearContext();
 
@@ -329,11 +401,32 @@ public class UserServiceImpl implements UserService {
 
         user.setLastLogoutDate(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsCacheService.evict(email);
 
         SecurityContextHolder.clearContext();
 
         return UserMapper.mapToLogoutResponse("Logged out from all devices successfully", email);    }
 
+    @Override
+    public LogoutResponse deactivateAccount() {
+        Authentication authentication = getAuthentication();
+
+        String email = authentication.getName();
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(() -> new UserNotFoundException("User not found"));
+
+        user.setActive(false);
+        tokenBlacklistService.blacklistAllUserTokens(user.getId());
+
+        user.setLastLogoutDate(LocalDateTime.now());
+        userRepository.save(user);
+        userDetailsCacheService.evict(email);
+
+        SecurityContextHolder.clearContext();
+
+        return UserMapper.mapToLogoutResponse("Account deactivated successfully", email);
+    }
+
     @Override
     public VoiceAuthResponse enableVoiceAuthentication(EnableVoiceAuthRequest request) {
         Authentication authentication = getAuthentication();
@@ -360,7 +453,7 @@ public class UserServiceImpl implements UserService {
             if(voicePrint.getEmbedding() == null){
                 throw new VoiceProcessingFailedException("voice cannot be null");
             }
-            embeddingObjectCreation(user, voicePrint);
+            embeddingObjectCreation(user, voicePrint, voiceAuthenticationService.extractFallbackVoicePrint(request.getVoiceSample()));
 
             return UserMapper.mapToVoiceAuthResponse("Voice authentication enabled successfully", email);
 
@@ -387,9 +480,17 @@ public class UserServiceImpl implements UserService {
         }
 
         user.setVoicePrint(null);
+        user.setVoiceSamples(null);
+        user.setVoiceEmbeddingIds(null);
+        user.setVoiceCentroidNorm(0f);
+        user.setVoiceModel(null);
+        user.setFallbackVoicePrint(null);
+        user.setFallbackVoiceCentroidNorm(0f);
         user.setVoiceAuthEnabled(false);
         user.setUpdatedAt(LocalDateTime.now());
         userRepository.save(user);
+        userDetailsCacheService.evict(email);
+        voiceIdentificationService.remove(user.getId());
 
         return UserMapper.mapToVoiceAuthResponse("Voice authentication disabled successfully", email);
     }
@@ -410,7 +511,7 @@ public class UserServiceImpl implements UserService {
                 throw new VoiceProcessingFailedException("Failed to extract voice features");
             }
 
-            embeddingObjectCreation(user, voicePrint);
+            embeddingObjectCreation(user, voicePrint, voiceAuthenticationService.extractFallbackVoicePrint(request.getVoiceSample()));
 
             return UserMapper.mapToVoiceAuthResponse("Voice enrolled successfully", request.getEmail());
 
@@ -419,18 +520,103 @@ public class UserServiceImpl implements UserService {
         }
     }
 
-    private void embeddingObjectCreation(User user, EmbeddingResponse voicePrint) {
+    private void embeddingObjectCreation(User user, EmbeddingResponse voicePrint, byte[] fallbackVoicePrint) {
+        requireEnrollmentModel(voicePrint.getEmbedding());
         Embedding embedding = new Embedding();
         embedding.setId(voicePrint.getEmbedding().getId());
         embedding.setCreatedAt(voicePrint.getEmbedding().getCreatedAt());
         embedding.setVoicePrint(voicePrint.getEmbedding().getVoicePrint());
+        embedding.setModel(voicePrint.getEmbedding().getModel());
 
         embeddingRepository.save(embedding);
-        user.setVoicePrint(embedding.getVoicePrint());
+        addVoiceSample(user, embedding.getVoicePrint(), embedding.getId(), embedding.getModel(), fallbackVoicePrint);
         user.setVoiceAuthEnabled(true);
         user.setUpdatedAt(LocalDateTime.now());
 
         userRepository.save(user);
+        voiceIdentificationService.index(user.getId(), user.getVoicePrint());
+    }
+
+        /**
+     * Adds an enrollment sample, keeping the newest {@code voice.enrollment.max-samples} and updating the centroid
+     * {@code voicePrint} in O(d); a sample from another model or dimension restarts enrollment.
+     */
+    private void addVoiceSample(User user, byte[] encodedSample, String embeddingId, String model, byte[] fallbackSample) {
+        float[] sample = VoicePrintCodec.decode(encodedSample);
+        VoiceCentroid.normalize(sample);
+        List<byte[]> samples = user.getVoiceSamples() == null ? new ArrayList<>() : new ArrayList<>(user.getVoiceSamples());
+        List<String> existingIds = user.getVoiceEmbeddingIds();
+        List<String> embeddingIds = new ArrayList<>(samples.size() + 1);
+        for (int index = 0; index < samples.size(); index++) {
+            embeddingIds.add(existingIds != null && index < existingIds.size() ? existingIds.get(index) : null);
+        }
+        if (samples.isEmpty() && user.getVoicePrint() != null) {
+            float[] legacy = VoicePrintCodec.decode(user.getVoicePrint());
+            VoiceCentroid.normalize(legacy);
+            samples.add(VoicePrintCodec.encode(legacy));
+            embeddingIds.add(null);
+            user.setVoiceCentroidNorm(1f);
+        }
+
+        float[] centroid = user.getVoicePrint() == null ? null : VoicePrintCodec.decode(user.getVoicePrint());
+        boolean modelChanged = user.getVoiceModel() != null && !user.getVoiceModel().equals(model);
+        boolean restarted = centroid == null || samples.isEmpty() || modelChanged || centroid.length != sample.length;
+        if (restarted) {
+            samples.clear();
+            embeddingIds.clear();
+            centroid = sample.clone();
+            user.setVoiceCentroidNorm(1f);
+        } else if (samples.size() < Math.max(1, maxEnrollmentSamples)) {
+            user.setVoiceCentroidNorm(VoiceCentroid.add(centroid, user.getVoiceCentroidNorm(), samples.size(), sample));
+        } else {
+            float[] oldest = VoicePrintCodec.decode(samples.remove(0));
+            embeddingIds.remove(0);
+            user.setVoiceCentroidNorm(VoiceCentroid.replace(centroid, user.getVoiceCentroidNorm(), samples.size() + 1, oldest, sample));
+        }
+        addFallbackSample(user, fallbackSample, restarted ? 0 : samples.size());
+        samples.add(quantizationEnabled ? VoicePrintCodec.encodeQuantized(sample) : VoicePrintCodec.encode(sample));
+        embeddingIds.add(embeddingId);
+        user.setVoiceSamples(samples);
+        user.setVoiceEmbeddingIds(embeddingIds);
+        user.setVoicePrint(VoicePrintCodec.encode(centroid));
+        user.setVoiceModel(model);
+    }
+
+    /**
+     * Keeps {@code fallbackVoicePrint}, the local-engine print that verification falls back to during an ML outage,
+     * as the normalised mean of the last {@code voice.enrollment.max-samples} local prints. The local prints
+     * themselves are not kept, so once enrollment is at capacity the oldest is discounted rather than removed. It is
+     * dropped when enrollment restarts, and left alone when the local engine produced nothing for this sample.
+     */
+    private void addFallbackSample(User user, byte[] fallbackSample, int previousSamples) {
+        if (previousSamples == 0) {
+            user.setFallbackVoicePrint(null);
+            user.setFallbackVoiceCentroidNorm(0f);
+        }
+        if (!VoicePrintCodec.isEncoded(fallbackSample)) {
+            return;
+        }
+        float[] sample = VoicePrintCodec.decode(fallbackSample);
+        VoiceCentroid.normalize(sample);
+        float[] centroid = user.getFallbackVoicePrint() == null ? null : VoicePrintCodec.decode(user.getFallbackVoicePrint());
+        if (centroid == null || centroid.length != sample.length) {
+            centroid = sample;
+            user.setFallbackVoiceCentroidNorm(1f);
+        } else {
+            int count = Math.min(previousSamples, Math.max(1, maxEnrollmentSamples) - 1);
+            user.setFallbackVoiceCentroidNorm(VoiceCentroid.add(centroid, user.getFallbackVoiceCentroidNorm(), count, sample));
+        }
+        user.setFallbackVoicePrint(VoicePrintCodec.encode(centroid));
+    }
+
+    /**
+     * Refuses prints from any engine but the enrollment one, i.e. the local fallback during an ML outage, whose
+     * vectors could never match the enrolled ones and must not replace them.
+     */
+    private void requireEnrollmentModel(Embedding embedding) {
+        if (!voiceAuthenticationService.enrollmentModel().equals(embedding.getModel())) {
+            throw new VoiceProcessingFailedException("Voice service is unavailable. Please try again later.");
+        }
     }
 
     @Override
@@ -446,7 +632,7 @@ public class UserServiceImpl implements UserService {
         }
 
         try {
-            boolean matched = voiceAuthenticationService.verifyVoice(request.getVoiceSample(), user.getVoicePrint());
+            boolean matched = voiceAuthenticationService.verifyVoice(request.getVoiceSample(), user);
             if (!matched) {
                 return UserMapper.mapToVoiceAuthResponse("Voice does not match", request.getEmail());
             }
@@ -1,12 +1,18 @@
 package com.inkluziv.service;
 
+import com.inkluziv.data.model.User;
 import com.inkluziv.dto.response.EmbeddingResponse;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.List;
 
 public interface VoiceAuthenticationService {
     EmbeddingResponse extractVoiceFeatures(MultipartFile voiceSample) throws IOException;
-    boolean verifyVoice(MultipartFile voiceSample, String storedVoicePrint) throws IOException;
+    boolean verifyVoice(MultipartFile voiceSample, byte[] storedVoicePrint) throws IOException;
+    boolean verifyVoice(MultipartFile voiceSample, byte[] centroid, List<byte[]> enrolledSamples) throws IOException;
+    boolean verifyVoice(MultipartFile voiceSample, User user) throws IOException;
+    byte[] extractFallbackVoicePrint(MultipartFile voiceSample);
+    String enrollmentModel();
     String generateSecurePassword();
 }
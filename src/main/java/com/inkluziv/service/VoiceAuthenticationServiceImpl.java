@@ -1,44 +1,113 @@
 package com.inkluziv.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.inkluziv.data.enums.LocalExtractionMode;
+import com.inkluziv.data.enums.ScoreNormalization;
+import com.inkluziv.data.enums.SimilarityMode;
 import com.inkluziv.data.model.Embedding;
+import com.inkluziv.data.model.User;
 import com.inkluziv.data.repository.EmbeddingRepository;
 import com.inkluziv.dto.response.EmbeddingResponse;
 import com.inkluziv.dto.response.PythonEmbeddingResponse;
 import com.inkluziv.exception.*;
-import com.inkluziv.util.MultipartInputStreamFileResource;
+import com.inkluziv.util.AudioPreprocessor;
+import com.inkluziv.util.Int8Quantizer;
+import com.inkluziv.util.MfccFeatureExtractor;
+import com.inkluziv.util.PcmAudio;
+import com.inkluziv.util.ScoreCohort;
+import com.inkluziv.util.SimilarityEngine;
+import com.inkluziv.util.VoicePrintCodec;
+import com.inkluziv.util.WavDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import com.inkluziv.mapper.EmbeddingMapper;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.http.*;
-import org.springframework.util.LinkedMultiValueMap;
-import org.springframework.util.MultiValueMap;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.List;
-import java.util.Arrays;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class VoiceAuthenticationServiceImpl implements VoiceAuthenticationService {
 
     private static final String CHARACTERS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789!@#$%^&*";
     private static final int PASSWORD_LENGTH = 8;
+    private static final String LOCAL_MODEL_VERSION = "local-mfcc-v1";
     private final SecureRandom random = new SecureRandom();
 
-    @Value("${voice.ml.service.url}")
-    private String pythonMicroserviceUrl;
+    @Value("${voice.ml.model.version:default}")
+    private String modelVersion;
 
-    private final RestTemplate restTemplate;
+    @Value("${voice.extraction.local.mode:OFF}")
+    private LocalExtractionMode localExtractionMode;
+
+    @Value("${voice.extraction.fallback.cooldown:30s}")
+    private Duration fallbackCooldown;
+
+    @Value("${voice.extraction.fallback.threshold:0.9}")
+    private double fallbackThreshold;
+
+    @Value("${voice.verification.top-k:2}")
+    private int verificationTopK;
+
+    @Value("${voice.similarity.mode:COSINE}")
+    private SimilarityMode similarityMode;
+
+    @Value("${voice.similarity.threshold:0.85}")
+    private double similarityThreshold;
+
+    @Value("${voice.score-normalization.mode:NONE}")
+    private ScoreNormalization scoreNormalization;
+
+    @Value("${voice.score-normalization.top-n:200}")
+    private int normalizationTopN;
+
+    @Value("${voice.score-normalization.threshold:2.0}")
+    private double normalizedThreshold;
+
+    private final VoiceMlClient voiceMlClient;
+    private final SimilarityEngine similarityEngine;
+    private final Cache<String, Embedding> embeddingCache;
+    private final MfccFeatureExtractor mfccFeatureExtractor;
+    private final ExecutorService localExtractionExecutor;
+    private final MeterRegistry meterRegistry;
+    private final AudioPreprocessor audioPreprocessor;
+    private final ScoreCohort scoreCohort;
     private final EmbeddingRepository embeddingRepository;
 
+    private volatile long remoteRetryAtNanos = System.nanoTime();
+
     @Override
     public EmbeddingResponse extractVoiceFeatures(MultipartFile voiceSample) {
+        return extractVoiceFeatures(voiceSample, false);
+    }
+
+    /**
+     * In {@code FALLBACK} mode only a verification whose user has a fallback print enrolled ({@code localAllowed})
+     * falls back to local extraction; everything else needs the ML service and fails fast while it is down.
+     */
+    private EmbeddingResponse extractVoiceFeatures(MultipartFile voiceSample, boolean localAllowed) {
         if (voiceSample == null || voiceSample.isEmpty()) {
             throw new NoVoiceInputException("Please input your voice");
         }
@@ -49,97 +118,369 @@ public class VoiceAuthenticationServiceImpl implements VoiceAuthenticationServic
         }
 
         try {
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.MULTIPART_FORM_DATA);
-
-            MultiValueMap<String, Object> body = new LinkedMultiValueMap<>();
-            body.add("audio", new MultipartInputStreamFileResource(
-                    voiceSample.getInputStream(),
-                    voiceSample.getOriginalFilename()));
-            String embeddingUrl = pythonMicroserviceUrl + "/extract-embedding";
-            HttpEntity<MultiValueMap<String, Object>> requestEntity = new HttpEntity<>(body, headers);
-            ResponseEntity<PythonEmbeddingResponse> response = restTemplate.postForEntity(embeddingUrl, requestEntity, PythonEmbeddingResponse.class);
-
-            if (response.getStatusCode() != HttpStatus.OK || response.getBody() == null) {
-                throw new FailedToExtractVoiceException("Failed to extract voice features");
-            }
-
-            Embedding embedding = new Embedding();
-            embedding.setVoicePrint(response.getBody().getEmbedding().toString());
-            embedding.setCreatedAt(LocalDateTime.now());
-            embedding.setId(response.getBody().getFile_id());
-            embedding.setFeature_count(response.getBody().getFeature_count());
-            embeddingRepository.save(embedding);
-
-            return EmbeddingMapper.mapToEmbeddingResponse("Voice print embedded successfully", embedding);
+            Embedding embedding = switch (localExtractionMode) {
+                case PRIMARY -> embeddingCache.get(contentHash(voiceSample, LOCAL_MODEL_VERSION), key -> extractLocally(voiceSample));
+                case FALLBACK -> extractRemotelyOrLocally(voiceSample, localAllowed);
+                default -> embeddingCache.get(contentHash(voiceSample, modelVersion), key -> extractRemotely(voiceSample));
+            };
+            return EmbeddingMapper.mapToEmbeddingResponse("Voice print embedded successfully", EmbeddingMapper.copyOf(embedding));
+        } catch (InvalidVoiceInputException | NoVoiceInputException | VoiceProcessingFailedException e) {
+            throw e;
         } catch (Exception e) {
             throw new VoiceProcessingFailedException("Voice processing failed: " + e.getMessage());
         }
 
     }
 
+        /**
+     * Tries the ML service, falling back to local extraction when {@code localAllowed}; after a failure the service
+     * is skipped for {@code voice.extraction.fallback.cooldown}.
+     */
+    private Embedding extractRemotelyOrLocally(MultipartFile voiceSample, boolean localAllowed) throws IOException, NoSuchAlgorithmException {
+        if (System.nanoTime() - remoteRetryAtNanos < 0) {
+            return extractLocallyOrFail(voiceSample, localAllowed);
+        }
+        try {
+            return embeddingCache.get(contentHash(voiceSample, modelVersion), key -> extractRemotely(voiceSample));
+        } catch (InvalidVoiceInputException | NoVoiceInputException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.warn("Voice ML service failed ({}); skipping it for {}", e.getMessage(), fallbackCooldown);
+            remoteRetryAtNanos = System.nanoTime() + fallbackCooldown.toNanos();
+            return extractLocallyOrFail(voiceSample, localAllowed);
+        }
+    }
+
+    private Embedding extractLocallyOrFail(MultipartFile voiceSample, boolean localAllowed) {
+        if (!localAllowed) {
+            meterRegistry.counter("voice.extraction.unavailable").increment();
+            throw new VoiceProcessingFailedException("Voice service is unavailable. Please try again later.");
+        }
+        meterRegistry.counter("voice.extraction.fallback").increment();
+        return extractLocally(voiceSample);
+    }
+
+    /**
+     * The local-engine print to enroll next to an ML print in {@code FALLBACK} mode, so the user can still be
+     * verified during an ML outage. Null in every other mode, and when the sample cannot be decoded locally.
+     */
     @Override
-    public boolean verifyVoice(MultipartFile voiceSample, String storedVoicePrint) {
+    public byte[] extractFallbackVoicePrint(MultipartFile voiceSample) {
+        if (localExtractionMode != LocalExtractionMode.FALLBACK) {
+            return null;
+        }
+        try {
+            return extractLocally(voiceSample).getVoicePrint();
+        } catch (RuntimeException e) {
+            log.warn("No fallback voice print enrolled: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Embedding extractRemotely(MultipartFile voiceSample) {
+        MultipartFile upload;
+        try {
+            upload = audioPreprocessor.prepare(voiceSample);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        PcmAudio shadowAudio = localExtractionMode == LocalExtractionMode.SHADOW ? decodeForShadow(upload) : null;
+        long started = System.nanoTime();
+        PythonEmbeddingResponse response = voiceMlClient.extractEmbedding(upload);
+        meterRegistry.timer("voice.extraction", "engine", "remote").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        if (response == null || response.getEmbedding() == null) {
+            throw new FailedToExtractVoiceException("Failed to extract voice features");
+        }
+        if (shadowAudio != null) {
+            runShadow(shadowAudio);
+        }
+
+        Embedding embedding = new Embedding();
+        embedding.setVoicePrint(VoicePrintCodec.encode(response.getEmbedding()));
+        embedding.setCreatedAt(LocalDateTime.now());
+        embedding.setId(response.getFile_id());
+        embedding.setFeature_count(response.getFeature_count());
+        embedding.setModel(modelVersion);
+        return embedding;
+    }
+
+    private Embedding extractLocally(MultipartFile voiceSample) {
+        float[] vector;
+        try {
+            PcmAudio audio = audioPreprocessor.decode(voiceSample);
+            vector = localExtractionExecutor.submit(() -> timedLocalExtract(audio)).get();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new FailedToExtractVoiceException("Local voice extraction interrupted");
+        } catch (ExecutionException e) {
+            throw new FailedToExtractVoiceException("Local voice extraction failed: " + e.getCause().getMessage());
+        } catch (RejectedExecutionException e) {
+            throw new FailedToExtractVoiceException("Local voice extraction is overloaded");
+        }
+
+        Embedding embedding = new Embedding();
+        embedding.setVoicePrint(VoicePrintCodec.encode(vector));
+        embedding.setCreatedAt(LocalDateTime.now());
+        embedding.setId(UUID.randomUUID().toString());
+        embedding.setFeature_count(vector.length);
+        embedding.setModel(LOCAL_MODEL_VERSION);
+        return embedding;
+    }
+
+    private PcmAudio decodeForShadow(MultipartFile voiceSample) {
+        try (InputStream inputStream = voiceSample.getInputStream()) {
+            return WavDecoder.decode(inputStream);
+        } catch (IOException | RuntimeException e) {
+            meterRegistry.counter("voice.extraction.shadow.failed").increment();
+            return null;
+        }
+    }
+
+    private void runShadow(PcmAudio audio) {
+        try {
+            localExtractionExecutor.execute(() -> {
+                try {
+                    timedLocalExtract(audio);
+                } catch (RuntimeException e) {
+                    meterRegistry.counter("voice.extraction.shadow.failed").increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            meterRegistry.counter("voice.extraction.shadow.dropped").increment();
+        }
+    }
+
+    private float[] timedLocalExtract(PcmAudio audio) {
+        long started = System.nanoTime();
+        float[] vector = mfccFeatureExtractor.extract(audio);
+        meterRegistry.timer("voice.extraction", "engine", "local").record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        return vector;
+    }
+
+    private String contentHash(MultipartFile voiceSample, String version) throws IOException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] buffer = new byte[8192];
+        try (InputStream inputStream = voiceSample.getInputStream()) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        digest.update(version.getBytes(StandardCharsets.UTF_8));
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * The engine that enrollment prints must come from: the local extractor in {@code PRIMARY} mode, the ML service
+     * otherwise. In {@code FALLBACK} mode the local print is enrolled only as the separate fallback print.
+     */
+    @Override
+    public String enrollmentModel() {
+        return localExtractionMode == LocalExtractionMode.PRIMARY ? LOCAL_MODEL_VERSION : modelVersion;
+    }
+
+    @Override
+    public boolean verifyVoice(MultipartFile voiceSample, byte[] storedVoicePrint) {
+        return verifyVoice(voiceSample, storedVoicePrint, List.of());
+    }
+
+    @Override
+    public boolean verifyVoice(MultipartFile voiceSample, byte[] centroid, List<byte[]> enrolledSamples) {
+        return verifyVoice(voiceSample, null, centroid, enrolledSamples, null, null);
+    }
+
+    @Override
+    public boolean verifyVoice(MultipartFile voiceSample, User user) {
+        return verifyVoice(voiceSample, user.getVoiceModel(), user.getVoicePrint(), user.getVoiceSamples(),
+                user.getVoiceEmbeddingIds(), user.getFallbackVoicePrint());
+    }
+
+        /**
+     * Accepts on the mean score of the probe against the centroid and the {@code voice.verification.top-k} closest
+     * samples, S-normalized when configured, or against {@code fallbackVoicePrint} during an ML outage.
+     */
+    private boolean verifyVoice(MultipartFile voiceSample, String enrolledModel, byte[] centroid, List<byte[]> enrolledSamples,
+                                List<String> sampleEmbeddingIds, byte[] fallbackVoicePrint) {
         if (voiceSample == null || voiceSample.isEmpty()) {
             throw new IllegalArgumentException("Voice sample is required.");
         }
 
-        if (storedVoicePrint == null || storedVoicePrint.isBlank()) {
+        if (!VoicePrintCodec.isEncoded(centroid)) {
             throw new IllegalArgumentException("Stored voice print is invalid.");
         }
 
-        EmbeddingResponse embeddingResponse = extractVoiceFeatures(voiceSample);
-        String newVoicePrintStr = embeddingResponse.getEmbedding().getVoicePrint();
+        boolean hasFallback = VoicePrintCodec.isEncoded(fallbackVoicePrint);
+        EmbeddingResponse embeddingResponse = extractVoiceFeatures(voiceSample, hasFallback);
+        String probeModel = embeddingResponse.getEmbedding().getModel();
+        String expectedModel = enrolledModel == null ? enrollmentModel() : enrolledModel;
+        if (hasFallback && LOCAL_MODEL_VERSION.equals(probeModel) && !expectedModel.equals(probeModel)) {
+            return verifyFallback(embeddingResponse.getEmbedding().getVoicePrintVector(), fallbackVoicePrint);
+        }
+        if (!expectedModel.equals(probeModel)) {
+            throw new VoiceProcessingFailedException("Voice service is unavailable. Please try again later.");
+        }
 
-        List<Double> newVoiceVector = parseEmbedding(newVoicePrintStr);
-        List<Double> storedVoiceVector = parseEmbedding(storedVoicePrint);
+        float[] newVoiceVector = embeddingResponse.getEmbedding().getVoicePrintVector();
+        float[] storedVoiceVector = VoicePrintCodec.decode(centroid);
 
-        if (newVoiceVector.size() != storedVoiceVector.size()) {
+        if (newVoiceVector.length != storedVoiceVector.length) {
             throw new VoiceDoesNotMatchException("Embedding length mismatch.");
         }
 
-        double similarity = cosineSimilarity(newVoiceVector, storedVoiceVector);
-        double threshold = 0.85;
+        if (similarityMode == SimilarityMode.DOT_PRODUCT) {
+            similarityEngine.normalize(newVoiceVector);
+        }
+        List<float[]> closestSamples = fullPrecisionSamples(enrolledSamples, sampleEmbeddingIds,
+                closestSamples(newVoiceVector, enrolledSamples));
+
+        double similarity = score(newVoiceVector, storedVoiceVector);
+        for (float[] sample : closestSamples) {
+            similarity += score(newVoiceVector, sample);
+        }
+        similarity /= closestSamples.size() + 1;
+
+        if (normalizesScores(newVoiceVector.length)) {
+            double normalized = normalizeScore(similarity, newVoiceVector, storedVoiceVector);
+            if (normalized < normalizedThreshold) {
+                throw new VoiceDoesNotMatchException("Voice doesn't match - normalized score: " + normalized);
+            }
+            return true;
+        }
 
-        if (similarity < threshold) {
+        if (similarity < similarityThreshold) {
             throw new VoiceDoesNotMatchException("Voice doesn't match - similarity: " + similarity);
         }
 
         return true;
     }
 
-    @Override
-    public String generateSecurePassword() {
-        StringBuilder generatedPassword = new StringBuilder(PASSWORD_LENGTH);
-        for (int count = 0; count < PASSWORD_LENGTH; count++) {
-            generatedPassword.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+    private boolean verifyFallback(float[] probe, byte[] fallbackVoicePrint) {
+        float[] enrolled = VoicePrintCodec.decode(fallbackVoicePrint);
+        if (probe.length != enrolled.length) {
+            throw new VoiceProcessingFailedException("Voice service is unavailable. Please try again later.");
         }
-        return generatedPassword.toString();
+        double similarity = similarityEngine.cosine(probe, enrolled);
+        meterRegistry.counter("voice.verification.fallback").increment();
+        if (similarity < fallbackThreshold) {
+            throw new VoiceDoesNotMatchException("Voice doesn't match - fallback similarity: " + similarity);
+        }
+        return true;
     }
 
-    private List<Double> parseEmbedding(String embedding) {
-        if (embedding == null || embedding.isBlank()) {
+        /**
+     * Indexes of the {@code voice.verification.top-k} samples closest to the probe, ranking quantized ones on codes.
+     */
+    private List<Integer> closestSamples(float[] probe, List<byte[]> enrolledSamples) {
+        if (enrolledSamples == null || enrolledSamples.isEmpty() || verificationTopK <= 0) {
             return List.of();
         }
+        float[] unitProbe = similarityEngine.normalize(probe.clone());
+        byte[] probeCodes = null;
+        float probeScale = 0f;
+        int codesOffset = VoicePrintCodec.quantizedCodesOffset();
+        List<Integer> top = new ArrayList<>(verificationTopK + 1);
+        List<Double> topScores = new ArrayList<>(verificationTopK + 1);
+        for (int index = 0; index < enrolledSamples.size(); index++) {
+            byte[] sample = enrolledSamples.get(index);
+            if (!VoicePrintCodec.isEncoded(sample) || VoicePrintCodec.dimension(sample) != probe.length) {
+                continue;
+            }
+            double score;
+            if (VoicePrintCodec.isQuantized(sample)) {
+                if (probeCodes == null) {
+                    probeCodes = new byte[unitProbe.length];
+                    probeScale = Int8Quantizer.quantize(unitProbe, probeCodes, 0);
+                }
+                score = similarityEngine.dotInt8(probeCodes, 0, sample, codesOffset, unitProbe.length)
+                        * (double) probeScale * VoicePrintCodec.quantizedScale(sample);
+            } else {
+                score = similarityEngine.cosine(unitProbe, VoicePrintCodec.decode(sample));
+            }
+            int position = topScores.size();
+            while (position > 0 && topScores.get(position - 1) < score) {
+                position--;
+            }
+            if (position < verificationTopK) {
+                top.add(position, index);
+                topScores.add(position, score);
+                if (top.size() > verificationTopK) {
+                    top.remove(verificationTopK);
+                    topScores.remove(verificationTopK);
+                }
+            }
+        }
+        return top;
+    }
+
+        /**
+     * The chosen samples in full precision, read back from {@code embeddings} or dequantized when the original is gone.
+     */
+    private List<float[]> fullPrecisionSamples(List<byte[]> enrolledSamples, List<String> sampleEmbeddingIds, List<Integer> chosen) {
+        List<String> ids = new ArrayList<>(chosen.size());
+        for (int index : chosen) {
+            if (VoicePrintCodec.isQuantized(enrolledSamples.get(index)) && sampleEmbeddingIds != null
+                    && index < sampleEmbeddingIds.size() && sampleEmbeddingIds.get(index) != null) {
+                ids.add(sampleEmbeddingIds.get(index));
+            }
+        }
+        Map<String, byte[]> originals = new HashMap<>();
+        if (!ids.isEmpty()) {
+            for (Embedding embedding : embeddingRepository.findAllById(ids)) {
+                originals.put(embedding.getId(), embedding.getVoicePrint());
+            }
+        }
 
-        return Arrays.stream(embedding.split(","))
-                .map(String::trim)
-                .map(Double::parseDouble)
-                .collect(Collectors.toList());
+        List<float[]> samples = new ArrayList<>(chosen.size());
+        for (int index : chosen) {
+            byte[] sample = enrolledSamples.get(index);
+            if (VoicePrintCodec.isQuantized(sample)) {
+                String id = sampleEmbeddingIds != null && index < sampleEmbeddingIds.size() ? sampleEmbeddingIds.get(index) : null;
+                byte[] original = id == null ? null : originals.get(id);
+                if (VoicePrintCodec.isEncoded(original) && !VoicePrintCodec.isQuantized(original)
+                        && VoicePrintCodec.dimension(original) == VoicePrintCodec.dimension(sample)) {
+                    samples.add(similarityEngine.normalize(VoicePrintCodec.decode(original)));
+                    continue;
+                }
+                meterRegistry.counter("voice.verification.dequantized").increment();
+            }
+            samples.add(VoicePrintCodec.decode(sample));
+        }
+        return samples;
     }
 
-    private double cosineSimilarity(List<Double> newVoicePrint, List<Double> storedVoicePrint) {
-        double dot = 0.0;
-        double norm1 = 0.0;
-        double norm2 = 0.0;
+    private boolean normalizesScores(int dimension) {
+        return scoreNormalization != ScoreNormalization.NONE
+                && similarityMode != SimilarityMode.EUCLIDEAN
+                && !scoreCohort.isEmpty()
+                && scoreCohort.dimension() == dimension;
+    }
 
-        for (int count = 0; count < newVoicePrint.size(); count++) {
-            dot += newVoicePrint.get(count) * storedVoicePrint.get(count);
-            norm1 += Math.pow(newVoicePrint.get(count), 2);
-            norm2 += Math.pow(storedVoicePrint.get(count), 2);
+    /**
+     * S-norm scores both sides of the trial against the whole cohort; AS-norm keeps only the
+     * {@code voice.score-normalization.top-n} closest impostors for each side.
+     */
+    private double normalizeScore(double score, float[] probe, float[] centroid) {
+        int topN = scoreNormalization == ScoreNormalization.AS_NORM ? normalizationTopN : 0;
+        ScoreCohort.Statistics probeStatistics = scoreCohort.statistics(similarityEngine, similarityEngine.normalize(probe.clone()), topN);
+        ScoreCohort.Statistics enrollmentStatistics = scoreCohort.statistics(similarityEngine, similarityEngine.normalize(centroid.clone()), topN);
+        return ScoreCohort.sNorm(score, enrollmentStatistics, probeStatistics);
+    }
+
+    private double score(float[] probe, float[] stored) {
+        if (similarityMode == SimilarityMode.DOT_PRODUCT) {
+            similarityEngine.normalize(stored);
         }
+        return similarityEngine.similarity(similarityMode, probe, stored);
+    }
 
-        double denominator = Math.sqrt(norm1) * Math.sqrt(norm2);
-        return dot / denominator;
+    @Override
+    public String generateSecurePassword() {
+        StringBuilder generatedPassword = new StringBuilder(PASSWORD_LENGTH);
+        for (int count = 0; count < PASSWORD_LENGTH; count++) {
+            generatedPassword.append(CHARACTERS.charAt(random.nextInt(CHARACTERS.length())));
+        }
+        return generatedPassword.toString();
     }
 }
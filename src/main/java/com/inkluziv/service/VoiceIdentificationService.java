@@ -0,0 +1,15 @@
+package com.inkluziv.service;
+
+import java.util.Optional;
+
+public interface VoiceIdentificationService {
+    void index(String userId, byte[] voicePrint);
+
+    void remove(String userId);
+
+    void refreshLocal(String message);
+
+    Optional<String> identify(float[] probe);
+
+    int size();
+}
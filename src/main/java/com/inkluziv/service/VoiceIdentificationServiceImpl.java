@@ -0,0 +1,314 @@
+package com.inkluziv.service;
+
+import com.inkluziv.data.model.User;
+import com.inkluziv.data.repository.UserRepository;
+import com.inkluziv.exception.InvalidVoicePrintException;
+import com.inkluziv.util.HnswIndex;
+import com.inkluziv.util.MappedVoicePrintStore;
+import com.inkluziv.util.OnHeapVectorStore;
+import com.inkluziv.util.QuantizedVectorStore;
+import com.inkluziv.util.SimilarityEngine;
+import com.inkluziv.util.VectorStore;
+import com.inkluziv.util.VoicePrintCodec;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 1:N voice identification over an HNSW graph on a {@link MappedVoicePrintStore}, kept in sync across nodes over
+ * {@link #MUTATION_CHANNEL} and reconciled with Mongo on a warm start.
+ */
+@Service
+@Slf4j
+@Order(1)
+@RequiredArgsConstructor
+public class VoiceIdentificationServiceImpl implements VoiceIdentificationService, ApplicationRunner {
+
+    public static final String MUTATION_CHANNEL = "voice_index:mutation";
+
+    private final UserRepository userRepository;
+    private final SimilarityEngine similarityEngine;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final Object mutationLock = new Object();
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @Value("${voice.similarity.threshold:0.85}")
+    private double similarityThreshold;
+
+    @Value("${voice.identify.margin:0.02}")
+    private double acceptanceMargin;
+
+    @Value("${voice.identify.hnsw.max-connections:16}")
+    private int maxConnections;
+
+    @Value("${voice.identify.hnsw.ef-construction:200}")
+    private int efConstruction;
+
+    @Value("${voice.identify.hnsw.ef-search:64}")
+    private int efSearch;
+
+    @Value("${voice.quantization.enabled:false}")
+    private boolean quantizationEnabled;
+
+    @Value("${voice.store.enabled:true}")
+    private boolean storeEnabled;
+
+    @Value("${voice.store.path:data/voiceprints}")
+    private String storeDirectory;
+
+    @Value("${voice.store.rebuild-on-start:false}")
+    private boolean rebuildOnStart;
+
+    @Value("${voice.store.compaction-tombstone-ratio:0.25}")
+    private double compactionTombstoneRatio;
+
+    @Value("${voice.store.reconcile-skew:5m}")
+    private Duration reconcileSkew;
+
+    private volatile HnswIndex index;
+    private volatile boolean graphReady;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        long started = System.currentTimeMillis();
+        Path storePath = Path.of(storeDirectory);
+        if (storeEnabled && !rebuildOnStart && MappedVoicePrintStore.exists(storePath)) {
+            MappedVoicePrintStore store = MappedVoicePrintStore.open(storePath);
+            HnswIndex mapped = newIndex(store);
+            index = mapped;
+            int replayed = reconcile(store.highWater());
+            log.info("Mapped {} voice prints from {} and replayed {} changed users in {} ms",
+                    store.liveCount(), storePath, replayed, System.currentTimeMillis() - started);
+            Thread.ofPlatform().daemon().name("voice-index-link").start(() -> linkAll(mapped));
+            return;
+        }
+
+        try (Stream<User> enrolled = userRepository.streamVoiceEnrolledUsers()) {
+            enrolled.forEach(user -> index(user.getId(), user.getVoicePrint()));
+        }
+        graphReady = true;
+        log.info("Voice identification index built with {} prints from Mongo in {} ms", size(), System.currentTimeMillis() - started);
+    }
+
+    @Override
+    public void index(String userId, byte[] voicePrint) {
+        if (userId == null || voicePrint == null) {
+            return;
+        }
+        indexLocal(userId, voicePrint);
+        publish(userId);
+    }
+
+    @Override
+    public void remove(String userId) {
+        if (userId == null) {
+            return;
+        }
+        removeLocal(userId);
+        publish(userId);
+    }
+
+    /**
+     * Applies a mutation broadcast by another node. The message only names the user, so the print is read
+     * from Mongo and messages arriving out of order still leave the index matching the database.
+     */
+    @Override
+    public void refreshLocal(String message) {
+        int separator = message.indexOf(' ');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String userId = message.substring(separator + 1);
+        userRepository.findById(userId).ifPresentOrElse(this::applyLocal, () -> removeLocal(userId));
+    }
+
+    private int reconcile(long highWater) {
+        LocalDateTime since = LocalDateTime.ofInstant(Instant.ofEpochMilli(highWater).minus(reconcileSkew), ZoneId.systemDefault());
+        int replayed = 0;
+        try (Stream<User> changed = userRepository.streamUsersUpdatedSince(since)) {
+            for (User user : (Iterable<User>) changed::iterator) {
+                applyLocal(user);
+                replayed++;
+            }
+        }
+        return replayed;
+    }
+
+    private void applyLocal(User user) {
+        if (user.isVoiceAuthEnabled() && user.getVoicePrint() != null) {
+            indexLocal(user.getId(), user.getVoicePrint());
+        } else {
+            removeLocal(user.getId());
+        }
+    }
+
+    private void publish(String userId) {
+        try {
+            redisTemplate.convertAndSend(MUTATION_CHANNEL, nodeId + " " + userId);
+        } catch (DataAccessException e) {
+            log.warn("Failed to broadcast voice index change for user {}: {}", userId, e.getMessage());
+        }
+    }
+
+    private void indexLocal(String userId, byte[] voicePrint) {
+        float[] vector;
+        try {
+            vector = VoicePrintCodec.decode(voicePrint);
+        } catch (InvalidVoicePrintException e) {
+            log.warn("Skipping voice print for user {}: {}", userId, e.getMessage());
+            return;
+        }
+        synchronized (mutationLock) {
+            HnswIndex current = indexFor(vector.length);
+            if (current.dimension() != vector.length) {
+                log.warn("Skipping voice print for user {}: dimension {} does not match index dimension {}",
+                        userId, vector.length, current.dimension());
+                return;
+            }
+            current.upsert(userId, vector);
+            advanceHighWater(current);
+        }
+    }
+
+    private void removeLocal(String userId) {
+        synchronized (mutationLock) {
+            HnswIndex current = index;
+            if (current != null) {
+                current.remove(userId);
+                advanceHighWater(current);
+            }
+        }
+    }
+
+    private static void advanceHighWater(HnswIndex target) {
+        MappedVoicePrintStore store = mappedStore(target);
+        if (store != null) {
+            store.advanceHighWater(System.currentTimeMillis());
+        }
+    }
+
+    @Override
+    public Optional<String> identify(float[] probe) {
+        HnswIndex current = index;
+        if (current == null || probe.length != current.dimension()) {
+            return Optional.empty();
+        }
+        List<HnswIndex.Match> matches = graphReady ? current.search(probe, 2) : current.exactSearch(probe, 2);
+        if (matches.isEmpty() || matches.get(0).score() < similarityThreshold) {
+            return Optional.empty();
+        }
+        if (matches.size() > 1 && matches.get(0).score() - matches.get(1).score() < acceptanceMargin) {
+            log.info("Voice identification ambiguous between top candidates ({} vs {})",
+                    matches.get(0).score(), matches.get(1).score());
+            return Optional.empty();
+        }
+        return Optional.of(matches.get(0).key());
+    }
+
+    @Override
+    public int size() {
+        HnswIndex current = index;
+        return current == null ? 0 : current.size();
+    }
+
+    /**
+     * Rewrites the store without tombstones once they pass {@code voice.store.compaction-tombstone-ratio} of
+     * live prints. The new graph is built beside the old one, so identification keeps being served; only
+     * enrolments wait for the swap.
+     */
+    @Scheduled(fixedDelayString = "${voice.store.compaction-interval-ms:600000}")
+    public void compactStore() throws IOException {
+        if (!graphReady || index == null || mappedStore(index) == null) {
+            return;
+        }
+        synchronized (mutationLock) {
+            MappedVoicePrintStore store = mappedStore(index);
+            if (store.tombstoneCount() <= store.liveCount() * compactionTombstoneRatio) {
+                return;
+            }
+            long started = System.currentTimeMillis();
+            MappedVoicePrintStore compacted = store.compact();
+            HnswIndex rebuilt = newIndex(compacted);
+            for (int slot = 0; slot < compacted.slotCount(); slot++) {
+                rebuilt.linkStored(slot);
+            }
+            index = rebuilt;
+            store.deleteFiles();
+            log.info("Compacted voice print store to {} prints in {} ms", compacted.liveCount(), System.currentTimeMillis() - started);
+        }
+    }
+
+    @PreDestroy
+    public void closeStore() throws IOException {
+        HnswIndex current = index;
+        MappedVoicePrintStore store = current == null ? null : mappedStore(current);
+        if (store != null) {
+            store.close();
+        }
+    }
+
+    private void linkAll(HnswIndex target) {
+        long started = System.currentTimeMillis();
+        int slots = target.vectorStore().slotCount();
+        for (int slot = 0; slot < slots; slot++) {
+            target.linkStored(slot);
+        }
+        graphReady = true;
+        log.info("Voice identification graph linked {} prints in {} ms", target.linkedCount(), System.currentTimeMillis() - started);
+    }
+
+    private HnswIndex indexFor(int dimension) {
+        if (index == null) {
+            index = newIndex(newStore(dimension));
+        }
+        return index;
+    }
+
+    private VectorStore newStore(int dimension) {
+        if (!storeEnabled) {
+            return new OnHeapVectorStore(dimension);
+        }
+        try {
+            return MappedVoicePrintStore.create(Path.of(storeDirectory), dimension);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create voice print store at " + storeDirectory, e);
+        }
+    }
+
+    /**
+     * With {@code voice.quantization.enabled}, the graph searches int8 codes held on the heap and reads the
+     * full-precision store only to link new prints and re-score final candidates.
+     */
+    private HnswIndex newIndex(VectorStore store) {
+        VectorStore searched = quantizationEnabled ? new QuantizedVectorStore(store) : store;
+        return new HnswIndex(similarityEngine, searched, maxConnections, efConstruction, efSearch);
+    }
+
+    private static MappedVoicePrintStore mappedStore(HnswIndex target) {
+        VectorStore store = target.vectorStore();
+        if (store instanceof QuantizedVectorStore quantized) {
+            store = quantized.delegate();
+        }
+        return store instanceof MappedVoicePrintStore mapped ? mapped : null;
+    }
+}
@@ -0,0 +1,8 @@
+package com.inkluziv.service;
+
+import com.inkluziv.dto.response.PythonEmbeddingResponse;
+import org.springframework.web.multipart.MultipartFile;
+
+public interface VoiceMlClient {
+    PythonEmbeddingResponse extractEmbedding(MultipartFile voiceSample);
+}
@@ -0,0 +1,271 @@
+package com.inkluziv.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inkluziv.dto.response.PythonBatchEmbeddingResponse;
+import com.inkluziv.dto.response.PythonEmbeddingResponse;
+import com.inkluziv.exception.FailedToExtractVoiceException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Talks to the Python voice ML service, streaming uploads as multipart and micro-batching concurrent extractions
+ * within {@code voice.ml.batch.window-ms}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VoiceMlClientImpl implements VoiceMlClient {
+
+    private record PendingExtraction(MultipartFile sample, CompletableFuture<PythonEmbeddingResponse> result) {
+    }
+
+    private final HttpClient voiceMlHttpClient;
+    private final ObjectMapper objectMapper;
+
+    @Value("${voice.ml.service.url}")
+    private String pythonMicroserviceUrl;
+
+    @Value("${voice.ml.client.read-timeout:30s}")
+    private Duration readTimeout;
+
+    @Value("${voice.ml.batch.enabled:true}")
+    private volatile boolean batchingEnabled;
+
+    @Value("${voice.ml.batch.window-ms:5}")
+    private long batchWindowMs;
+
+    @Value("${voice.ml.batch.max-size:16}")
+    private int batchMaxSize;
+
+    @Value("${voice.ml.batch.queue-capacity:256}")
+    private int queueCapacity;
+
+    private BlockingQueue<PendingExtraction> pending;
+    private Thread dispatcher;
+
+    @PostConstruct
+    public void startDispatcher() {
+        pending = new LinkedBlockingQueue<>(queueCapacity);
+        if (batchingEnabled) {
+            dispatcher = Thread.ofPlatform().daemon().name("voice-ml-batcher").start(this::dispatchLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stopDispatcher() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    @Override
+    public PythonEmbeddingResponse extractEmbedding(MultipartFile voiceSample) {
+        if (!batchingEnabled || dispatcher == null) {
+            return await(sendSingle(voiceSample));
+        }
+        CompletableFuture<PythonEmbeddingResponse> result = new CompletableFuture<>();
+        if (!pending.offer(new PendingExtraction(voiceSample, result))) {
+            throw new FailedToExtractVoiceException("Voice service is busy. Please try again later.");
+        }
+        return await(result);
+    }
+
+    private void dispatchLoop() {
+        List<PendingExtraction> batch = new ArrayList<>(batchMaxSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(pending.take());
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWindowMs);
+                while (batch.size() < batchMaxSize) {
+                    PendingExtraction next = pending.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (!batch.isEmpty()) {
+                dispatchOrFail(List.copyOf(batch));
+                batch.clear();
+            }
+        }
+        PendingExtraction leftover;
+        while ((leftover = pending.poll()) != null) {
+            leftover.result().completeExceptionally(new FailedToExtractVoiceException("Voice ML client is shutting down"));
+        }
+    }
+
+    /**
+     * Building a request can throw before anything is sent; that fails this batch rather than the batcher thread.
+     */
+    private void dispatchOrFail(List<PendingExtraction> batch) {
+        try {
+            dispatch(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to send voice ML batch of {}: {}", batch.size(), e.getMessage());
+            batch.forEach(extraction -> extraction.result().completeExceptionally(e));
+        }
+    }
+
+    private void dispatch(List<PendingExtraction> batch) {
+        if (batch.size() == 1 || !batchingEnabled) {
+            batch.forEach(extraction -> sendSingle(extraction.sample()).whenComplete((response, failure) ->
+                    complete(extraction.result(), response, failure)));
+            return;
+        }
+        List<MultipartFile> samples = batch.stream().map(PendingExtraction::sample).toList();
+        send("/extract-embeddings", samples).thenApply(response -> {
+            if (response.statusCode() == HttpStatus.NOT_FOUND.value()) {
+                discard(response);
+                return null;
+            }
+            PythonBatchEmbeddingResponse body = read(response, PythonBatchEmbeddingResponse.class);
+            if (body.getResults() == null || body.getResults().size() != batch.size()) {
+                throw new FailedToExtractVoiceException("Voice ML batch returned "
+                        + (body.getResults() == null ? 0 : body.getResults().size()) + " results for " + batch.size() + " samples");
+            }
+            return body.getResults();
+        }).whenComplete((results, failure) -> {
+            if (failure == null && results == null) {
+                log.warn("Voice ML service has no batch endpoint; sending samples individually");
+                batchingEnabled = false;
+                dispatchOrFail(batch);
+                return;
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i).result(), failure == null ? results.get(i) : null, failure);
+            }
+        });
+    }
+
+    private CompletableFuture<PythonEmbeddingResponse> sendSingle(MultipartFile voiceSample) {
+        return send("/extract-embedding", List.of(voiceSample))
+                .thenApply(response -> read(response, PythonEmbeddingResponse.class));
+    }
+
+    private CompletableFuture<HttpResponse<InputStream>> send(String path, List<MultipartFile> samples) {
+        String boundary = "inkluziv-" + UUID.randomUUID();
+        List<HttpRequest.BodyPublisher> parts = new ArrayList<>(samples.size() * 2 + 1);
+        for (MultipartFile sample : samples) {
+            parts.add(HttpRequest.BodyPublishers.ofByteArray(partHeader(boundary, sample)));
+            parts.add(HttpRequest.BodyPublishers.fromPublisher(
+                    HttpRequest.BodyPublishers.ofInputStream(() -> openStream(sample)), sample.getSize()));
+            parts.add(HttpRequest.BodyPublishers.ofByteArray("\r\n".getBytes(StandardCharsets.UTF_8)));
+        }
+        parts.add(HttpRequest.BodyPublishers.ofByteArray(("--" + boundary + "--\r\n").getBytes(StandardCharsets.UTF_8)));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(pythonMicroserviceUrl + path))
+                .timeout(readTimeout)
+                .header("Content-Type", "multipart/form-data; boundary=" + boundary)
+                .POST(HttpRequest.BodyPublishers.concat(parts.toArray(HttpRequest.BodyPublisher[]::new)))
+                .build();
+        return voiceMlHttpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    private <T> T read(HttpResponse<InputStream> response, Class<T> type) {
+        try (InputStream body = response.body()) {
+            if (response.statusCode() != HttpStatus.OK.value()) {
+                throw new FailedToExtractVoiceException("Failed to extract voice features");
+            }
+            return objectMapper.readValue(body, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] partHeader(String boundary, MultipartFile sample) {
+        String filename = sample.getOriginalFilename() == null ? "audio" : sample.getOriginalFilename();
+        String contentType = sample.getContentType() == null ? "application/octet-stream" : sample.getContentType();
+        return ("--" + boundary + "\r\n"
+                + "Content-Disposition: form-data; name=\"audio\"; filename=\"" + headerSafe(filename).replace("\"", "") + "\"\r\n"
+                + "Content-Type: " + headerSafe(contentType) + "\r\n"
+                + "Content-Length: " + sample.getSize() + "\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Drops control characters, CR and LF included, so a client-supplied value cannot end the part header early.
+     */
+    private static String headerSafe(String value) {
+        StringBuilder safe = new StringBuilder(value.length());
+        for (int index = 0; index < value.length(); index++) {
+            char c = value.charAt(index);
+            if (!Character.isISOControl(c)) {
+                safe.append(c);
+            }
+        }
+        return safe.toString();
+    }
+
+    private static void discard(HttpResponse<InputStream> response) {
+        try (InputStream body = response.body()) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException ignored) {
+            // the connection is simply not reused
+        }
+    }
+
+    private static void complete(CompletableFuture<PythonEmbeddingResponse> result, PythonEmbeddingResponse response, Throwable failure) {
+        if (failure != null) {
+            result.completeExceptionally(failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure);
+        } else {
+            result.complete(response);
+        }
+    }
+
+    /**
+     * Waits at most twice the read timeout: one request, plus the resend when the batch endpoint is missing.
+     */
+    private PythonEmbeddingResponse await(CompletableFuture<PythonEmbeddingResponse> result) {
+        try {
+            return result.orTimeout(readTimeout.multipliedBy(2).toMillis(), TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new FailedToExtractVoiceException("Voice service timed out. Please try again later.");
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof IOException io) {
+                throw new UncheckedIOException(io);
+            }
+            throw new FailedToExtractVoiceException("Failed to extract voice features");
+        }
+    }
+
+    private static InputStream openStream(MultipartFile voiceSample) {
+        try {
+            return voiceSample.getInputStream();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.inkluziv.service;
+
+import com.inkluziv.data.model.Embedding;
+import com.inkluziv.data.model.PendingUser;
+import com.inkluziv.data.model.User;
+import com.inkluziv.exception.InvalidVoicePrintException;
+import com.inkluziv.util.VoicePrintCodec;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonType;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * One-time rewrite of voiceprints stored in the legacy comma-joined text form into the binary
+ * {@link VoicePrintCodec} format. Only string-typed fields are selected, so once every document is
+ * converted the task is a no-op on later startups.
+ */
+@Component
+@Slf4j
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class VoicePrintMigrationTask implements ApplicationRunner {
+
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @Value("${voice.print.migration.enabled:true}")
+    private boolean migrationEnabled;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!migrationEnabled) {
+            return;
+        }
+        migrate(mongoTemplate.getCollectionName(User.class), "voicePrint", true);
+        migrate(mongoTemplate.getCollectionName(PendingUser.class), "voicePrint", false);
+        migrate(mongoTemplate.getCollectionName(Embedding.class), "voice_print", false);
+        mongoTemplate.getCollection(mongoTemplate.getCollectionName(Embedding.class))
+                .updateMany(Filters.exists("voice_print_array"), Updates.unset("voice_print_array"));
+    }
+
+    private void migrate(String collectionName, String field, boolean disableVoiceAuthOnFailure) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+        List<WriteModel<Document>> updates = new ArrayList<>(BATCH_SIZE);
+        int converted = 0;
+        int dropped = 0;
+
+        for (Document document : collection.find(Filters.type(field, BsonType.STRING))
+                .projection(new Document(field, 1))
+                .batchSize(BATCH_SIZE)) {
+            Bson byId = Filters.eq("_id", document.get("_id"));
+            try {
+                float[] vector = VoicePrintCodec.parseLegacy(document.getString(field));
+                updates.add(new UpdateOneModel<>(byId, Updates.set(field, new Binary(VoicePrintCodec.encode(vector)))));
+                converted++;
+            } catch (InvalidVoicePrintException e) {
+                log.warn("Dropping unreadable voice print in {} {}: {}", collectionName, document.get("_id"), e.getMessage());
+                Bson drop = disableVoiceAuthOnFailure
+                        ? Updates.combine(Updates.unset(field), Updates.set("voiceAuthEnabled", false), Updates.set("updatedAt", new Date()))
+                        : Updates.unset(field);
+                updates.add(new UpdateOneModel<>(byId, drop));
+                dropped++;
+            }
+            if (updates.size() == BATCH_SIZE) {
+                collection.bulkWrite(updates);
+                updates.clear();
+            }
+        }
+        if (!updates.isEmpty()) {
+            collection.bulkWrite(updates);
+        }
+        if (converted > 0 || dropped > 0) {
+            log.info("Migrated {} voice prints in {} to binary format ({} unreadable dropped)", converted, collectionName, dropped);
+        }
+    }
+}
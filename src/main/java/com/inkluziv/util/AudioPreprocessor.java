@@ -0,0 +1,112 @@
+package com.inkluziv.util;
+
+import com.inkluziv.exception.InvalidVoiceInputException;
+import com.inkluziv.exception.NoVoiceInputException;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Normalises a voice sample before feature extraction: rejects clips longer than the configured limit from the
+ * WAV header, downmixes and resamples to 16 kHz mono, and trims leading and trailing silence with a frame-energy
+ * VAD. Frames count as speech when their energy is within {@code vadRangeDb} of the loudest frame and above an
+ * absolute floor; {@code PADDING_MS} of context is kept on each side.
+ * <p>
+ * Only RIFF/WAVE input is processed. Other containers are passed through untouched for the ML service to decode.
+ */
+public class AudioPreprocessor {
+
+    public static final int TARGET_SAMPLE_RATE = 16_000;
+    private static final int FRAME_MS = 20;
+    private static final int PADDING_MS = 100;
+    private static final double ABSOLUTE_FLOOR_DB = -60.0;
+    private static final int HEADER_PROBE_BYTES = 12;
+
+    private final double maxDurationSeconds;
+    private final double vadRangeDb;
+
+    public AudioPreprocessor(double maxDurationSeconds, double vadRangeDb) {
+        this.maxDurationSeconds = maxDurationSeconds;
+        this.vadRangeDb = vadRangeDb;
+    }
+
+    /**
+     * Returns a trimmed 16 kHz mono 16-bit WAV copy of a WAV upload, or {@code sample} itself for other formats.
+     */
+    public MultipartFile prepare(MultipartFile sample) throws IOException {
+        try (InputStream input = new BufferedInputStream(sample.getInputStream(), 16 * 1024)) {
+            input.mark(HEADER_PROBE_BYTES);
+            byte[] header = input.readNBytes(HEADER_PROBE_BYTES);
+            input.reset();
+            if (!WavDecoder.isWav(header)) {
+                return sample;
+            }
+            PcmAudio processed = process(WavDecoder.decode(input, maxDurationSeconds));
+            return new InMemoryMultipartFile(sample.getName(), baseName(sample.getOriginalFilename()) + ".wav",
+                    "audio/wav", WavEncoder.encodePcm16(processed));
+        }
+    }
+
+    /**
+     * Decodes a WAV upload straight into processed samples.
+     */
+    public PcmAudio decode(MultipartFile sample) throws IOException {
+        try (InputStream input = sample.getInputStream()) {
+            return process(WavDecoder.decode(input, maxDurationSeconds));
+        }
+    }
+
+    public PcmAudio process(PcmAudio audio) {
+        if (audio.durationSeconds() > maxDurationSeconds) {
+            throw new InvalidVoiceInputException("Voice sample is longer than " + maxDurationSeconds + " seconds");
+        }
+        float[] samples = AudioResampler.resample(audio.samples(), audio.sampleRate(), TARGET_SAMPLE_RATE);
+        return new PcmAudio(trimSilence(samples), TARGET_SAMPLE_RATE);
+    }
+
+    private float[] trimSilence(float[] samples) {
+        int frameLength = TARGET_SAMPLE_RATE * FRAME_MS / 1000;
+        int frames = samples.length / frameLength;
+        if (frames == 0) {
+            throw new NoVoiceInputException("Voice sample is too short");
+        }
+        double[] energyDb = new double[frames];
+        double loudest = Double.NEGATIVE_INFINITY;
+        for (int frame = 0; frame < frames; frame++) {
+            double sum = 0.0;
+            for (int i = frame * frameLength, end = i + frameLength; i < end; i++) {
+                sum += samples[i] * samples[i];
+            }
+            energyDb[frame] = 10.0 * Math.log10(sum / frameLength + 1e-12);
+            loudest = Math.max(loudest, energyDb[frame]);
+        }
+        double threshold = Math.max(ABSOLUTE_FLOOR_DB, loudest - vadRangeDb);
+
+        int first = 0;
+        while (first < frames && energyDb[first] < threshold) {
+            first++;
+        }
+        if (first == frames) {
+            throw new NoVoiceInputException("No speech detected in voice sample");
+        }
+        int last = frames - 1;
+        while (energyDb[last] < threshold) {
+            last--;
+        }
+        int padding = TARGET_SAMPLE_RATE * PADDING_MS / 1000;
+        int start = Math.max(0, first * frameLength - padding);
+        int end = Math.min(samples.length, (last + 1) * frameLength + padding);
+        return start == 0 && end == samples.length ? samples : Arrays.copyOfRange(samples, start, end);
+    }
+
+    private static String baseName(String filename) {
+        if (filename == null || filename.isBlank()) {
+            return "audio";
+        }
+        int dot = filename.lastIndexOf('.');
+        return dot > 0 ? filename.substring(0, dot) : filename;
+    }
+}
@@ -0,0 +1,63 @@
+package com.inkluziv.util;
+
+/**
+ * Band-limited sample-rate conversion: each output sample is a Hann-windowed sinc interpolation of the
+ * surrounding input, with the cutoff lowered to the target Nyquist frequency when downsampling so that
+ * content above it is removed instead of aliased into the speech band.
+ */
+public final class AudioResampler {
+
+    private static final int HALF_TAPS = 16;
+    private static final int TABLE_RESOLUTION = 256;
+
+    private AudioResampler() {
+    }
+
+    public static float[] resample(float[] samples, int fromRate, int toRate) {
+        if (fromRate == toRate || samples.length == 0) {
+            return samples;
+        }
+        double step = (double) fromRate / toRate;
+        double cutoff = Math.min(1.0, 1.0 / step);
+        double radius = HALF_TAPS / cutoff;
+        int length = (int) Math.max(1, Math.floor(samples.length / step));
+        float[] kernel = kernel(cutoff, radius);
+        float[] output = new float[length];
+        for (int i = 0; i < length; i++) {
+            double centre = i * step;
+            int first = Math.max(0, (int) Math.ceil(centre - radius));
+            int last = Math.min(samples.length - 1, (int) Math.floor(centre + radius));
+            double sum = 0.0;
+            double weightSum = 0.0;
+            for (int index = first; index <= last; index++) {
+                double weight = kernel[(int) (Math.abs(index - centre) * TABLE_RESOLUTION)];
+                sum += weight * samples[index];
+                weightSum += weight;
+            }
+            output[i] = weightSum == 0.0 ? 0f : (float) (sum / weightSum);
+        }
+        return output;
+    }
+
+    /**
+     * Windowed sinc sampled every {@code 1 / TABLE_RESOLUTION} input samples out to {@code radius}, so the inner
+     * loop does a table lookup instead of two trigonometric calls per tap.
+     */
+    private static float[] kernel(double cutoff, double radius) {
+        float[] table = new float[(int) Math.ceil(radius * TABLE_RESOLUTION) + 1];
+        for (int i = 0; i < table.length; i++) {
+            double distance = (double) i / TABLE_RESOLUTION;
+            double window = distance >= radius ? 0.0 : 0.5 + 0.5 * Math.cos(Math.PI * distance / radius);
+            table[i] = (float) (cutoff * sinc(cutoff * distance) * window);
+        }
+        return table;
+    }
+
+    private static double sinc(double x) {
+        if (Math.abs(x) < 1e-9) {
+            return 1.0;
+        }
+        double angle = Math.PI * x;
+        return Math.sin(angle) / angle;
+    }
+}
@@ -0,0 +1,118 @@
+package com.inkluziv.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An email template compiled once into literal and placeholder segments. {@code {{name}}} inserts a value with
+ * HTML escaping; {@code {{{name}}}} inserts it as is. Rendering walks the segments into a per-thread
+ * {@link StringBuilder}, so the only allocation per email is the resulting string.
+ */
+public class EmailTemplate {
+
+    private static final int MAX_POOLED_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final String name;
+    private final String[] literals;
+    private final String[] placeholders;
+    private final boolean[] escaped;
+    private final Set<String> variables;
+    private final int literalLength;
+
+    private EmailTemplate(String name, List<String> literals, List<String> placeholders, List<Boolean> escaped) {
+        this.name = name;
+        this.literals = literals.toArray(String[]::new);
+        this.placeholders = placeholders.toArray(String[]::new);
+        this.escaped = new boolean[escaped.size()];
+        for (int index = 0; index < this.escaped.length; index++) {
+            this.escaped[index] = escaped.get(index);
+        }
+        this.variables = Set.copyOf(new LinkedHashSet<>(placeholders));
+        this.literalLength = literals.stream().mapToInt(String::length).sum();
+    }
+
+    /**
+     * Splits {@code source} into alternating literals and placeholders: {@code literals[i]} precedes
+     * {@code placeholders[i]}, and one trailing literal follows the last placeholder.
+     */
+    public static EmailTemplate compile(String name, String source) {
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+        List<Boolean> escaped = new ArrayList<>();
+        int position = 0;
+        int open;
+        while ((open = source.indexOf("{{", position)) >= 0) {
+            boolean raw = source.startsWith("{{{", open);
+            String closing = raw ? "}}}" : "}}";
+            int start = open + (raw ? 3 : 2);
+            int close = source.indexOf(closing, start);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open + " in template " + name);
+            }
+            String placeholder = source.substring(start, close).trim();
+            if (placeholder.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder at offset " + open + " in template " + name);
+            }
+            literals.add(source.substring(position, open));
+            placeholders.add(placeholder);
+            escaped.add(!raw);
+            position = close + closing.length();
+        }
+        literals.add(source.substring(position));
+        return new EmailTemplate(name, literals, placeholders, escaped);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Set<String> variables() {
+        return variables;
+    }
+
+    /**
+     * Renders the template. Every placeholder needs a value in {@code values}; extra entries are ignored.
+     */
+    public String render(Map<String, ?> values) {
+        StringBuilder buffer = BUFFER.get();
+        if (buffer.capacity() > MAX_POOLED_CAPACITY) {
+            buffer = new StringBuilder(4096);
+            BUFFER.set(buffer);
+        }
+        buffer.setLength(0);
+        buffer.ensureCapacity(literalLength + placeholders.length * 16);
+        for (int index = 0; index < placeholders.length; index++) {
+            buffer.append(literals[index]);
+            Object value = values.get(placeholders[index]);
+            if (value == null) {
+                throw new IllegalArgumentException("No value for {{" + placeholders[index] + "}} in template " + name);
+            }
+            String text = value.toString();
+            if (escaped[index]) {
+                appendEscaped(buffer, text);
+            } else {
+                buffer.append(text);
+            }
+        }
+        buffer.append(literals[placeholders.length]);
+        return buffer.toString();
+    }
+
+    private static void appendEscaped(StringBuilder buffer, String text) {
+        for (int index = 0; index < text.length(); index++) {
+            char c = text.charAt(index);
+            switch (c) {
+                case '&' -> buffer.append("&amp;");
+                case '<' -> buffer.append("&lt;");
+                case '>' -> buffer.append("&gt;");
+                case '"' -> buffer.append("&quot;");
+                case '\'' -> buffer.append("&#39;");
+                default -> buffer.append(c);
+            }
+        }
+    }
+}
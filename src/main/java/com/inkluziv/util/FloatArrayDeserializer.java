@@ -0,0 +1,51 @@
+package com.inkluziv.util;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Reads a JSON number array token by token into a {@code float[]}. Values are parsed into a per-thread scratch
+ * buffer, so the only allocation per array is the exact-length copy returned; no {@code Double} is ever boxed.
+ */
+public class FloatArrayDeserializer extends StdDeserializer<float[]> {
+
+    private static final int INITIAL_CAPACITY = 512;
+    private static final int MAX_LENGTH = 65_536;
+    private static final ThreadLocal<float[][]> SCRATCH = ThreadLocal.withInitial(() -> new float[][]{new float[INITIAL_CAPACITY]});
+
+    public FloatArrayDeserializer() {
+        super(float[].class);
+    }
+
+    @Override
+    public float[] deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        if (!parser.isExpectedStartArrayToken()) {
+            return (float[]) context.handleUnexpectedToken(float[].class, parser);
+        }
+        float[][] holder = SCRATCH.get();
+        float[] scratch = holder[0];
+        int length = 0;
+        JsonToken token;
+        while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+            if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT) {
+                return (float[]) context.handleUnexpectedToken(float[].class, token, parser,
+                        "Expected a number in embedding array but got %s", token);
+            }
+            if (length == scratch.length) {
+                if (length == MAX_LENGTH) {
+                    return (float[]) context.handleUnexpectedToken(float[].class, token, parser,
+                            "Embedding array longer than %d values", MAX_LENGTH);
+                }
+                scratch = Arrays.copyOf(scratch, Math.min(MAX_LENGTH, length * 2));
+                holder[0] = scratch;
+            }
+            scratch[length++] = parser.getFloatValue();
+        }
+        return Arrays.copyOf(scratch, length);
+    }
+}
@@ -0,0 +1,432 @@
+package com.inkluziv.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * HNSW graph (Malkov &amp; Yashunin) over the slots of a {@link VectorStore}, scored by cosine similarity; over a
+ * {@link QuantizedVectorStore} candidates are ranked on int8 codes and re-scored in full precision.
+ */
+public class HnswIndex {
+
+    public record Match(String key, double score) {
+    }
+
+    private record Candidate(int node, double score) {
+    }
+
+    private record Query(float[] vector, byte[] codes, float scale) {
+    }
+
+    private static final int RESCORE_FACTOR = 4;
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::score).reversed();
+    private static final Comparator<Candidate> WORST_FIRST = Comparator.comparingDouble(Candidate::score);
+
+    private final SimilarityEngine similarityEngine;
+    private final VectorStore vectorStore;
+    private final QuantizedVectorStore quantizedStore;
+    private final int maxConnections;
+    private final int maxConnectionsLayerZero;
+    private final int efConstruction;
+    private final int efSearch;
+    private final double levelMultiplier;
+    private final SplittableRandom random = new SplittableRandom(0x5EED);
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<int[]> visitedMarks = ThreadLocal.withInitial(() -> new int[0]);
+    private final ThreadLocal<int[]> visitedEpoch = ThreadLocal.withInitial(() -> new int[1]);
+    private final ThreadLocal<float[][]> scratch;
+
+    private int[][][] links = new int[16][][];
+    private int linkedCount;
+    private int entryPoint = -1;
+    private int maxLevel = -1;
+
+    public HnswIndex(SimilarityEngine similarityEngine, VectorStore vectorStore, int maxConnections, int efConstruction, int efSearch) {
+        this.similarityEngine = similarityEngine;
+        this.vectorStore = vectorStore;
+        this.quantizedStore = vectorStore instanceof QuantizedVectorStore quantized ? quantized : null;
+        this.maxConnections = maxConnections;
+        this.maxConnectionsLayerZero = maxConnections * 2;
+        this.efConstruction = efConstruction;
+        this.efSearch = efSearch;
+        this.levelMultiplier = 1.0 / Math.log(maxConnections);
+        int dimension = vectorStore.dimension();
+        this.scratch = ThreadLocal.withInitial(() -> new float[][]{new float[dimension], new float[dimension]});
+    }
+
+    public int dimension() {
+        return vectorStore.dimension();
+    }
+
+    public VectorStore vectorStore() {
+        return vectorStore;
+    }
+
+    public int size() {
+        return vectorStore.liveCount();
+    }
+
+    public int linkedCount() {
+        lock.readLock().lock();
+        try {
+            return linkedCount;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Writes a normalized copy of {@code vector} to the store under {@code key}, replacing any earlier vector
+     * for that key, and links it into the graph.
+     */
+    public void upsert(String key, float[] vector) {
+        if (vector.length != dimension()) {
+            throw new IllegalArgumentException("Expected dimension " + dimension() + " but got " + vector.length);
+        }
+        float[] normalized = similarityEngine.normalize(vector.clone());
+        lock.writeLock().lock();
+        try {
+            link(vectorStore.put(key, normalized));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Links a slot that is already in the store, e.g. after mapping an existing store on restart. Slots that
+     * are tombstoned or already linked are ignored.
+     */
+    public void linkStored(int slot) {
+        lock.writeLock().lock();
+        try {
+            if (vectorStore.isLive(slot) && (slot >= links.length || links[slot] == null)) {
+                link(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            return vectorStore.remove(key);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code k} live entries most similar to {@code query}, best first.
+     */
+    public List<Match> search(float[] query, int k) {
+        Query normalized = searchQuery(query);
+        lock.readLock().lock();
+        try {
+            if (entryPoint < 0) {
+                return List.of();
+            }
+            int current = entryPoint;
+            for (int level = maxLevel; level > 0; level--) {
+                current = greedyClosest(normalized, current, level);
+            }
+            PriorityQueue<Candidate> found = searchLayer(normalized, List.of(current), Math.max(efSearch, k), 0);
+
+            List<Candidate> ordered = new ArrayList<>(found);
+            ordered.sort(BEST_FIRST);
+            return toMatches(rescore(normalized, ordered, k), k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Brute-force scan over every live slot in the store, linked or not. Used while the graph is still being
+     * built over a freshly mapped store.
+     */
+    public List<Match> exactSearch(float[] query, int k) {
+        Query normalized = searchQuery(query);
+        int keep = normalized.codes() == null ? k : k * RESCORE_FACTOR;
+        PriorityQueue<Candidate> best = new PriorityQueue<>(WORST_FIRST);
+        lock.readLock().lock();
+        try {
+            int slots = vectorStore.slotCount();
+            for (int slot = 0; slot < slots; slot++) {
+                if (!vectorStore.isLive(slot)) {
+                    continue;
+                }
+                double score = score(normalized, slot);
+                if (best.size() < keep || score > best.peek().score()) {
+                    best.add(new Candidate(slot, score));
+                    if (best.size() > keep) {
+                        best.poll();
+                    }
+                }
+            }
+            List<Candidate> ordered = new ArrayList<>(best);
+            ordered.sort(BEST_FIRST);
+            return toMatches(rescore(normalized, ordered, k), k);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces quantized scores of the leading candidates with full-precision ones and re-sorts them. A no-op
+     * for full-precision queries.
+     */
+    private List<Candidate> rescore(Query query, List<Candidate> orderedBestFirst, int k) {
+        if (query.codes() == null) {
+            return orderedBestFirst;
+        }
+        int depth = Math.min(orderedBestFirst.size(), k * RESCORE_FACTOR);
+        List<Candidate> rescored = new ArrayList<>(depth);
+        for (int index = 0; index < depth; index++) {
+            int node = orderedBestFirst.get(index).node();
+            rescored.add(new Candidate(node, score(query.vector(), node)));
+        }
+        rescored.sort(BEST_FIRST);
+        return rescored;
+    }
+
+    private Query searchQuery(float[] query) {
+        float[] normalized = normalizedQuery(query);
+        if (quantizedStore == null) {
+            return new Query(normalized, null, 0f);
+        }
+        byte[] codes = new byte[normalized.length];
+        return new Query(normalized, codes, Int8Quantizer.quantize(normalized, codes, 0));
+    }
+
+    private List<Match> toMatches(List<Candidate> orderedBestFirst, int k) {
+        List<Match> matches = new ArrayList<>(k);
+        for (Candidate candidate : orderedBestFirst) {
+            String key = vectorStore.keyAt(candidate.node());
+            if (key != null) {
+                matches.add(new Match(key, candidate.score()));
+                if (matches.size() == k) {
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private float[] normalizedQuery(float[] query) {
+        if (query.length != dimension()) {
+            throw new IllegalArgumentException("Expected dimension " + dimension() + " but got " + query.length);
+        }
+        return similarityEngine.normalize(query.clone());
+    }
+
+    private void link(int node) {
+        ensureCapacity(node + 1);
+        int level = (int) (-Math.log(1.0 - random.nextDouble()) * levelMultiplier);
+        links[node] = new int[level + 1][];
+        for (int layer = 0; layer <= level; layer++) {
+            links[node][layer] = new int[1 + (layer == 0 ? maxConnectionsLayerZero : maxConnections)];
+        }
+        linkedCount++;
+
+        if (entryPoint < 0) {
+            entryPoint = node;
+            maxLevel = level;
+            return;
+        }
+
+        float[] stored = new float[dimension()];
+        vectorStore.read(node, stored);
+        Query vector = new Query(stored, null, 0f);
+        int current = entryPoint;
+        for (int layer = maxLevel; layer > level; layer--) {
+            current = greedyClosest(vector, current, layer);
+        }
+        List<Integer> entries = List.of(current);
+        for (int layer = Math.min(level, maxLevel); layer >= 0; layer--) {
+            PriorityQueue<Candidate> found = searchLayer(vector, entries, efConstruction, layer);
+            List<Candidate> ordered = new ArrayList<>(found);
+            ordered.sort(BEST_FIRST);
+
+            int limit = layer == 0 ? maxConnectionsLayerZero : maxConnections;
+            for (Candidate neighbour : selectNeighbours(ordered, maxConnections)) {
+                addLink(node, neighbour.node(), layer);
+                addLink(neighbour.node(), node, layer);
+                if (links[neighbour.node()][layer][0] > limit) {
+                    shrink(neighbour.node(), layer, limit);
+                }
+            }
+
+            List<Integer> nextEntries = new ArrayList<>(ordered.size());
+            for (Candidate candidate : ordered) {
+                nextEntries.add(candidate.node());
+            }
+            entries = nextEntries;
+        }
+
+        if (level > maxLevel) {
+            maxLevel = level;
+            entryPoint = node;
+        }
+    }
+
+    private int greedyClosest(Query query, int start, int level) {
+        int current = start;
+        double currentScore = score(query, current);
+        boolean improved = true;
+        while (improved) {
+            improved = false;
+            int[] neighbours = links[current][level];
+            for (int index = 1; index <= neighbours[0]; index++) {
+                double candidateScore = score(query, neighbours[index]);
+                if (candidateScore > currentScore) {
+                    currentScore = candidateScore;
+                    current = neighbours[index];
+                    improved = true;
+                }
+            }
+        }
+        return current;
+    }
+
+    private PriorityQueue<Candidate> searchLayer(Query query, List<Integer> entries, int ef, int level) {
+        int epoch = nextVisitEpoch();
+        int[] marks = visitedMarks.get();
+        PriorityQueue<Candidate> candidates = new PriorityQueue<>(BEST_FIRST);
+        PriorityQueue<Candidate> results = new PriorityQueue<>(WORST_FIRST);
+
+        for (int entry : entries) {
+            if (marks[entry] != epoch) {
+                marks[entry] = epoch;
+                Candidate candidate = new Candidate(entry, score(query, entry));
+                candidates.add(candidate);
+                results.add(candidate);
+            }
+        }
+        while (results.size() > ef) {
+            results.poll();
+        }
+
+        while (!candidates.isEmpty()) {
+            Candidate closest = candidates.poll();
+            if (results.size() >= ef && closest.score() < results.peek().score()) {
+                break;
+            }
+            int[] neighbours = links[closest.node()][level];
+            for (int index = 1; index <= neighbours[0]; index++) {
+                int neighbour = neighbours[index];
+                if (marks[neighbour] == epoch) {
+                    continue;
+                }
+                marks[neighbour] = epoch;
+                double neighbourScore = score(query, neighbour);
+                if (results.size() < ef || neighbourScore > results.peek().score()) {
+                    Candidate candidate = new Candidate(neighbour, neighbourScore);
+                    candidates.add(candidate);
+                    results.add(candidate);
+                    if (results.size() > ef) {
+                        results.poll();
+                    }
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Neighbour selection heuristic: keep a candidate only if it is closer to the base than to any neighbour
+     * already kept, which spreads links across clusters. Remaining slots are topped up with the closest pruned
+     * candidates.
+     */
+    private List<Candidate> selectNeighbours(List<Candidate> orderedBestFirst, int limit) {
+        float[][] buffers = scratch.get();
+        List<Candidate> selected = new ArrayList<>(limit);
+        List<Candidate> pruned = new ArrayList<>();
+        for (Candidate candidate : orderedBestFirst) {
+            if (selected.size() >= limit) {
+                break;
+            }
+            vectorStore.read(candidate.node(), buffers[1]);
+            boolean diverse = true;
+            for (Candidate kept : selected) {
+                if (score(buffers[1], kept.node()) > candidate.score()) {
+                    diverse = false;
+                    break;
+                }
+            }
+            if (diverse) {
+                selected.add(candidate);
+            } else {
+                pruned.add(candidate);
+            }
+        }
+        for (int index = 0; index < pruned.size() && selected.size() < limit; index++) {
+            selected.add(pruned.get(index));
+        }
+        return selected;
+    }
+
+    private void shrink(int node, int level, int limit) {
+        float[] base = new float[dimension()];
+        vectorStore.read(node, base);
+        int[] neighbours = links[node][level];
+        List<Candidate> ordered = new ArrayList<>(neighbours[0]);
+        for (int index = 1; index <= neighbours[0]; index++) {
+            ordered.add(new Candidate(neighbours[index], score(base, neighbours[index])));
+        }
+        ordered.sort(BEST_FIRST);
+        List<Candidate> kept = selectNeighbours(ordered, limit);
+        neighbours[0] = kept.size();
+        for (int index = 0; index < kept.size(); index++) {
+            neighbours[index + 1] = kept.get(index).node();
+        }
+    }
+
+    private void addLink(int from, int to, int level) {
+        int[] neighbours = links[from][level];
+        if (neighbours[0] + 1 >= neighbours.length) {
+            neighbours = Arrays.copyOf(neighbours, neighbours.length + 1);
+            links[from][level] = neighbours;
+        }
+        neighbours[++neighbours[0]] = to;
+    }
+
+    private double score(Query query, int node) {
+        if (query.codes() != null) {
+            return quantizedStore.quantizedDot(similarityEngine, query.codes(), query.scale(), node);
+        }
+        return score(query.vector(), node);
+    }
+
+    private double score(float[] query, int node) {
+        float[] vector = scratch.get()[0];
+        vectorStore.read(node, vector);
+        return similarityEngine.dot(query, vector);
+    }
+
+    private int nextVisitEpoch() {
+        int[] marks = visitedMarks.get();
+        if (marks.length < links.length) {
+            marks = new int[links.length];
+            visitedMarks.set(marks);
+            visitedEpoch.get()[0] = 0;
+        }
+        int[] epoch = visitedEpoch.get();
+        if (++epoch[0] == Integer.MAX_VALUE) {
+            Arrays.fill(marks, 0);
+            epoch[0] = 1;
+        }
+        return epoch[0];
+    }
+
+    private void ensureCapacity(int required) {
+        if (required > links.length) {
+            links = Arrays.copyOf(links, Math.max(required, links.length * 2));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.inkluziv.util;
+
+/**
+ * Symmetric per-vector int8 quantization: {@code value ≈ code * scale} with {@code scale = max|value| / 127}.
+ * The dot product of two quantized vectors is {@code scaleA * scaleB * Σ codeA·codeB}, accumulated in integers.
+ */
+public final class Int8Quantizer {
+
+    private Int8Quantizer() {
+    }
+
+    /**
+     * Writes the codes for {@code vector} into {@code codes} at {@code offset} and returns the scale.
+     */
+    public static float quantize(float[] vector, byte[] codes, int offset) {
+        float maxAbs = 0f;
+        for (float value : vector) {
+            maxAbs = Math.max(maxAbs, Math.abs(value));
+        }
+        float scale = maxAbs == 0f ? 1f : maxAbs / 127f;
+        float inverse = 1f / scale;
+        for (int i = 0; i < vector.length; i++) {
+            codes[offset + i] = (byte) Math.max(-127, Math.min(127, Math.round(vector[i] * inverse)));
+        }
+        return scale;
+    }
+
+    public static void dequantize(byte[] codes, int offset, float scale, float[] destination) {
+        for (int i = 0; i < destination.length; i++) {
+            destination[i] = codes[offset + i] * scale;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.inkluziv.util;
 
-import io.jsonwebtoken.Claims;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inkluziv.data.enums.Role;
+import com.inkluziv.data.model.User;
+import com.inkluziv.exception.InvalidTokenException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -11,24 +18,69 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.Function;
-
+import java.util.Optional;
+
+/**
+ * Issues and verifies HS256 tokens. The signing key and parser are built once at startup. Verified tokens are
+ * cached by signature (up to {@code security.jwt.cache.max-size} for {@code security.jwt.cache.ttl}), so a client
+ * replaying the same token skips the HMAC and JSON parsing; a cache hit still compares the whole token and
+ * re-checks expiry.
+ */
 @Service
 public class JwtUtil {
 
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String ROLE_CLAIM = "role";
+    public static final String ACTIVE_CLAIM = "active";
+
     @Value("${RESET_JWT_SECRET}")
     private String SECRET_KEY;
 
+    @Value("${security.jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${security.jwt.cache.ttl:5m}")
+    private Duration cacheTtl;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+    private Cache<String, CachedVerification> verifiedTokens;
+
+    private record CachedVerification(String token, VerifiedClaims claims) {
+    }
+
+    @PostConstruct
+    public void init() {
+        signingKey = Keys.hmacShaKeyFor(Base64.getDecoder().decode(SECRET_KEY));
+        jwtParser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
     public String extractUserName(String jwtToken) {
-        return extractClaims(jwtToken, Claims::getSubject);
+        return verify(jwtToken).subject();
     }
 
+    /**
+     * Tokens for application users also carry the user id, role and active flag, so a request can be
+     * authenticated from the token alone (see {@link #principalOf}).
+     */
     public String generateToken(UserDetails userDetails) {
-        return generateToken(new HashMap<>(), userDetails);
+        Map<String, Object> claims = new HashMap<>();
+        if (userDetails instanceof User user && user.getId() != null && user.getRole() != null) {
+            claims.put(USER_ID_CLAIM, user.getId());
+            claims.put(ROLE_CLAIM, user.getRole().name());
+            claims.put(ACTIVE_CLAIM, user.isActive());
+        }
+        return generateToken(claims, userDetails);
     }
 
     public String generateToken(
@@ -41,45 +93,58 @@ public class JwtUtil {
                 .setSubject(userDetails.getUsername())
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isValidToken(String token, UserDetails userDetails) {
-        final String username = extractUserName(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+        return userDetails.getUsername().equals(verify(token).subject());
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaims(token, Claims::getExpiration);
-    }
+    /**
+     * Checks the signature and expiry of {@code jwtToken} in a single parse and returns its claims.
+     */
+    public VerifiedClaims verify(String jwtToken) {
+        int separator = jwtToken == null ? -1 : jwtToken.lastIndexOf('.');
+        if (separator < 0) {
+            throw new InvalidTokenException("Invalid token: malformed");
+        }
+        String signature = jwtToken.substring(separator + 1);
+        CachedVerification cached = verifiedTokens.getIfPresent(signature);
+        if (cached != null && cached.token().equals(jwtToken)) {
+            if (cached.claims().isExpired(Instant.now())) {
+                verifiedTokens.invalidate(signature);
+                throw new InvalidTokenException("Invalid token: expired");
+            }
+            return cached.claims();
+        }
 
-    public <T> T extractClaims(String jwtToken, Function<Claims, T> claimsResolver) {
+        VerifiedClaims claims;
         try {
-            final Claims claims = extractAllClaims(jwtToken);
-            return claimsResolver.apply(claims);
-        } catch (Exception e) {
-            System.out.println("Failed to extract claims: " + e.getMessage());
-            throw new RuntimeException("Invalid token: " + e.getMessage());
+            claims = VerifiedClaims.from(jwtParser.parseClaimsJws(jwtToken).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid token: " + e.getMessage());
         }
+        verifiedTokens.put(signature, new CachedVerification(jwtToken, claims));
+        return claims;
     }
 
-    private Claims extractAllClaims(String jwtToken) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(jwtToken)
-                .getBody();
-    }
-
-    private Key getSignInKey() {
-        byte[] decodedKey = Base64.getDecoder().decode(SECRET_KEY);
-        return Keys.hmacShaKeyFor(decodedKey);
+    /**
+     * The principal described by {@code claims}, or empty for inactive users and for tokens issued before the user
+     * claims were added.
+     */
+    public Optional<TokenPrincipal> principalOf(VerifiedClaims claims) {
+        String userId = claims.get(USER_ID_CLAIM, String.class);
+        String role = claims.get(ROLE_CLAIM, String.class);
+        Boolean active = claims.get(ACTIVE_CLAIM, Boolean.class);
+        if (claims.subject() == null || userId == null || role == null || !Boolean.TRUE.equals(active)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new TokenPrincipal(userId, claims.subject(), Role.valueOf(role), active));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
     }
 
     public String extractTokenFromContext() {
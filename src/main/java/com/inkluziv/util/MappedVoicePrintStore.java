@@ -0,0 +1,348 @@
+package com.inkluziv.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Off-heap voiceprint store made of memory-mapped segment files with a fixed record stride. Each segment is
+ * {@code voiceprints-<generation>-<segment>.seg}; the {@code CURRENT} file names the live generation, so a
+ * compaction only becomes visible once the new generation is fully written.
+ * <p>
+ * Segment layout: 64-byte header (magic, version, dimension, stride, capacity, and in the first segment the
+ * {@link #highWater()} time at offset 24) followed by records of
+ * {@code status(1) keyLength(1) pad(2) key(44) float32[dimension]}, little-endian. Appends write the vector and
+ * key before flipping the status byte, so a torn append is ignored on reopen. Only the key index lives on the
+ * heap.
+ */
+public class MappedVoicePrintStore implements VectorStore, Closeable {
+
+    private static final int MAGIC = 0x47535056;
+    private static final int VERSION = 1;
+    private static final int SEGMENT_HEADER_BYTES = 64;
+    private static final int HIGH_WATER_OFFSET = 24;
+    private static final int RECORD_HEADER_BYTES = 48;
+    private static final int MAX_KEY_BYTES = RECORD_HEADER_BYTES - 4;
+    private static final int MAX_RECORDS_PER_SEGMENT = 65_536;
+    private static final byte EMPTY = 0;
+    private static final byte LIVE = 1;
+    private static final byte TOMBSTONE = 2;
+    private static final String CURRENT_FILE = "CURRENT";
+
+    private record Segment(FileChannel channel, MappedByteBuffer bytes, FloatBuffer floats) {
+    }
+
+    private final Path directory;
+    private final long generation;
+    private final int dimension;
+    private final int stride;
+    private final int recordsPerSegment;
+    private final Map<String, Integer> slotByKey = new HashMap<>();
+    private volatile Segment[] segments = new Segment[0];
+    private volatile String[] keyBySlot = new String[16];
+    private volatile int slotCount;
+
+    private MappedVoicePrintStore(Path directory, long generation, int dimension) {
+        this.directory = directory;
+        this.generation = generation;
+        this.dimension = dimension;
+        this.stride = RECORD_HEADER_BYTES + dimension * Float.BYTES;
+        this.recordsPerSegment = (int) Math.min(MAX_RECORDS_PER_SEGMENT,
+                (Integer.MAX_VALUE - SEGMENT_HEADER_BYTES) / stride);
+    }
+
+    public static boolean exists(Path directory) {
+        return Files.isRegularFile(directory.resolve(CURRENT_FILE));
+    }
+
+    /**
+     * Creates an empty store, discarding any generation already in {@code directory}.
+     */
+    public static MappedVoicePrintStore create(Path directory, int dimension) throws IOException {
+        Files.createDirectories(directory);
+        long generation = exists(directory) ? readCurrentGeneration(directory) + 1 : 0;
+        MappedVoicePrintStore store = new MappedVoicePrintStore(directory, generation, dimension);
+        store.addSegment();
+        store.publish(false);
+        return store;
+    }
+
+    /**
+     * Maps the current generation and rebuilds the key index from the record headers.
+     */
+    public static MappedVoicePrintStore open(Path directory) throws IOException {
+        long generation = readCurrentGeneration(directory);
+        Path first = segmentPath(directory, generation, 0);
+        int dimension;
+        try (FileChannel channel = FileChannel.open(first, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, SEGMENT_HEADER_BYTES);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                throw new IOException("Not a voice print segment: " + first);
+            }
+            dimension = header.getInt(8);
+        }
+
+        MappedVoicePrintStore store = new MappedVoicePrintStore(directory, generation, dimension);
+        int segment = 0;
+        while (Files.exists(segmentPath(directory, generation, segment))) {
+            store.mapSegment(segment++);
+        }
+        store.loadKeys();
+        return store;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public synchronized int put(String key, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + vector.length);
+        }
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        if (keyBytes.length > MAX_KEY_BYTES) {
+            throw new IllegalArgumentException("Key longer than " + MAX_KEY_BYTES + " bytes: " + key);
+        }
+        remove(key);
+
+        int slot = slotCount;
+        if (slot / recordsPerSegment == segments.length) {
+            try {
+                addSegment();
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to grow voice print store", e);
+            }
+        }
+        Segment segment = segments[slot / recordsPerSegment];
+        int offset = recordOffset(slot);
+        segment.floats().put((offset + RECORD_HEADER_BYTES) / Float.BYTES, vector);
+        segment.bytes().put(offset + 1, (byte) keyBytes.length);
+        segment.bytes().put(offset + 4, keyBytes);
+        segment.bytes().put(offset, LIVE);
+
+        ensureKeyCapacity(slot + 1);
+        keyBySlot[slot] = key;
+        slotByKey.put(key, slot);
+        slotCount = slot + 1;
+        return slot;
+    }
+
+    @Override
+    public synchronized boolean remove(String key) {
+        Integer slot = slotByKey.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        segments[slot / recordsPerSegment].bytes().put(recordOffset(slot), TOMBSTONE);
+        keyBySlot[slot] = null;
+        return true;
+    }
+
+    @Override
+    public synchronized int slotOf(String key) {
+        return slotByKey.getOrDefault(key, -1);
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        String[] keys = keyBySlot;
+        return slot < keys.length && keys[slot] != null;
+    }
+
+    @Override
+    public String keyAt(int slot) {
+        String[] keys = keyBySlot;
+        return slot < keys.length ? keys[slot] : null;
+    }
+
+    @Override
+    public void read(int slot, float[] destination) {
+        segments[slot / recordsPerSegment].floats()
+                .get((recordOffset(slot) + RECORD_HEADER_BYTES) / Float.BYTES, destination, 0, dimension);
+    }
+
+    @Override
+    public int slotCount() {
+        return slotCount;
+    }
+
+    @Override
+    public synchronized int liveCount() {
+        return slotByKey.size();
+    }
+
+    public synchronized int tombstoneCount() {
+        return slotCount - slotByKey.size();
+    }
+
+    /**
+     * Epoch millis up to which the caller has recorded changes in this store, or 0 if it never did. Kept in
+     * the mapped header, so it reaches disk with the records.
+     */
+    public long highWater() {
+        return segments[0].bytes().getLong(HIGH_WATER_OFFSET);
+    }
+
+    public synchronized void advanceHighWater(long epochMillis) {
+        if (epochMillis > highWater()) {
+            segments[0].bytes().putLong(HIGH_WATER_OFFSET, epochMillis);
+        }
+    }
+
+    /**
+     * Copies live records into the next generation and publishes it. The returned store replaces this one;
+     * call {@link #deleteFiles()} on this instance once no reader still uses it.
+     */
+    public synchronized MappedVoicePrintStore compact() throws IOException {
+        MappedVoicePrintStore compacted = new MappedVoicePrintStore(directory, generation + 1, dimension);
+        compacted.addSegment();
+        float[] vector = new float[dimension];
+        for (int slot = 0; slot < slotCount; slot++) {
+            String key = keyBySlot[slot];
+            if (key != null) {
+                read(slot, vector);
+                compacted.put(key, vector);
+            }
+        }
+        compacted.advanceHighWater(highWater());
+        compacted.force();
+        compacted.publish(true);
+        return compacted;
+    }
+
+    public synchronized void force() {
+        for (Segment segment : segments) {
+            segment.bytes().force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        for (Segment segment : segments) {
+            segment.channel().close();
+        }
+    }
+
+    /**
+     * Deletes this generation's segment files. Mapped buffers stay readable until they are garbage collected.
+     */
+    public synchronized void deleteFiles() throws IOException {
+        close();
+        for (int segment = 0; segment < segments.length; segment++) {
+            Files.deleteIfExists(segmentPath(directory, generation, segment));
+        }
+    }
+
+    private void loadKeys() {
+        byte[] keyBytes = new byte[MAX_KEY_BYTES];
+        int slot = 0;
+        scan:
+        for (Segment segment : segments) {
+            for (int record = 0; record < recordsPerSegment; record++, slot++) {
+                int offset = recordOffset(slot);
+                byte status = segment.bytes().get(offset);
+                if (status == EMPTY) {
+                    break scan;
+                }
+                if (status == LIVE) {
+                    int length = segment.bytes().get(offset + 1);
+                    segment.bytes().get(offset + 4, keyBytes, 0, length);
+                    String key = new String(keyBytes, 0, length, StandardCharsets.UTF_8);
+                    ensureKeyCapacity(slot + 1);
+                    Integer previous = slotByKey.put(key, slot);
+                    if (previous != null) {
+                        keyBySlot[previous] = null;
+                    }
+                    keyBySlot[slot] = key;
+                }
+            }
+        }
+        slotCount = slot;
+    }
+
+    private void addSegment() throws IOException {
+        int index = segments.length;
+        Path path = segmentPath(directory, generation, index);
+        Files.deleteIfExists(path);
+        mapSegment(index);
+        MappedByteBuffer bytes = segments[index].bytes();
+        bytes.putInt(0, MAGIC);
+        bytes.putInt(4, VERSION);
+        bytes.putInt(8, dimension);
+        bytes.putInt(12, stride);
+        bytes.putInt(16, recordsPerSegment);
+    }
+
+    private void mapSegment(int index) throws IOException {
+        Path path = segmentPath(directory, generation, index);
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = SEGMENT_HEADER_BYTES + (long) recordsPerSegment * stride;
+        MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        bytes.order(ByteOrder.LITTLE_ENDIAN);
+        Segment[] grown = Arrays.copyOf(segments, index + 1);
+        grown[index] = new Segment(channel, bytes, bytes.asFloatBuffer());
+        segments = grown;
+    }
+
+    private void publish(boolean keepPrevious) throws IOException {
+        Path temporary = directory.resolve(CURRENT_FILE + ".tmp");
+        Files.writeString(temporary, Long.toString(generation));
+        Files.move(temporary, directory.resolve(CURRENT_FILE),
+                StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        deleteStaleGenerations(keepPrevious ? generation - 1 : generation);
+    }
+
+    private void deleteStaleGenerations(long oldestKept) throws IOException {
+        String prefix = "voiceprints-";
+        List<Path> stale = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        long fileGeneration = Long.parseLong(name.substring(prefix.length(), name.indexOf('-', prefix.length())));
+                        return fileGeneration > generation || fileGeneration < oldestKept;
+                    })
+                    .forEach(stale::add);
+        }
+        for (Path path : stale) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void ensureKeyCapacity(int required) {
+        if (required > keyBySlot.length) {
+            keyBySlot = Arrays.copyOf(keyBySlot, Math.max(required, keyBySlot.length * 2));
+        }
+    }
+
+    private int recordOffset(int slot) {
+        return SEGMENT_HEADER_BYTES + (slot % recordsPerSegment) * stride;
+    }
+
+    private static long readCurrentGeneration(Path directory) throws IOException {
+        return Long.parseLong(Files.readString(directory.resolve(CURRENT_FILE)).trim());
+    }
+
+    private static Path segmentPath(Path directory, long generation, int segment) {
+        return directory.resolve("voiceprints-%d-%05d.seg".formatted(generation, segment));
+    }
+}
@@ -0,0 +1,207 @@
+package com.inkluziv.util;
+
+import java.util.Arrays;
+
+/**
+ * In-process speaker embedding: 25 ms Hamming frames every 10 ms at 16 kHz, 512-point FFT, log mel filterbank
+ * and DCT-II cepstra, summarised as the per-utterance mean and standard deviation of cepstra 1..N (c0 is
+ * dropped so the embedding does not track loudness). The result is L2-normalised.
+ * <p>
+ * Window, filterbank, DCT and FFT tables are built once; per-call scratch is thread-local, so a call allocates
+ * only the embedding itself (plus the resampled signal when the input is not 16 kHz).
+ */
+public class MfccFeatureExtractor {
+
+    public static final int SAMPLE_RATE = 16_000;
+    private static final int FRAME_LENGTH = 400;
+    private static final int HOP_LENGTH = 160;
+    private static final int FFT_SIZE = 512;
+    private static final int BINS = FFT_SIZE / 2 + 1;
+    private static final float PRE_EMPHASIS = 0.97f;
+    private static final float LOG_FLOOR = 1e-10f;
+
+    private final int filterCount;
+    private final int coefficientCount;
+    private final float[] window = new float[FRAME_LENGTH];
+    private final int[] filterStart;
+    private final float[][] filterWeights;
+    private final float[][] dct;
+    private final float[] twiddleCos = new float[FFT_SIZE / 2];
+    private final float[] twiddleSin = new float[FFT_SIZE / 2];
+    private final int[] bitReverse = new int[FFT_SIZE];
+    private final ThreadLocal<Scratch> scratch;
+
+    private final class Scratch {
+        final float[] real = new float[FFT_SIZE];
+        final float[] imaginary = new float[FFT_SIZE];
+        final float[] power = new float[BINS];
+        final float[] mel = new float[filterCount];
+        final double[] sum = new double[coefficientCount];
+        final double[] sumOfSquares = new double[coefficientCount];
+    }
+
+    public MfccFeatureExtractor() {
+        this(40, 20);
+    }
+
+    public MfccFeatureExtractor(int filterCount, int coefficientCount) {
+        if (coefficientCount >= filterCount) {
+            throw new IllegalArgumentException("Coefficient count must be below filter count");
+        }
+        this.filterCount = filterCount;
+        this.coefficientCount = coefficientCount;
+        this.filterStart = new int[filterCount];
+        this.filterWeights = new float[filterCount][];
+        this.dct = new float[coefficientCount][filterCount];
+        this.scratch = ThreadLocal.withInitial(Scratch::new);
+
+        for (int i = 0; i < FRAME_LENGTH; i++) {
+            window[i] = (float) (0.54 - 0.46 * Math.cos(2 * Math.PI * i / (FRAME_LENGTH - 1)));
+        }
+        buildFilterbank();
+        for (int k = 0; k < coefficientCount; k++) {
+            for (int m = 0; m < filterCount; m++) {
+                dct[k][m] = (float) (Math.sqrt(2.0 / filterCount) * Math.cos(Math.PI * (k + 1) * (m + 0.5) / filterCount));
+            }
+        }
+        for (int i = 0; i < FFT_SIZE / 2; i++) {
+            twiddleCos[i] = (float) Math.cos(2 * Math.PI * i / FFT_SIZE);
+            twiddleSin[i] = (float) -Math.sin(2 * Math.PI * i / FFT_SIZE);
+        }
+        int bits = Integer.numberOfTrailingZeros(FFT_SIZE);
+        for (int i = 0; i < FFT_SIZE; i++) {
+            bitReverse[i] = Integer.reverse(i) >>> (32 - bits);
+        }
+    }
+
+    public int dimension() {
+        return coefficientCount * 2;
+    }
+
+    public float[] extract(PcmAudio audio) {
+        float[] signal = AudioResampler.resample(audio.samples(), audio.sampleRate(), SAMPLE_RATE);
+        if (signal.length < FRAME_LENGTH) {
+            throw new IllegalArgumentException("Audio is shorter than one analysis frame");
+        }
+        Scratch buffers = scratch.get();
+        Arrays.fill(buffers.sum, 0.0);
+        Arrays.fill(buffers.sumOfSquares, 0.0);
+
+        int frames = 1 + (signal.length - FRAME_LENGTH) / HOP_LENGTH;
+        for (int frame = 0; frame < frames; frame++) {
+            analyseFrame(signal, frame * HOP_LENGTH, buffers);
+        }
+
+        float[] embedding = new float[dimension()];
+        double squaredNorm = 0.0;
+        for (int k = 0; k < coefficientCount; k++) {
+            double mean = buffers.sum[k] / frames;
+            double variance = Math.max(0.0, buffers.sumOfSquares[k] / frames - mean * mean);
+            embedding[k] = (float) mean;
+            embedding[coefficientCount + k] = (float) Math.sqrt(variance);
+            squaredNorm += mean * mean + variance;
+        }
+        if (squaredNorm > 0) {
+            float scale = (float) (1.0 / Math.sqrt(squaredNorm));
+            for (int i = 0; i < embedding.length; i++) {
+                embedding[i] *= scale;
+            }
+        }
+        return embedding;
+    }
+
+    private void analyseFrame(float[] signal, int start, Scratch buffers) {
+        float[] real = buffers.real;
+        float[] imaginary = buffers.imaginary;
+        float previous = start > 0 ? signal[start - 1] : 0f;
+        for (int i = 0; i < FRAME_LENGTH; i++) {
+            float current = signal[start + i];
+            real[bitReverse[i]] = (current - PRE_EMPHASIS * previous) * window[i];
+            previous = current;
+        }
+        for (int i = FRAME_LENGTH; i < FFT_SIZE; i++) {
+            real[bitReverse[i]] = 0f;
+        }
+        Arrays.fill(imaginary, 0f);
+        fft(real, imaginary);
+
+        float[] power = buffers.power;
+        for (int bin = 0; bin < BINS; bin++) {
+            power[bin] = real[bin] * real[bin] + imaginary[bin] * imaginary[bin];
+        }
+        float[] mel = buffers.mel;
+        for (int m = 0; m < filterCount; m++) {
+            float[] weights = filterWeights[m];
+            int offset = filterStart[m];
+            float energy = 0f;
+            for (int i = 0; i < weights.length; i++) {
+                energy += weights[i] * power[offset + i];
+            }
+            mel[m] = (float) Math.log(Math.max(energy, LOG_FLOOR));
+        }
+        for (int k = 0; k < coefficientCount; k++) {
+            float[] basis = dct[k];
+            float cepstrum = 0f;
+            for (int m = 0; m < filterCount; m++) {
+                cepstrum += basis[m] * mel[m];
+            }
+            buffers.sum[k] += cepstrum;
+            buffers.sumOfSquares[k] += (double) cepstrum * cepstrum;
+        }
+    }
+
+    /**
+     * Iterative radix-2 FFT over input that has already been written in bit-reversed order.
+     */
+    private void fft(float[] real, float[] imaginary) {
+        for (int size = 2; size <= FFT_SIZE; size <<= 1) {
+            int half = size >>> 1;
+            int twiddleStep = FFT_SIZE / size;
+            for (int start = 0; start < FFT_SIZE; start += size) {
+                for (int k = 0; k < half; k++) {
+                    float cos = twiddleCos[k * twiddleStep];
+                    float sin = twiddleSin[k * twiddleStep];
+                    int even = start + k;
+                    int odd = even + half;
+                    float oddReal = real[odd] * cos - imaginary[odd] * sin;
+                    float oddImaginary = real[odd] * sin + imaginary[odd] * cos;
+                    real[odd] = real[even] - oddReal;
+                    imaginary[odd] = imaginary[even] - oddImaginary;
+                    real[even] += oddReal;
+                    imaginary[even] += oddImaginary;
+                }
+            }
+        }
+    }
+
+    private void buildFilterbank() {
+        double lowMel = hzToMel(20.0);
+        double highMel = hzToMel(SAMPLE_RATE / 2.0);
+        int[] points = new int[filterCount + 2];
+        for (int i = 0; i < points.length; i++) {
+            double hz = melToHz(lowMel + (highMel - lowMel) * i / (filterCount + 1));
+            points[i] = Math.min(BINS - 1, (int) Math.floor((FFT_SIZE + 1) * hz / SAMPLE_RATE));
+        }
+        for (int m = 0; m < filterCount; m++) {
+            int left = points[m];
+            int centre = Math.max(points[m + 1], left + 1);
+            int right = Math.max(points[m + 2], centre + 1);
+            float[] weights = new float[Math.min(right, BINS - 1) - left + 1];
+            for (int bin = left; bin < left + weights.length; bin++) {
+                weights[bin - left] = bin <= centre
+                        ? (float) (bin - left) / (centre - left)
+                        : (float) (right - bin) / (right - centre);
+            }
+            filterStart[m] = left;
+            filterWeights[m] = weights;
+        }
+    }
+
+    private static double hzToMel(double hz) {
+        return 2595.0 * Math.log10(1.0 + hz / 700.0);
+    }
+
+    private static double melToHz(double mel) {
+        return 700.0 * (Math.pow(10.0, mel / 2595.0) - 1.0);
+    }
+}
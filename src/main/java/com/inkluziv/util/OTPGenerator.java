@@ -1,20 +1,14 @@
 package com.inkluziv.util;
 
 
-import java.time.LocalDateTime;
-import java.util.Random;
+import java.security.SecureRandom;
 
 public class OTPGenerator {
 
+    private static final SecureRandom RANDOM = new SecureRandom();
+
     public static String generateOTP() {
-        Random random = new Random();
-        int otp = random.nextInt(900000) + 100000;
+        int otp = RANDOM.nextInt(900000) + 100000;
         return String.valueOf(otp);
     }
-    public static LocalDateTime calculateExpiryTime() {
-        return LocalDateTime.now().plusMinutes(2);
-    }
-    public static LocalDateTime getCurrentTime() {
-        return LocalDateTime.now();
-    }
 }
@@ -0,0 +1,83 @@
+package com.inkluziv.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class OnHeapVectorStore implements VectorStore {
+
+    private final int dimension;
+    private final Map<String, Integer> slotByKey = new HashMap<>();
+    private volatile float[][] vectors = new float[16][];
+    private volatile String[] keyBySlot = new String[16];
+    private volatile int slotCount;
+
+    public OnHeapVectorStore(int dimension) {
+        this.dimension = dimension;
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public synchronized int put(String key, float[] vector) {
+        if (vector.length != dimension) {
+            throw new IllegalArgumentException("Expected dimension " + dimension + " but got " + vector.length);
+        }
+        remove(key);
+        int slot = slotCount;
+        if (slot == vectors.length) {
+            vectors = Arrays.copyOf(vectors, slot * 2);
+            keyBySlot = Arrays.copyOf(keyBySlot, slot * 2);
+        }
+        vectors[slot] = vector.clone();
+        keyBySlot[slot] = key;
+        slotByKey.put(key, slot);
+        slotCount = slot + 1;
+        return slot;
+    }
+
+    @Override
+    public synchronized boolean remove(String key) {
+        Integer slot = slotByKey.remove(key);
+        if (slot == null) {
+            return false;
+        }
+        keyBySlot[slot] = null;
+        return true;
+    }
+
+    @Override
+    public synchronized int slotOf(String key) {
+        return slotByKey.getOrDefault(key, -1);
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        String[] keys = keyBySlot;
+        return slot < keys.length && keys[slot] != null;
+    }
+
+    @Override
+    public String keyAt(int slot) {
+        String[] keys = keyBySlot;
+        return slot < keys.length ? keys[slot] : null;
+    }
+
+    @Override
+    public void read(int slot, float[] destination) {
+        System.arraycopy(vectors[slot], 0, destination, 0, dimension);
+    }
+
+    @Override
+    public int slotCount() {
+        return slotCount;
+    }
+
+    @Override
+    public synchronized int liveCount() {
+        return slotByKey.size();
+    }
+}
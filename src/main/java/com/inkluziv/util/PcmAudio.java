@@ -0,0 +1,11 @@
+package com.inkluziv.util;
+
+/**
+ * Mono PCM samples in {@code [-1, 1]} at {@code sampleRate} Hz.
+ */
+public record PcmAudio(float[] samples, int sampleRate) {
+
+    public double durationSeconds() {
+        return (double) samples.length / sampleRate;
+    }
+}
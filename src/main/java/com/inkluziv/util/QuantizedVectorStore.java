@@ -0,0 +1,95 @@
+package com.inkluziv.util;
+
+import java.util.Arrays;
+
+/**
+ * Keeps an on-heap int8 copy of every vector in a full-precision {@link VectorStore}. Graph search scores
+ * candidates on the codes, a quarter of the float footprint, so the hot working set stays in cache; the
+ * delegate is only read for linking and for re-scoring final candidates.
+ */
+public class QuantizedVectorStore implements VectorStore {
+
+    private final VectorStore delegate;
+    private final int dimension;
+    private volatile byte[] codes;
+    private volatile float[] scales;
+
+    public QuantizedVectorStore(VectorStore delegate) {
+        this.delegate = delegate;
+        this.dimension = delegate.dimension();
+        int slots = Math.max(16, delegate.slotCount());
+        this.codes = new byte[slots * dimension];
+        this.scales = new float[slots];
+        float[] vector = new float[dimension];
+        for (int slot = 0; slot < delegate.slotCount(); slot++) {
+            if (delegate.isLive(slot)) {
+                delegate.read(slot, vector);
+                scales[slot] = Int8Quantizer.quantize(vector, codes, slot * dimension);
+            }
+        }
+    }
+
+    public VectorStore delegate() {
+        return delegate;
+    }
+
+    /**
+     * Approximate dot product of a quantized query with the vector in {@code slot}.
+     */
+    public double quantizedDot(SimilarityEngine engine, byte[] queryCodes, float queryScale, int slot) {
+        byte[] snapshot = codes;
+        return (double) engine.dotInt8(queryCodes, 0, snapshot, slot * dimension, dimension) * queryScale * scales[slot];
+    }
+
+    @Override
+    public int dimension() {
+        return dimension;
+    }
+
+    @Override
+    public synchronized int put(String key, float[] vector) {
+        int slot = delegate.put(key, vector);
+        if (slot >= scales.length) {
+            int capacity = Math.max(slot + 1, scales.length * 2);
+            codes = Arrays.copyOf(codes, capacity * dimension);
+            scales = Arrays.copyOf(scales, capacity);
+        }
+        scales[slot] = Int8Quantizer.quantize(vector, codes, slot * dimension);
+        return slot;
+    }
+
+    @Override
+    public boolean remove(String key) {
+        return delegate.remove(key);
+    }
+
+    @Override
+    public int slotOf(String key) {
+        return delegate.slotOf(key);
+    }
+
+    @Override
+    public boolean isLive(int slot) {
+        return delegate.isLive(slot);
+    }
+
+    @Override
+    public String keyAt(int slot) {
+        return delegate.keyAt(slot);
+    }
+
+    @Override
+    public void read(int slot, float[] destination) {
+        delegate.read(slot, destination);
+    }
+
+    @Override
+    public int slotCount() {
+        return delegate.slotCount();
+    }
+
+    @Override
+    public int liveCount() {
+        return delegate.liveCount();
+    }
+}
@@ -0,0 +1,37 @@
+package com.inkluziv.util;
+
+public class ScalarSimilarityEngine implements SimilarityEngine {
+
+    @Override
+    public double dot(float[] first, float[] second) {
+        double sum = 0.0;
+        for (int index = 0; index < first.length; index++) {
+            sum += first[index] * second[index];
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredNorm(float[] vector) {
+        double sum = 0.0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredDistance(float[] first, float[] second) {
+        double sum = 0.0;
+        for (int index = 0; index < first.length; index++) {
+            float difference = first[index] - second[index];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+}
@@ -0,0 +1,167 @@
+package com.inkluziv.util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Impostor cohort for S-norm / AS-norm score normalization: unit-length voiceprints of speakers who are not
+ * enrolled, packed row-major into one {@code float[]} so a probe is scored against all of them with a single
+ * {@link SimilarityEngine#dotRows} call. Per-thread scratch keeps a login allocation-free apart from the result.
+ */
+public class ScoreCohort {
+
+    private static final double MIN_DEVIATION = 1e-6;
+
+    private final float[] matrix;
+    private final int rows;
+    private final int dimension;
+    private final ThreadLocal<float[]> scratch;
+
+    public record Statistics(double mean, double deviation) {
+    }
+
+    private ScoreCohort(float[] matrix, int rows, int dimension) {
+        this.matrix = matrix;
+        this.rows = rows;
+        this.dimension = dimension;
+        this.scratch = ThreadLocal.withInitial(() -> new float[rows]);
+    }
+
+    public static ScoreCohort empty() {
+        return new ScoreCohort(new float[0], 0, 0);
+    }
+
+    /**
+     * Builds a cohort from copies of {@code vectors}, scaled to unit length. All vectors must share a dimension.
+     */
+    public static ScoreCohort of(List<float[]> vectors) {
+        if (vectors.isEmpty()) {
+            return empty();
+        }
+        int dimension = vectors.get(0).length;
+        float[] matrix = new float[vectors.size() * dimension];
+        for (int row = 0; row < vectors.size(); row++) {
+            float[] vector = vectors.get(row);
+            if (vector.length != dimension) {
+                throw new IllegalArgumentException("Cohort vector " + row + " has dimension " + vector.length + ", expected " + dimension);
+            }
+            double norm = 0.0;
+            for (float value : vector) {
+                norm += value * value;
+            }
+            float scale = norm > 0.0 ? (float) (1.0 / Math.sqrt(norm)) : 0f;
+            for (int index = 0; index < dimension; index++) {
+                matrix[row * dimension + index] = vector[index] * scale;
+            }
+        }
+        return new ScoreCohort(matrix, vectors.size(), dimension);
+    }
+
+    /**
+     * Reads a cohort file: {@link VoicePrintCodec} full-precision records written back to back.
+     */
+    public static ScoreCohort load(Path path) throws IOException {
+        byte[] bytes = Files.readAllBytes(path);
+        List<float[]> vectors = new ArrayList<>();
+        int position = 0;
+        while (position < bytes.length) {
+            if (bytes.length - position < VoicePrintCodec.HEADER_BYTES) {
+                throw new IOException("Truncated cohort record at byte " + position + " of " + path);
+            }
+            int recordDimension = ByteBuffer.wrap(bytes, position + 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            long recordLength = VoicePrintCodec.HEADER_BYTES + (long) recordDimension * Float.BYTES;
+            if (recordDimension <= 0 || position + recordLength > bytes.length) {
+                throw new IOException("Truncated cohort record at byte " + position + " of " + path);
+            }
+            vectors.add(VoicePrintCodec.decode(Arrays.copyOfRange(bytes, position, position + (int) recordLength)));
+            position += (int) recordLength;
+        }
+        return of(vectors);
+    }
+
+    public int size() {
+        return rows;
+    }
+
+    public int dimension() {
+        return dimension;
+    }
+
+    public boolean isEmpty() {
+        return rows == 0;
+    }
+
+    /**
+     * Mean and standard deviation of the cosine scores of {@code unitVector} against the cohort. With
+     * {@code topN} between 1 and the cohort size only the {@code topN} highest scores count (AS-norm);
+     * otherwise the whole cohort does (S-norm).
+     */
+    public Statistics statistics(SimilarityEngine engine, float[] unitVector, int topN) {
+        if (unitVector.length != dimension || rows == 0) {
+            throw new IllegalArgumentException("Vector dimension " + unitVector.length + " does not match cohort dimension " + dimension);
+        }
+        float[] scores = scratch.get();
+        engine.dotRows(unitVector, matrix, rows, scores);
+        int counted = topN > 0 && topN < rows ? topN : rows;
+        if (counted < rows) {
+            selectHighest(scores, counted);
+        }
+
+        double sum = 0.0;
+        double sumOfSquares = 0.0;
+        for (int index = 0; index < counted; index++) {
+            sum += scores[index];
+            sumOfSquares += (double) scores[index] * scores[index];
+        }
+        double mean = sum / counted;
+        double variance = Math.max(0.0, sumOfSquares / counted - mean * mean);
+        return new Statistics(mean, Math.max(MIN_DEVIATION, Math.sqrt(variance)));
+    }
+
+    /**
+     * Symmetric normalization: the mean of the raw score z-normalized against the enrollment side's cohort
+     * statistics and against the probe side's.
+     */
+    public static double sNorm(double score, Statistics enrollment, Statistics probe) {
+        return 0.5 * ((score - enrollment.mean()) / enrollment.deviation() + (score - probe.mean()) / probe.deviation());
+    }
+
+    /**
+     * Partially orders {@code scores} so its first {@code count} entries are the highest, in expected linear time.
+     */
+    private void selectHighest(float[] scores, int count) {
+        int low = 0;
+        int high = rows - 1;
+        while (low < high) {
+            float pivot = scores[(low + high) >>> 1];
+            int left = low;
+            int right = high;
+            while (left <= right) {
+                while (scores[left] > pivot) {
+                    left++;
+                }
+                while (scores[right] < pivot) {
+                    right--;
+                }
+                if (left <= right) {
+                    float swap = scores[left];
+                    scores[left++] = scores[right];
+                    scores[right--] = swap;
+                }
+            }
+            if (count - 1 <= right) {
+                high = right;
+            } else if (count - 1 >= left) {
+                low = left;
+            } else {
+                return;
+            }
+        }
+    }
+}
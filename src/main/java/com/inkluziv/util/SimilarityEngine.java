@@ -0,0 +1,76 @@
+package com.inkluziv.util;
+
+import com.inkluziv.data.enums.SimilarityMode;
+
+/**
+ * Similarity primitives over primitive float vectors. {@link #similarity} always returns a score where
+ * higher means more alike: cosine for {@code COSINE}, the raw dot product for {@code DOT_PRODUCT}
+ * (callers pass L2-normalized vectors), and {@code 1 / (1 + distance)} for {@code EUCLIDEAN}.
+ */
+public interface SimilarityEngine {
+
+    double dot(float[] first, float[] second);
+
+    double squaredNorm(float[] vector);
+
+    double squaredDistance(float[] first, float[] second);
+
+    String name();
+
+    /**
+     * Integer dot product of two int8 code runs, as used for quantized voiceprints.
+     */
+    default int dotInt8(byte[] first, int firstOffset, byte[] second, int secondOffset, int length) {
+        int sum = 0;
+        for (int index = 0; index < length; index++) {
+            sum += first[firstOffset + index] * second[secondOffset + index];
+        }
+        return sum;
+    }
+
+    /**
+     * Dot products of {@code probe} with each of the first {@code rows} vectors packed row-major in
+     * {@code matrix}, written to {@code scores}. Used to score a probe against a whole cohort in one pass.
+     */
+    default void dotRows(float[] probe, float[] matrix, int rows, float[] scores) {
+        int dimension = probe.length;
+        for (int row = 0; row < rows; row++) {
+            int offset = row * dimension;
+            float sum = 0f;
+            for (int index = 0; index < dimension; index++) {
+                sum += probe[index] * matrix[offset + index];
+            }
+            scores[row] = sum;
+        }
+    }
+
+    default double cosine(float[] first, float[] second) {
+        double denominator = Math.sqrt(squaredNorm(first)) * Math.sqrt(squaredNorm(second));
+        return denominator == 0.0 ? 0.0 : dot(first, second) / denominator;
+    }
+
+    default double similarity(SimilarityMode mode, float[] first, float[] second) {
+        if (first.length != second.length) {
+            throw new IllegalArgumentException("Vector length mismatch: " + first.length + " vs " + second.length);
+        }
+        return switch (mode) {
+            case COSINE -> cosine(first, second);
+            case DOT_PRODUCT -> dot(first, second);
+            case EUCLIDEAN -> 1.0 / (1.0 + Math.sqrt(squaredDistance(first, second)));
+        };
+    }
+
+    /**
+     * Scales the vector to unit length in place so it can be scored with {@code DOT_PRODUCT}.
+     */
+    default float[] normalize(float[] vector) {
+        double norm = Math.sqrt(squaredNorm(vector));
+        if (norm > 0.0) {
+            float scale = (float) (1.0 / norm);
+            for (int index = 0; index < vector.length; index++) {
+                vector[index] *= scale;
+            }
+        }
+        return vector;
+    }
+}
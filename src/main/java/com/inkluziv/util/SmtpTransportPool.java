@@ -0,0 +1,193 @@
+package com.inkluziv.util;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Keeps up to {@code maxConnections} connected, authenticated SMTP transports open so a message does not pay for
+ * connect, STARTTLS and AUTH again. A connection idle longer than {@code validateAfterIdle} is checked with a
+ * NOOP before it is lent out. One idle longer than {@code maxIdle} is closed without asking, ahead of the server's
+ * own timeout. A connection also closes after {@code maxMessagesPerConnection} messages, and when a borrower
+ * invalidates it after a transport error. The next {@link #acquire} reconnects.
+ */
+@Slf4j
+public class SmtpTransportPool implements AutoCloseable {
+
+    private final Session session;
+    private final String host;
+    private final int port;
+    private final String username;
+    private final String password;
+    private final int maxMessagesPerConnection;
+    private final long maxIdleNanos;
+    private final long validateAfterIdleNanos;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledTransport> idle = new LinkedBlockingDeque<>();
+    private volatile boolean closed;
+
+    private static final class PooledTransport {
+        private final Transport transport;
+        private int messagesSent;
+        private long lastUsedNanos = System.nanoTime();
+
+        private PooledTransport(Transport transport) {
+            this.transport = transport;
+        }
+    }
+
+    public SmtpTransportPool(Session session, String host, int port, String username, String password,
+                             int maxConnections, int maxMessagesPerConnection, Duration maxIdle, Duration validateAfterIdle) {
+        this.session = session;
+        this.host = host;
+        this.port = port;
+        this.username = username;
+        this.password = password;
+        this.maxMessagesPerConnection = maxMessagesPerConnection;
+        this.maxIdleNanos = maxIdle.toNanos();
+        this.validateAfterIdleNanos = validateAfterIdle.toNanos();
+        this.permits = new Semaphore(maxConnections, true);
+    }
+
+    public Session session() {
+        return session;
+    }
+
+    public int idleConnections() {
+        return idle.size();
+    }
+
+    /**
+     * Lends a connected transport, waiting while all {@code maxConnections} are in use. Most recently used
+     * connections go out first, so surplus ones age out under light load.
+     */
+    public Lease acquire() throws MessagingException, InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("SMTP transport pool is closed");
+        }
+        permits.acquire();
+        try {
+            PooledTransport pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isHealthy(pooled)) {
+                    return new Lease(pooled);
+                }
+                closeQuietly(pooled);
+            }
+            return new Lease(connect());
+        } catch (MessagingException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes idle connections that have sat past {@code maxIdle}. Run periodically so the pool shrinks after a
+     * burst instead of holding sockets the server has already given up on.
+     */
+    public void evictIdle() {
+        List<PooledTransport> expired = new ArrayList<>();
+        long now = System.nanoTime();
+        idle.removeIf(pooled -> {
+            if (now - pooled.lastUsedNanos > maxIdleNanos) {
+                expired.add(pooled);
+                return true;
+            }
+            return false;
+        });
+        expired.forEach(this::closeQuietly);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        PooledTransport pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            closeQuietly(pooled);
+        }
+    }
+
+    private PooledTransport connect() throws MessagingException {
+        Transport transport = session.getTransport();
+        transport.connect(host, port, username, password);
+        log.debug("Opened SMTP connection to {}:{}", host, port);
+        return new PooledTransport(transport);
+    }
+
+    private boolean isHealthy(PooledTransport pooled) {
+        long idleNanos = System.nanoTime() - pooled.lastUsedNanos;
+        if (idleNanos > maxIdleNanos) {
+            return false;
+        }
+        return idleNanos <= validateAfterIdleNanos || pooled.transport.isConnected();
+    }
+
+    private void closeQuietly(PooledTransport pooled) {
+        try {
+            pooled.transport.close();
+        } catch (MessagingException e) {
+            log.debug("Error closing SMTP connection: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * One borrowed connection. Send any number of messages, then close the lease to hand the connection back.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final PooledTransport pooled;
+        private boolean invalid;
+        private boolean returned;
+
+        private Lease(PooledTransport pooled) {
+            this.pooled = pooled;
+        }
+
+        public void send(MimeMessage message) throws MessagingException {
+            if (message.getSentDate() == null) {
+                message.setSentDate(new Date());
+            }
+            message.saveChanges();
+            pooled.transport.sendMessage(message, message.getAllRecipients());
+            pooled.messagesSent++;
+        }
+
+        /**
+         * Marks the connection broken so it is closed instead of reused.
+         */
+        public void invalidate() {
+            invalid = true;
+        }
+
+        @Override
+        public void close() {
+            if (returned) {
+                return;
+            }
+            returned = true;
+            try {
+                if (invalid || closed || pooled.messagesSent >= maxMessagesPerConnection) {
+                    closeQuietly(pooled);
+                } else {
+                    pooled.lastUsedNanos = System.nanoTime();
+                    idle.offerFirst(pooled);
+                    if (closed && idle.remove(pooled)) {
+                        closeQuietly(pooled);
+                    }
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.inkluziv.util;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation on {@code jdk.incubator.vector}. Only load this class when the module is present
+ * ({@code --add-modules jdk.incubator.vector}); {@code VoiceSimilarityConfiguration} takes care of that.
+ */
+public class VectorSimilarityEngine implements SimilarityEngine {
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INT_SPECIES = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> BYTE_SPECIES = VectorSpecies.of(byte.class,
+            VectorShape.forBitSize(Math.max(64, INT_SPECIES.vectorBitSize() / 4)));
+    private static final int INT_PARTS = BYTE_SPECIES.length() / INT_SPECIES.length();
+
+    @Override
+    public double dot(float[] first, float[] second) {
+        FloatVector accumulator = FloatVector.zero(SPECIES);
+        int index = 0;
+        int bound = SPECIES.loopBound(first.length);
+        for (; index < bound; index += SPECIES.length()) {
+            FloatVector left = FloatVector.fromArray(SPECIES, first, index);
+            FloatVector right = FloatVector.fromArray(SPECIES, second, index);
+            accumulator = left.fma(right, accumulator);
+        }
+        double sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; index < first.length; index++) {
+            sum += first[index] * second[index];
+        }
+        return sum;
+    }
+
+    @Override
+    public double squaredNorm(float[] vector) {
+        return dot(vector, vector);
+    }
+
+    @Override
+    public double squaredDistance(float[] first, float[] second) {
+        FloatVector accumulator = FloatVector.zero(SPECIES);
+        int index = 0;
+        int bound = SPECIES.loopBound(first.length);
+        for (; index < bound; index += SPECIES.length()) {
+            FloatVector difference = FloatVector.fromArray(SPECIES, first, index)
+                    .sub(FloatVector.fromArray(SPECIES, second, index));
+            accumulator = difference.fma(difference, accumulator);
+        }
+        double sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; index < first.length; index++) {
+            float difference = first[index] - second[index];
+            sum += difference * difference;
+        }
+        return sum;
+    }
+
+    /**
+     * Widens int8 lanes to int32 before multiplying, so products and sums cannot overflow. The byte species is a
+     * quarter of the preferred int width, so one load fills one int vector. Below 256-bit ints that would be
+     * narrower than the smallest 64-bit shape, so each 64-bit load is widened in several parts instead.
+     */
+    @Override
+    public int dotInt8(byte[] first, int firstOffset, byte[] second, int secondOffset, int length) {
+        IntVector accumulator = IntVector.zero(INT_SPECIES);
+        int index = 0;
+        int bound = BYTE_SPECIES.loopBound(length);
+        for (; index < bound; index += BYTE_SPECIES.length()) {
+            ByteVector leftBytes = ByteVector.fromArray(BYTE_SPECIES, first, firstOffset + index);
+            ByteVector rightBytes = ByteVector.fromArray(BYTE_SPECIES, second, secondOffset + index);
+            for (int part = 0; part < INT_PARTS; part++) {
+                IntVector left = (IntVector) leftBytes.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+                IntVector right = (IntVector) rightBytes.convertShape(VectorOperators.B2I, INT_SPECIES, part);
+                accumulator = accumulator.add(left.mul(right));
+            }
+        }
+        int sum = accumulator.reduceLanes(VectorOperators.ADD);
+        for (; index < length; index++) {
+            sum += first[firstOffset + index] * second[secondOffset + index];
+        }
+        return sum;
+    }
+
+    /**
+     * Scores four rows per pass so each probe lane is loaded once for four fused multiply-adds.
+     */
+    @Override
+    public void dotRows(float[] probe, float[] matrix, int rows, float[] scores) {
+        int dimension = probe.length;
+        int bound = SPECIES.loopBound(dimension);
+        int row = 0;
+        for (; row + 4 <= rows; row += 4) {
+            int first = row * dimension;
+            int second = first + dimension;
+            int third = second + dimension;
+            int fourth = third + dimension;
+            FloatVector sum0 = FloatVector.zero(SPECIES);
+            FloatVector sum1 = FloatVector.zero(SPECIES);
+            FloatVector sum2 = FloatVector.zero(SPECIES);
+            FloatVector sum3 = FloatVector.zero(SPECIES);
+            int index = 0;
+            for (; index < bound; index += SPECIES.length()) {
+                FloatVector lane = FloatVector.fromArray(SPECIES, probe, index);
+                sum0 = FloatVector.fromArray(SPECIES, matrix, first + index).fma(lane, sum0);
+                sum1 = FloatVector.fromArray(SPECIES, matrix, second + index).fma(lane, sum1);
+                sum2 = FloatVector.fromArray(SPECIES, matrix, third + index).fma(lane, sum2);
+                sum3 = FloatVector.fromArray(SPECIES, matrix, fourth + index).fma(lane, sum3);
+            }
+            float tail0 = sum0.reduceLanes(VectorOperators.ADD);
+            float tail1 = sum1.reduceLanes(VectorOperators.ADD);
+            float tail2 = sum2.reduceLanes(VectorOperators.ADD);
+            float tail3 = sum3.reduceLanes(VectorOperators.ADD);
+            for (; index < dimension; index++) {
+                float value = probe[index];
+                tail0 += value * matrix[first + index];
+                tail1 += value * matrix[second + index];
+                tail2 += value * matrix[third + index];
+                tail3 += value * matrix[fourth + index];
+            }
+            scores[row] = tail0;
+            scores[row + 1] = tail1;
+            scores[row + 2] = tail2;
+            scores[row + 3] = tail3;
+        }
+        for (; row < rows; row++) {
+            int offset = row * dimension;
+            FloatVector sum = FloatVector.zero(SPECIES);
+            int index = 0;
+            for (; index < bound; index += SPECIES.length()) {
+                sum = FloatVector.fromArray(SPECIES, matrix, offset + index).fma(FloatVector.fromArray(SPECIES, probe, index), sum);
+            }
+            float tail = sum.reduceLanes(VectorOperators.ADD);
+            for (; index < dimension; index++) {
+                tail += probe[index] * matrix[offset + index];
+            }
+            scores[row] = tail;
+        }
+    }
+
+    @Override
+    public String name() {
+        return "vector-" + SPECIES.vectorBitSize();
+    }
+}
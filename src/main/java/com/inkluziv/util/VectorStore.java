@@ -0,0 +1,26 @@
+package com.inkluziv.util;
+
+/**
+ * Fixed-dimension float vectors addressed by slot and keyed by user id. {@link #put} always appends to a new
+ * slot and tombstones the previous slot for the same key, so a slot's contents never change once written.
+ */
+public interface VectorStore {
+
+    int dimension();
+
+    int put(String key, float[] vector);
+
+    boolean remove(String key);
+
+    int slotOf(String key);
+
+    boolean isLive(int slot);
+
+    String keyAt(int slot);
+
+    void read(int slot, float[] destination);
+
+    int slotCount();
+
+    int liveCount();
+}
@@ -0,0 +1,41 @@
+package com.inkluziv.util;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Claims of a token whose signature and expiry have been checked. Immutable, so one instance can be shared by
+ * every request presenting the same token.
+ */
+public record VerifiedClaims(String subject, Instant issuedAt, Instant expiresAt, Map<String, Object> claims) {
+
+    public VerifiedClaims {
+        claims = Map.copyOf(claims);
+    }
+
+    static VerifiedClaims from(Claims body) {
+        Map<String, Object> values = new HashMap<>();
+        body.forEach((name, value) -> {
+            if (value != null) {
+                values.put(name, value);
+            }
+        });
+        return new VerifiedClaims(
+                body.getSubject(),
+                body.getIssuedAt() == null ? null : body.getIssuedAt().toInstant(),
+                body.getExpiration() == null ? null : body.getExpiration().toInstant(),
+                values);
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+
+    public <T> T get(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.inkluziv.util;
+
+/**
+ * Running mean of L2-normalised enrollment samples, kept as a unit direction plus the mean's length so the
+ * stored voiceprint is always directly comparable while each update stays O(d).
+ */
+public final class VoiceCentroid {
+
+    private VoiceCentroid() {
+    }
+
+    /**
+     * Scales {@code vector} to unit length in place and returns its original length.
+     */
+    public static float normalize(float[] vector) {
+        double sum = 0.0;
+        for (float value : vector) {
+            sum += value * value;
+        }
+        float norm = (float) Math.sqrt(sum);
+        if (norm > 0f) {
+            for (int i = 0; i < vector.length; i++) {
+                vector[i] /= norm;
+            }
+        }
+        return norm;
+    }
+
+    /**
+     * Folds a unit-length {@code sample} into the mean of {@code count} samples whose direction is
+     * {@code centroid} and length {@code norm}. Updates {@code centroid} in place and returns the new length.
+     */
+    public static float add(float[] centroid, float norm, int count, float[] sample) {
+        for (int i = 0; i < centroid.length; i++) {
+            float mean = centroid[i] * norm;
+            centroid[i] = mean + (sample[i] - mean) / (count + 1);
+        }
+        return normalize(centroid);
+    }
+
+    /**
+     * Swaps {@code removed} for {@code added} in the mean of {@code count} samples without changing the count.
+     */
+    public static float replace(float[] centroid, float norm, int count, float[] removed, float[] added) {
+        for (int i = 0; i < centroid.length; i++) {
+            centroid[i] = centroid[i] * norm + (added[i] - removed[i]) / count;
+        }
+        return normalize(centroid);
+    }
+}
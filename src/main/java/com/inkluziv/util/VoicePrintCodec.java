@@ -0,0 +1,121 @@
+package com.inkluziv.util;
+
+import com.inkluziv.exception.InvalidVoicePrintException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Binary voiceprint format stored as BSON binary on {@code User}, {@code PendingUser} and {@code Embedding}.
+ * Layout: 2 magic bytes "VP", 1 version byte, 1 reserved byte, int32 dimension, then dimension
+ * little-endian float32 values.
+ * <p>
+ * Version 2 is the quantized form: the same header, a float32 scale, then dimension int8 codes (see
+ * {@link Int8Quantizer}). {@link #decode} accepts both versions.
+ */
+public class VoicePrintCodec {
+
+    public static final byte FORMAT_VERSION = 1;
+    public static final byte QUANTIZED_FORMAT_VERSION = 2;
+    public static final int HEADER_BYTES = 8;
+
+    private static final byte MAGIC_V = 'V';
+    private static final byte MAGIC_P = 'P';
+
+    public static byte[] encode(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            throw new InvalidVoicePrintException("Voice print vector cannot be empty");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + vector.length * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(MAGIC_V).put(MAGIC_P).put(FORMAT_VERSION).put((byte) 0).putInt(vector.length);
+        buffer.asFloatBuffer().put(vector);
+        return buffer.array();
+    }
+
+    public static byte[] encodeQuantized(float[] vector) {
+        if (vector == null || vector.length == 0) {
+            throw new InvalidVoicePrintException("Voice print vector cannot be empty");
+        }
+        byte[] encoded = new byte[HEADER_BYTES + Float.BYTES + vector.length];
+        float scale = Int8Quantizer.quantize(vector, encoded, HEADER_BYTES + Float.BYTES);
+        ByteBuffer.wrap(encoded).order(ByteOrder.LITTLE_ENDIAN)
+                .put(MAGIC_V).put(MAGIC_P).put(QUANTIZED_FORMAT_VERSION).put((byte) 0).putInt(vector.length).putFloat(scale);
+        return encoded;
+    }
+
+    public static float[] decode(byte[] voicePrint) {
+        int dimension = dimension(voicePrint);
+        float[] vector = new float[dimension];
+        if (isQuantized(voicePrint)) {
+            Int8Quantizer.dequantize(voicePrint, quantizedCodesOffset(), quantizedScale(voicePrint), vector);
+            return vector;
+        }
+        ByteBuffer.wrap(voicePrint, HEADER_BYTES, dimension * Float.BYTES)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asFloatBuffer()
+                .get(vector);
+        return vector;
+    }
+
+    public static int dimension(byte[] voicePrint) {
+        if (!isEncoded(voicePrint)) {
+            throw new InvalidVoicePrintException("Voice print is not in the binary format");
+        }
+        if (voicePrint[2] != FORMAT_VERSION && voicePrint[2] != QUANTIZED_FORMAT_VERSION) {
+            throw new InvalidVoicePrintException("Unsupported voice print version: " + voicePrint[2]);
+        }
+        int dimension = ByteBuffer.wrap(voicePrint, 4, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+        int expectedLength = voicePrint[2] == QUANTIZED_FORMAT_VERSION
+                ? HEADER_BYTES + Float.BYTES + dimension
+                : HEADER_BYTES + dimension * Float.BYTES;
+        if (dimension <= 0 || voicePrint.length != expectedLength) {
+            throw new InvalidVoicePrintException("Corrupt voice print: dimension " + dimension
+                    + " does not match " + voicePrint.length + " bytes");
+        }
+        return dimension;
+    }
+
+    public static boolean isEncoded(byte[] voicePrint) {
+        return voicePrint != null
+                && voicePrint.length >= HEADER_BYTES
+                && voicePrint[0] == MAGIC_V
+                && voicePrint[1] == MAGIC_P;
+    }
+
+    public static boolean isQuantized(byte[] voicePrint) {
+        return isEncoded(voicePrint) && voicePrint[2] == QUANTIZED_FORMAT_VERSION;
+    }
+
+    public static float quantizedScale(byte[] voicePrint) {
+        return ByteBuffer.wrap(voicePrint, HEADER_BYTES, Float.BYTES).order(ByteOrder.LITTLE_ENDIAN).getFloat();
+    }
+
+    public static int quantizedCodesOffset() {
+        return HEADER_BYTES + Float.BYTES;
+    }
+
+    /**
+     * Parses the legacy text form, either {@code List.toString()} output ("[a, b, c]") or a bare
+     * comma-joined list ("a,b,c"). Only used to migrate documents written before the binary format.
+     */
+    public static float[] parseLegacy(String legacyVoicePrint) {
+        if (legacyVoicePrint == null || legacyVoicePrint.isBlank()) {
+            throw new InvalidVoicePrintException("Legacy voice print is blank");
+        }
+        String trimmed = legacyVoicePrint.trim();
+        if (trimmed.startsWith("[") && trimmed.endsWith("]")) {
+            trimmed = trimmed.substring(1, trimmed.length() - 1);
+        }
+        String[] parts = trimmed.split(",");
+        float[] vector = new float[parts.length];
+        try {
+            for (int index = 0; index < parts.length; index++) {
+                vector[index] = Float.parseFloat(parts[index].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidVoicePrintException("Legacy voice print is not numeric: " + e.getMessage());
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,171 @@
+package com.inkluziv.util;
+
+import com.inkluziv.exception.InvalidVoiceInputException;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Streaming RIFF/WAVE decoder for integer PCM (8/16/24/32-bit) and 32-bit float data, including
+ * {@code WAVE_FORMAT_EXTENSIBLE}. Channels are averaged into mono while reading, so the only allocation
+ * proportional to the input is the output sample array. That array grows with the bytes actually read, never
+ * with the size the header claims, and the sample rate and channel count must be plausible for a microphone.
+ */
+public final class WavDecoder {
+
+    private static final int FORMAT_PCM = 1;
+    private static final int FORMAT_FLOAT = 3;
+    private static final int FORMAT_EXTENSIBLE = 0xFFFE;
+    private static final int MIN_SAMPLE_RATE = 8_000;
+    private static final int MAX_SAMPLE_RATE = 192_000;
+    private static final int MAX_CHANNELS = 8;
+    private static final int INITIAL_FRAMES = 64 * 1024;
+
+    private WavDecoder() {
+    }
+
+    public static PcmAudio decode(InputStream source) throws IOException {
+        return decode(source, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Decodes the stream, rejecting it from the header alone if it holds more than {@code maxSeconds} of audio.
+     */
+    public static PcmAudio decode(InputStream source, double maxSeconds) throws IOException {
+        InputStream input = source instanceof BufferedInputStream ? source : new BufferedInputStream(source, 16 * 1024);
+        if (readTag(input) != tag("RIFF")) {
+            throw new InvalidVoiceInputException("Audio is not a WAV file");
+        }
+        readInt(input);
+        if (readTag(input) != tag("WAVE")) {
+            throw new InvalidVoiceInputException("Audio is not a WAV file");
+        }
+
+        int format = -1;
+        int channels = 0;
+        int sampleRate = 0;
+        int bitsPerSample = 0;
+        while (true) {
+            int chunk = readTag(input);
+            long size = readInt(input) & 0xFFFFFFFFL;
+            if (chunk == tag("fmt ")) {
+                format = readShort(input);
+                channels = readShort(input);
+                sampleRate = readInt(input);
+                readInt(input);
+                readShort(input);
+                bitsPerSample = readShort(input);
+                long remaining = size - 16;
+                if (format == FORMAT_EXTENSIBLE && remaining >= 10) {
+                    readShort(input);
+                    readShort(input);
+                    readInt(input);
+                    format = readShort(input);
+                    remaining -= 10;
+                }
+                skip(input, remaining + (size & 1));
+            } else if (chunk == tag("data")) {
+                if (format < 0) {
+                    throw new InvalidVoiceInputException("WAV data chunk precedes its format chunk");
+                }
+                return readSamples(input, size, format, channels, sampleRate, bitsPerSample, maxSeconds);
+            } else {
+                skip(input, size + (size & 1));
+            }
+        }
+    }
+
+    private static PcmAudio readSamples(InputStream input, long size, int format, int channels, int sampleRate,
+                                        int bitsPerSample, double maxSeconds) throws IOException {
+        boolean supported = (format == FORMAT_PCM && (bitsPerSample == 8 || bitsPerSample == 16 || bitsPerSample == 24 || bitsPerSample == 32))
+                || (format == FORMAT_FLOAT && bitsPerSample == 32);
+        if (!supported) {
+            throw new InvalidVoiceInputException("Unsupported WAV encoding: format " + format + ", " + bitsPerSample + " bits");
+        }
+        if (channels < 1 || channels > MAX_CHANNELS || sampleRate < MIN_SAMPLE_RATE || sampleRate > MAX_SAMPLE_RATE) {
+            throw new InvalidVoiceInputException("Unsupported WAV layout: " + channels + " channels at " + sampleRate + " Hz");
+        }
+        int bytesPerSample = bitsPerSample / 8;
+        int blockAlign = bytesPerSample * channels;
+        long frames = size / blockAlign;
+        if (frames > Integer.MAX_VALUE || (double) frames / sampleRate > maxSeconds) {
+            throw new InvalidVoiceInputException("Voice sample is longer than " + maxSeconds + " seconds");
+        }
+
+        float[] samples = new float[(int) Math.min(frames, INITIAL_FRAMES)];
+        byte[] block = new byte[blockAlign];
+        int decoded = 0;
+        for (; decoded < frames; decoded++) {
+            if (input.readNBytes(block, 0, blockAlign) < blockAlign) {
+                break;
+            }
+            if (decoded == samples.length) {
+                samples = Arrays.copyOf(samples, (int) Math.min(frames, 2L * samples.length));
+            }
+            float sum = 0f;
+            for (int channel = 0, offset = 0; channel < channels; channel++, offset += bytesPerSample) {
+                sum += sample(block, offset, format, bitsPerSample);
+            }
+            samples[decoded] = sum / channels;
+        }
+        return new PcmAudio(decoded == samples.length ? samples : Arrays.copyOf(samples, decoded), sampleRate);
+    }
+
+    /**
+     * Whether {@code header} (at least the first 12 bytes of a file) starts a RIFF/WAVE container.
+     */
+    public static boolean isWav(byte[] header) {
+        return header.length >= 12
+                && header[0] == 'R' && header[1] == 'I' && header[2] == 'F' && header[3] == 'F'
+                && header[8] == 'W' && header[9] == 'A' && header[10] == 'V' && header[11] == 'E';
+    }
+
+    private static float sample(byte[] block, int offset, int format, int bitsPerSample) {
+        if (format == FORMAT_FLOAT) {
+            return Float.intBitsToFloat(littleEndianInt(block, offset));
+        }
+        return switch (bitsPerSample) {
+            case 8 -> ((block[offset] & 0xFF) - 128) / 128f;
+            case 16 -> (short) ((block[offset] & 0xFF) | (block[offset + 1] << 8)) / 32768f;
+            case 24 -> (((block[offset] & 0xFF) | ((block[offset + 1] & 0xFF) << 8) | (block[offset + 2] << 16))) / 8388608f;
+            default -> littleEndianInt(block, offset) / 2147483648f;
+        };
+    }
+
+    private static int littleEndianInt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) | ((bytes[offset + 1] & 0xFF) << 8)
+                | ((bytes[offset + 2] & 0xFF) << 16) | (bytes[offset + 3] << 24);
+    }
+
+    private static int readTag(InputStream input) throws IOException {
+        return readInt(input);
+    }
+
+    private static int tag(String name) {
+        return name.charAt(0) | (name.charAt(1) << 8) | (name.charAt(2) << 16) | (name.charAt(3) << 24);
+    }
+
+    private static int readInt(InputStream input) throws IOException {
+        return readShort(input) | (readShort(input) << 16);
+    }
+
+    private static int readShort(InputStream input) throws IOException {
+        int low = input.read();
+        int high = input.read();
+        if ((low | high) < 0) {
+            throw new InvalidVoiceInputException("Truncated WAV header");
+        }
+        return low | (high << 8);
+    }
+
+    private static void skip(InputStream input, long count) throws IOException {
+        try {
+            input.skipNBytes(count);
+        } catch (EOFException e) {
+            throw new InvalidVoiceInputException("Truncated WAV file");
+        }
+    }
+}
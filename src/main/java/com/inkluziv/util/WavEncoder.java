@@ -0,0 +1,30 @@
+package com.inkluziv.util;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Writes mono audio as a canonical 44-byte-header, 16-bit PCM WAV file.
+ */
+public final class WavEncoder {
+
+    private static final int HEADER_BYTES = 44;
+
+    private WavEncoder() {
+    }
+
+    public static byte[] encodePcm16(PcmAudio audio) {
+        float[] samples = audio.samples();
+        int dataBytes = samples.length * 2;
+        ByteBuffer wav = ByteBuffer.allocate(HEADER_BYTES + dataBytes).order(ByteOrder.LITTLE_ENDIAN);
+        wav.putInt(0x46464952).putInt(HEADER_BYTES - 8 + dataBytes).putInt(0x45564157);
+        wav.putInt(0x20746d66).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(audio.sampleRate()).putInt(audio.sampleRate() * 2).putShort((short) 2).putShort((short) 16);
+        wav.putInt(0x61746164).putInt(dataBytes);
+        for (float sample : samples) {
+            float clipped = Math.max(-1f, Math.min(1f, sample));
+            wav.putShort((short) Math.round(clipped * 32767f));
+        }
+        return wav.array();
+    }
+}
@@ -0,0 +1,106 @@
+package com.inkluziv.inkluziv.benchmark;
+
+import com.inkluziv.util.EmailTemplate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the OTP email the way {@code EmailServiceImpl} used to, with {@code String.formatted} over a text block,
+ * and with the precompiled {@code templates/email/otp.html}. Run with
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     com.inkluziv.inkluziv.benchmark.EmailTemplateBenchmark
+ * </pre>
+ * {@link #main} fails if the compiled template is not faster than formatting.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EmailTemplateBenchmark {
+
+    private static final String OTP_EXPIRY = "2 minutes";
+
+    private EmailTemplate template;
+    private String otp;
+
+    @Setup
+    public void setUp() throws IOException {
+        try (InputStream source = EmailTemplateBenchmark.class.getResourceAsStream("/templates/email/otp.html")) {
+            template = EmailTemplate.compile("otp", new String(source.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        otp = "482913";
+    }
+
+    @Benchmark
+    public String formatted() {
+        return """
+                <!DOCTYPE html>
+                <html>
+                <head>
+                    <meta charset="UTF-8">
+                    <title>Your OTP Code</title>
+                </head>
+                <body style="font-family: Arial, sans-serif;">
+                    <div style="max-width: 600px; margin: auto; padding: 20px; background-color: #f4f4f4; border-radius: 10px;">
+                        <h2 style="color: #333;">Your One-Time Password (OTP)</h2>
+                        <p>Please use the OTP below to complete your action:</p>
+                        <p style="font-size: 24px; font-weight: bold; color: #007BFF;">%s</p>
+                        <p>This OTP is valid for <strong>%s</strong>.</p>
+                        <p>If you did not request this, you can safely ignore this email.</p>
+                        <br/>
+                        <p>Regards,<br/>SkillNest Team</p>
+                    </div>
+                </body>
+                </html>
+                """.formatted(otp, OTP_EXPIRY);
+    }
+
+    @Benchmark
+    public String compiled() {
+        return template.render(Map.of("otp", otp, "expiry", OTP_EXPIRY));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(EmailTemplateBenchmark.class.getSimpleName())
+                .build()).run();
+        double formatted = score(results, "formatted");
+        double compiled = score(results, "compiled");
+        System.out.printf("formatted %.0f ns, compiled %.0f ns (%.1fx)%n", formatted, compiled, formatted / compiled);
+        if (compiled >= formatted) {
+            throw new IllegalStateException("Compiled template (" + compiled + " ns) is not faster than String.formatted (" + formatted + " ns)");
+        }
+    }
+
+    private static double score(Collection<RunResult> results, String benchmark) {
+        return results.stream()
+                .filter(result -> result.getParams().getBenchmark().endsWith("." + benchmark))
+                .findFirst()
+                .orElseThrow()
+                .getPrimaryResult()
+                .getScore();
+    }
+}
@@ -0,0 +1,78 @@
+package com.inkluziv.inkluziv.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calibrates {@code security.password.bcrypt.strength}: times one login verification at each candidate cost on the
+ * machine it runs on. Run on the deployed hardware with
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -Dhash.target.millis=100 -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     com.inkluziv.inkluziv.benchmark.PasswordHashingBenchmark
+ * </pre>
+ * {@link #main} prints the highest cost whose average stays within {@code -Dhash.target.millis} (100 by default)
+ * and the password logins per second that cost leaves the hashing pool, one thread per core. It fails when even the
+ * lowest candidate is over the target.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"8", "9", "10", "11", "12", "13"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hash = encoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(PASSWORD, hash);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double targetMillis = Double.parseDouble(System.getProperty("hash.target.millis", "100"));
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(PasswordHashingBenchmark.class.getSimpleName())
+                .build()).run();
+        RunResult chosen = results.stream()
+                .filter(result -> result.getPrimaryResult().getScore() <= targetMillis)
+                .max(Comparator.comparingInt(result -> Integer.parseInt(result.getParams().getParam("strength"))))
+                .orElseThrow(() -> new IllegalStateException("Every bcrypt cost is over the " + targetMillis + " ms target"));
+
+        double millisPerHash = chosen.getPrimaryResult().getScore();
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("security.password.bcrypt.strength=%s  (%.1f ms per hash, about %.0f password logins/s on %d cores)%n",
+                chosen.getParams().getParam("strength"), millisPerHash, cores * 1000.0 / millisPerHash, cores);
+    }
+}
@@ -0,0 +1,106 @@
+package com.inkluziv.inkluziv.benchmark;
+
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.ScoreCohort;
+import com.inkluziv.util.SimilarityEngine;
+import com.inkluziv.util.VectorSimilarityEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the cohort work one normalized login adds: scoring the probe and the enrollment centroid against the
+ * whole cohort, then AS-norm selection. Run with
+ * <pre>
+ * mvn -B test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java --add-modules jdk.incubator.vector -cp target/test-classes:target/classes:$(cat target/test-classpath.txt) \
+ *     com.inkluziv.inkluziv.benchmark.ScoreCohortBenchmark
+ * </pre>
+ * {@link #main} fails when any configuration averages more than {@code -Dcohort.budget.micros} (1000 by default),
+ * the share of the login latency budget set aside for score normalization.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class ScoreCohortBenchmark {
+
+    @Param({"200", "1000"})
+    private int cohortSize;
+
+    @Param({"40", "192"})
+    private int dimension;
+
+    @Param({"scalar", "vector"})
+    private String engineName;
+
+    private SimilarityEngine engine;
+    private ScoreCohort cohort;
+    private float[] probe;
+    private float[] centroid;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(17);
+        List<float[]> impostors = new ArrayList<>(cohortSize);
+        for (int i = 0; i < cohortSize; i++) {
+            impostors.add(randomVector(random));
+        }
+        engine = engineName.equals("vector") ? new VectorSimilarityEngine() : new ScalarSimilarityEngine();
+        cohort = ScoreCohort.of(impostors);
+        probe = engine.normalize(randomVector(random));
+        centroid = engine.normalize(randomVector(random));
+    }
+
+    @Benchmark
+    public double sNormLogin() {
+        return ScoreCohort.sNorm(0.9, cohort.statistics(engine, centroid, 0), cohort.statistics(engine, probe, 0));
+    }
+
+    @Benchmark
+    public double asNormLogin() {
+        return ScoreCohort.sNorm(0.9, cohort.statistics(engine, centroid, 100), cohort.statistics(engine, probe, 100));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        double budgetMicros = Double.parseDouble(System.getProperty("cohort.budget.micros", "1000"));
+        Collection<RunResult> results = new Runner(new OptionsBuilder()
+                .include(ScoreCohortBenchmark.class.getSimpleName())
+                .build()).run();
+        for (RunResult result : results) {
+            double averageMicros = result.getPrimaryResult().getScore();
+            if (averageMicros > budgetMicros) {
+                throw new IllegalStateException(result.getParams().getBenchmark() + " " + result.getParams()
+                        + " averaged " + averageMicros + " us, over the " + budgetMicros + " us budget");
+            }
+        }
+    }
+
+    private float[] randomVector(Random random) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
@@ -0,0 +1,109 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.service.EmailDispatcherImpl;
+import com.inkluziv.util.SmtpTransportPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OTP burst against a local SMTP stand-in whose greeting is delayed to stand in for connect, STARTTLS and AUTH.
+ * The default run checks that the pooled, batched dispatcher delivers the whole burst within its connection bound.
+ * The timing comparison with one connection per message, as {@code JavaMailSender.send} did, is tagged
+ * {@code load} and excluded by default; run it with {@code mvn test -Dtest.excluded-groups= -Dgroups=load}.
+ */
+class EmailDispatchLoadTest {
+
+    private static final int MESSAGES = 200;
+    private static final int CONCURRENCY = 4;
+    private static final Duration HANDSHAKE = Duration.ofMillis(25);
+
+    @Test
+    void pooledBatchedDispatch_DeliversBurstWithinConnectionBound() throws Exception {
+        try (StubSmtpServer smtpServer = new StubSmtpServer()) {
+            smtpServer.delayGreeting(HANDSHAKE);
+            sendThroughDispatcher(smtpServer);
+            assertEquals(MESSAGES, smtpServer.recipients().size());
+            assertTrue(smtpServer.connections() <= CONCURRENCY);
+        }
+    }
+
+    @Test
+    @Tag("load")
+    void pooledBatchedDispatch_OutpacesConnectionPerMessage() throws Exception {
+        long perMessageNanos;
+        try (StubSmtpServer smtpServer = new StubSmtpServer()) {
+            smtpServer.delayGreeting(HANDSHAKE);
+            perMessageNanos = sendWithConnectionPerMessage(smtpServer);
+            assertEquals(MESSAGES, smtpServer.connections());
+        }
+
+        long pooledNanos;
+        try (StubSmtpServer smtpServer = new StubSmtpServer()) {
+            smtpServer.delayGreeting(HANDSHAKE);
+            pooledNanos = sendThroughDispatcher(smtpServer);
+        }
+
+        assertTrue(pooledNanos * 2 < perMessageNanos);
+    }
+
+    private long sendWithConnectionPerMessage(StubSmtpServer smtpServer) throws Exception {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("127.0.0.1");
+        mailSender.setPort(smtpServer.port());
+        ExecutorService senders = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            long started = System.nanoTime();
+            List<Future<?>> sends = new ArrayList<>(MESSAGES);
+            for (int i = 0; i < MESSAGES; i++) {
+                String to = "user" + i + "@example.com";
+                sends.add(senders.submit(() -> {
+                    MimeMessage message = mailSender.createMimeMessage();
+                    MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
+                    helper.setFrom("noreply@example.com");
+                    helper.setTo(to);
+                    helper.setSubject("Your OTP Code");
+                    helper.setText("<p>123456</p>", true);
+                    mailSender.send(message);
+                    return null;
+                }));
+            }
+            for (Future<?> send : sends) {
+                send.get();
+            }
+            return System.nanoTime() - started;
+        } finally {
+            senders.shutdownNow();
+        }
+    }
+
+    private long sendThroughDispatcher(StubSmtpServer smtpServer) throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        try (SmtpTransportPool transportPool = EmailDispatcherImplTest.transportPool(smtpServer, CONCURRENCY, Duration.ofSeconds(2))) {
+            EmailDispatcherImpl emailDispatcher = EmailDispatcherImplTest.emailDispatcher(transportPool, meterRegistry, CONCURRENCY, 20);
+            emailDispatcher.start();
+            try {
+                long started = System.nanoTime();
+                for (int i = 0; i < MESSAGES; i++) {
+                    emailDispatcher.dispatch("user" + i + "@example.com", "Your OTP Code", "<p>123456</p>");
+                }
+                EmailDispatcherImplTest.await(() -> smtpServer.recipients().size() == MESSAGES);
+                return System.nanoTime() - started;
+            } finally {
+                emailDispatcher.stop();
+            }
+        }
+    }
+}
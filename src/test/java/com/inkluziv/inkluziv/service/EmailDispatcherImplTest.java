@@ -0,0 +1,188 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.exception.EmailNotSentException;
+import com.inkluziv.service.EmailDispatcherImpl;
+import com.inkluziv.util.SmtpTransportPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailDispatcherImplTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StubSmtpServer smtpServer;
+    private SmtpTransportPool transportPool;
+    private EmailDispatcherImpl emailDispatcher;
+
+    static SmtpTransportPool transportPool(StubSmtpServer smtpServer, int maxConnections, Duration validateAfterIdle) {
+        Properties properties = new Properties();
+        properties.put("mail.transport.protocol", "smtp");
+        properties.put("mail.smtp.connectiontimeout", 5000);
+        properties.put("mail.smtp.timeout", 5000);
+        return new SmtpTransportPool(Session.getInstance(properties), "127.0.0.1", smtpServer.port(), null, null,
+                maxConnections, 100, Duration.ofMinutes(1), validateAfterIdle);
+    }
+
+    static EmailDispatcherImpl emailDispatcher(SmtpTransportPool transportPool, SimpleMeterRegistry meterRegistry,
+                                               int workers, int batchSize) {
+        EmailDispatcherImpl emailDispatcher = new EmailDispatcherImpl(transportPool, meterRegistry);
+        ReflectionTestUtils.setField(emailDispatcher, "fromEmail", "noreply@example.com");
+        ReflectionTestUtils.setField(emailDispatcher, "queueCapacity", 10_000);
+        ReflectionTestUtils.setField(emailDispatcher, "workers", workers);
+        ReflectionTestUtils.setField(emailDispatcher, "batchSize", batchSize);
+        ReflectionTestUtils.setField(emailDispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(emailDispatcher, "initialBackoff", Duration.ofMillis(5));
+        ReflectionTestUtils.setField(emailDispatcher, "maxBackoff", Duration.ofMillis(20));
+        ReflectionTestUtils.setField(emailDispatcher, "shutdownGrace", Duration.ofSeconds(5));
+        return emailDispatcher;
+    }
+
+    static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met within 10s");
+            }
+            Thread.sleep(5);
+        }
+    }
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtpServer = new StubSmtpServer();
+        transportPool = transportPool(smtpServer, 2, Duration.ZERO);
+        emailDispatcher = emailDispatcher(transportPool, meterRegistry, 2, 20);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        emailDispatcher.stop();
+        transportPool.close();
+        smtpServer.close();
+    }
+
+    @Test
+    void dispatch_DeliversInBackgroundOverPooledConnections() throws InterruptedException {
+        // Arrange
+        emailDispatcher.start();
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            emailDispatcher.dispatch("user" + i + "@example.com", "Your OTP Code", "<p>123456</p>");
+        }
+
+        // Assert
+        await(() -> meterRegistry.get("email.dispatch.sent").counter().count() == 50.0);
+        assertEquals(50, smtpServer.recipients().size());
+        assertTrue(smtpServer.connections() <= 2);
+    }
+
+    @Test
+    void dispatch_TransientFailure_RetriesWithBackoff() throws InterruptedException {
+        // Arrange
+        smtpServer.failNextMessages(2);
+        emailDispatcher.start();
+
+        // Act
+        emailDispatcher.dispatch("test@example.com", "Your OTP Code", "<p>123456</p>");
+
+        // Assert
+        await(() -> smtpServer.recipients().contains("test@example.com"));
+        assertEquals(2.0, meterRegistry.get("email.dispatch.retried").counter().count());
+        assertEquals(0.0, meterRegistry.get("email.dispatch.dead-lettered").counter().count());
+    }
+
+    @Test
+    void dispatch_RejectedRecipient_DeadLettersWithoutRetry() throws InterruptedException {
+        // Arrange
+        emailDispatcher.start();
+
+        // Act
+        emailDispatcher.dispatch("invalid@example.com", "Your OTP Code", "<p>123456</p>");
+        emailDispatcher.dispatch("test@example.com", "Your OTP Code", "<p>654321</p>");
+
+        // Assert
+        await(() -> smtpServer.recipients().contains("test@example.com"));
+        await(() -> meterRegistry.get("email.dispatch.dead-lettered").counter().count() == 1.0);
+        assertEquals(0.0, meterRegistry.get("email.dispatch.retried").counter().count());
+        assertEquals(List.of("test@example.com"), smtpServer.recipients());
+    }
+
+    @Test
+    void dispatch_ServerDroppedConnection_Reconnects() throws Exception {
+        // Arrange
+        emailDispatcher.start();
+        emailDispatcher.dispatch("first@example.com", "Your OTP Code", "<p>123456</p>");
+        await(() -> smtpServer.recipients().size() == 1);
+        await(() -> transportPool.idleConnections() == 1);
+
+        // Act
+        smtpServer.dropConnections();
+        emailDispatcher.dispatch("second@example.com", "Your OTP Code", "<p>654321</p>");
+
+        // Assert
+        await(() -> smtpServer.recipients().size() == 2);
+        assertEquals(2, smtpServer.connections());
+        assertEquals(0.0, meterRegistry.get("email.dispatch.dead-lettered").counter().count());
+    }
+
+    @Test
+    void dispatch_MessageThatCannotBeBuilt_DeadLettersAndWorkerSurvives() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(emailDispatcher, "workers", 1);
+        ReflectionTestUtils.setField(emailDispatcher, "queueCapacity", 1);
+        emailDispatcher.start();
+
+        // Act
+        emailDispatcher.dispatch("first@example.com", "Your OTP Code", null);
+        await(() -> meterRegistry.get("email.dispatch.dead-lettered").counter().count() == 1.0);
+        emailDispatcher.dispatch("second@example.com", "Your OTP Code", "<p>654321</p>");
+
+        // Assert
+        await(() -> smtpServer.recipients().contains("second@example.com"));
+        assertEquals(List.of("second@example.com"), smtpServer.recipients());
+    }
+
+    @Test
+    void dispatch_QueueFull_RejectsImmediately() {
+        // Arrange
+        ReflectionTestUtils.setField(emailDispatcher, "workers", 0);
+        ReflectionTestUtils.setField(emailDispatcher, "queueCapacity", 1);
+        emailDispatcher.start();
+        emailDispatcher.dispatch("first@example.com", "Your OTP Code", "<p>123456</p>");
+
+        // Act & Assert
+        assertThrows(EmailNotSentException.class,
+                () -> emailDispatcher.dispatch("second@example.com", "Your OTP Code", "<p>654321</p>"));
+        assertEquals(1.0, meterRegistry.get("email.dispatch.rejected").counter().count());
+        assertEquals(1.0, meterRegistry.get("email.dispatch.queue.depth").gauge().value());
+    }
+
+    @Test
+    void dispatch_MessageAwaitingRetryHoldsItsSlotUntilSent() throws InterruptedException {
+        // Arrange
+        ReflectionTestUtils.setField(emailDispatcher, "queueCapacity", 1);
+        smtpServer.failNextMessages(2);
+        emailDispatcher.start();
+        emailDispatcher.dispatch("first@example.com", "Your OTP Code", "<p>123456</p>");
+
+        // Act & Assert
+        assertThrows(EmailNotSentException.class,
+                () -> emailDispatcher.dispatch("second@example.com", "Your OTP Code", "<p>654321</p>"));
+        await(() -> meterRegistry.get("email.dispatch.sent").counter().count() == 1.0);
+        emailDispatcher.dispatch("second@example.com", "Your OTP Code", "<p>654321</p>");
+        await(() -> smtpServer.recipients().contains("second@example.com"));
+        assertEquals(2.0, meterRegistry.get("email.dispatch.retried").counter().count());
+    }
+}
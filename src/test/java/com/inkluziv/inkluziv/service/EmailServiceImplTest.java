@@ -0,0 +1,77 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.service.EmailDispatcher;
+import com.inkluziv.service.EmailServiceImpl;
+import com.inkluziv.service.EmailTemplateService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailServiceImplTest {
+
+    @Mock
+    private EmailDispatcher emailDispatcher;
+
+    @Mock
+    private EmailTemplateService emailTemplateService;
+
+    @InjectMocks
+    private EmailServiceImpl emailService;
+
+    @Test
+    void sendEmail_StatesPartialMinutesInSeconds() {
+        // Arrange
+        ReflectionTestUtils.setField(emailService, "otpTtl", Duration.ofSeconds(90));
+
+        // Act
+        emailService.sendEmail("test@example.com", "123456");
+
+        // Assert
+        verify(emailTemplateService).render("otp", Map.of("otp", "123456", "expiry", "1 minute 30 seconds"));
+    }
+
+    @Test
+    void sendResetPasswordEmail_StatesSecondsBelowAMinute() {
+        // Arrange
+        ReflectionTestUtils.setField(emailService, "otpTtl", Duration.ofSeconds(45));
+
+        // Act
+        emailService.sendResetPasswordEmail("test@example.com", "654321");
+
+        // Assert
+        verify(emailTemplateService).render("reset-password", Map.of("otp", "654321", "expiry", "45 seconds"));
+    }
+
+    @Test
+    void sendEmail_RoundsPartialSecondsDown() {
+        // Arrange
+        ReflectionTestUtils.setField(emailService, "otpTtl", Duration.ofMillis(59_900));
+
+        // Act
+        emailService.sendEmail("test@example.com", "123456");
+
+        // Assert
+        verify(emailTemplateService).render("otp", Map.of("otp", "123456", "expiry", "59 seconds"));
+    }
+
+    @Test
+    void sendEmail_SingleMinuteIsSingular() {
+        // Arrange
+        ReflectionTestUtils.setField(emailService, "otpTtl", Duration.ofMinutes(1));
+
+        // Act
+        emailService.sendEmail("test@example.com", "123456");
+
+        // Assert
+        verify(emailTemplateService).render("otp", Map.of("otp", "123456", "expiry", "1 minute"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.service.EmailTemplateServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateServiceImplTest {
+
+    private final EmailTemplateServiceImpl emailTemplateService = new EmailTemplateServiceImpl();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(emailTemplateService, "templatesLocation", "classpath*:templates/email/*.html");
+        emailTemplateService.init();
+    }
+
+    @Test
+    void render_ShippedTemplatesCompileAndRender() {
+        // Act
+        String otp = emailTemplateService.render("otp", Map.of("otp", "123456", "expiry", "2 minutes"));
+        String alert = emailTemplateService.render("security-alert", Map.of("event", "New login", "time", "12:00"));
+        String receipt = emailTemplateService.render("transaction-receipt", Map.of("transactionType", "transfer",
+                "amount", "NGN 5,000.00", "reference", "TX-1", "date", "2026-10-17", "balance", "NGN 20,000.00"));
+
+        // Assert
+        assertTrue(otp.contains("<p style=\"font-size: 24px; font-weight: bold; color: #007BFF;\">123456</p>"));
+        assertTrue(otp.contains("<strong>2 minutes</strong>"));
+        assertTrue(alert.contains("New login"));
+        assertTrue(receipt.contains("TX-1"));
+        assertTrue(emailTemplateService.render("reset-password", Map.of("otp", "654321", "expiry", "2 minutes")).contains("654321"));
+    }
+
+    @Test
+    void render_UnknownTemplate_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> emailTemplateService.render("missing", Map.of()));
+    }
+}
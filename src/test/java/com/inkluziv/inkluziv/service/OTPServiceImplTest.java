@@ -0,0 +1,107 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.dto.response.OTPResponse;
+import com.inkluziv.exception.InvalidOtpException;
+import com.inkluziv.service.EmailService;
+import com.inkluziv.service.OTPServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OTPServiceImplTest {
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private EmailService emailService;
+
+    @InjectMocks
+    private OTPServiceImpl otpService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(otpService, "otpTtl", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(otpService, "maxAttempts", 5);
+        ReflectionTestUtils.setField(otpService, "attemptsWindow", Duration.ofMinutes(15));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendOtp_StoresHashedCodeWithTtl() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString())).thenReturn(1L);
+
+        // Act
+        OTPResponse response = otpService.sendOtp("Test@Example.com");
+
+        // Assert
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        ArgumentCaptor<Object> digest = ArgumentCaptor.forClass(Object.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), digest.capture(), eq("120000"), eq("5"));
+        String key = keys.getValue().get(0);
+        assertTrue(key.startsWith("otp:code:"));
+        assertTrue(keys.getValue().get(1).startsWith("otp:attempts:"));
+        assertFalse(key.contains("example"));
+        assertNotEquals(response.getOtp(), digest.getValue());
+        assertEquals("Test@Example.com", response.getEmail());
+        verify(emailService).sendEmail("Test@Example.com", response.getOtp());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendOtp_EmailFailure_RemovesCode() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), anyString(), anyString())).thenReturn(1L);
+        doThrow(new IllegalStateException("smtp down")).when(emailService).sendEmail(eq("test@example.com"), anyString());
+
+        // Act & Assert
+        assertThrows(RuntimeException.class, () -> otpService.sendOtp("test@example.com"));
+        ArgumentCaptor<List<String>> keys = ArgumentCaptor.forClass(List.class);
+        verify(redisTemplate).execute(any(RedisScript.class), keys.capture(), any(), any(), any());
+        verify(redisTemplate).delete(keys.getValue().get(0));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void verifyOtp_Success() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), eq("5"), eq("900000"))).thenReturn(1L);
+
+        // Act
+        OTPResponse response = otpService.verifyOtp("test@example.com", "123456");
+
+        // Assert
+        assertEquals("OTP verified successfully", response.getMessage());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void verifyOtp_RejectsWrongMissingAndExhaustedCodes() {
+        // Arrange
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyString(), eq("5"), eq("900000"))).thenReturn(0L, -1L, -2L);
+
+        // Act & Assert
+        assertEquals("Invalid OTP or email",
+                assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp("test@example.com", "000000")).getMessage());
+        assertEquals("OTP is invalid or has expired",
+                assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp("test@example.com", "000000")).getMessage());
+        assertEquals("Too many invalid attempts, try again later",
+                assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp("test@example.com", "000000")).getMessage());
+    }
+}
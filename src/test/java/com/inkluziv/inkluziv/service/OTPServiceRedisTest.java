@@ -0,0 +1,117 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.exception.InvalidOtpException;
+import com.inkluziv.service.EmailService;
+import com.inkluziv.service.OTPServiceImpl;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs the OTP Lua scripts against a real Redis. Skipped where Docker is not available.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class OTPServiceRedisTest {
+
+    private static final String EMAIL = "test@example.com";
+
+    @Container
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final AtomicReference<String> lastSentOtp = new AtomicReference<>();
+    private OTPServiceImpl otpService;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration(REDIS.getHost(), REDIS.getMappedPort(6379)));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate.execute(connection -> {
+            connection.serverCommands().flushAll();
+            return null;
+        }, true);
+        EmailService emailService = mock(EmailService.class);
+        doAnswer(invocation -> {
+            lastSentOtp.set(invocation.getArgument(1));
+            return null;
+        }).when(emailService).sendEmail(eq(EMAIL), anyString());
+        otpService = new OTPServiceImpl(redisTemplate, emailService);
+        ReflectionTestUtils.setField(otpService, "otpTtl", Duration.ofMinutes(2));
+        ReflectionTestUtils.setField(otpService, "maxAttempts", 3);
+        ReflectionTestUtils.setField(otpService, "attemptsWindow", Duration.ofMinutes(15));
+    }
+
+    @Test
+    void verifyOtp_AcceptsCodeOnce() {
+        // Arrange
+        String otp = otpService.sendOtp(EMAIL).getOtp();
+
+        // Act & Assert
+        assertEquals("OTP verified successfully", otpService.verifyOtp(EMAIL, otp).getMessage());
+        assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp(EMAIL, otp));
+    }
+
+    @Test
+    void verifyOtp_AttemptsSurviveReissue() {
+        // Arrange
+        otpService.sendOtp(EMAIL);
+        String wrong = "not-a-code";
+
+        // Act
+        assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp(EMAIL, wrong));
+        assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp(EMAIL, wrong));
+        otpService.sendOtp(EMAIL);
+        String reissued = lastSentOtp.get();
+        InvalidOtpException exhausted = assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp(EMAIL, wrong));
+
+        // Assert
+        assertEquals("Too many invalid attempts, try again later", exhausted.getMessage());
+        assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp(EMAIL, reissued));
+        assertThrows(InvalidOtpException.class, () -> otpService.sendOtp(EMAIL));
+        Long window = redisTemplate.getExpire(redisTemplate.keys("otp:attempts:*").iterator().next());
+        assertTrue(window != null && window > 0);
+    }
+
+    @Test
+    void deleteOtp_DropsOnlyTheMatchingCode() {
+        // Arrange
+        String otp = otpService.sendOtp(EMAIL).getOtp();
+
+        // Act
+        otpService.deleteOtp(EMAIL, "other");
+        otpService.deleteOtp(EMAIL, otp);
+
+        // Assert
+        assertEquals("OTP is invalid or has expired",
+                assertThrows(InvalidOtpException.class, () -> otpService.verifyOtp(EMAIL, otp)).getMessage());
+    }
+}
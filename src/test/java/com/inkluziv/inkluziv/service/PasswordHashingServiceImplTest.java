@@ -0,0 +1,102 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.exception.PasswordHashingOverloadedException;
+import com.inkluziv.service.PasswordHashingServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class PasswordHashingServiceImplTest {
+
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ThreadPoolExecutor executor;
+    private PasswordHashingServiceImpl passwordHashingService;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                new ThreadPoolExecutor.AbortPolicy());
+        passwordHashingService = new PasswordHashingServiceImpl(passwordEncoder, executor, meterRegistry);
+        ReflectionTestUtils.setField(passwordHashingService, "retryAfterSeconds", 2L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void encode_RunsOnExecutorAndRecordsQueueWait() {
+        // Arrange
+        when(passwordEncoder.encode("secret")).thenReturn("hash");
+
+        // Act
+        String encoded = passwordHashingService.encode("secret");
+
+        // Assert
+        assertEquals("hash", encoded);
+        assertEquals(1, meterRegistry.get("security.password.hashing.queue.wait").tag("operation", "encode").timer().count());
+        assertEquals(1, meterRegistry.get("security.password.hashing.duration").tag("operation", "encode").timer().count());
+    }
+
+    @Test
+    void init_HashesDummyPasswordWithCurrentEncoder() {
+        // Arrange
+        when(passwordEncoder.encode(anyString())).thenReturn("{bcrypt}dummy");
+
+        // Act
+        passwordHashingService.init();
+
+        // Assert
+        assertEquals("{bcrypt}dummy", passwordHashingService.dummyHash());
+    }
+
+    @Test
+    void matches_QueueFull_ShedsWithRetryAfter() throws InterruptedException {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        running.await();
+        executor.execute(() -> { });
+
+        // Act & Assert
+        PasswordHashingOverloadedException exception = assertThrows(PasswordHashingOverloadedException.class,
+                () -> passwordHashingService.matches("secret", "hash"));
+        assertEquals(2L, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("security.password.hashing.rejected").tag("operation", "matches").counter().count());
+        verifyNoInteractions(passwordEncoder);
+        release.countDown();
+    }
+
+    @Test
+    void matches_EncoderFailure_PropagatesCause() {
+        // Arrange
+        when(passwordEncoder.matches("secret", "hash")).thenThrow(new IllegalArgumentException("bad hash"));
+
+        // Act & Assert
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> passwordHashingService.matches("secret", "hash"));
+        assertEquals("bad hash", exception.getMessage());
+    }
+}
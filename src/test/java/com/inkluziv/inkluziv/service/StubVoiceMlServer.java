@@ -0,0 +1,89 @@
+package com.inkluziv.inkluziv.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * In-process stand-in for the Python voice ML service. Both endpoints answer with one result per {@code audio}
+ * part whose {@code file_id} is the part's filename, so callers can check results were fanned back in order.
+ */
+class StubVoiceMlServer implements AutoCloseable {
+
+    private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]*)\"");
+
+    record Received(String path, String contentLength, String transferEncoding, byte[] body, List<String> filenames) {
+    }
+
+    private final HttpServer server;
+    private final List<Received> requests = new CopyOnWriteArrayList<>();
+    private volatile int status = 200;
+    private volatile boolean batchEndpoint = true;
+
+    StubVoiceMlServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/extract-embedding", exchange -> handle(exchange, false));
+        server.createContext("/extract-embeddings", exchange -> handle(exchange, true));
+        server.start();
+    }
+
+    String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    List<Received> requests() {
+        return requests;
+    }
+
+    void respondWith(int status) {
+        this.status = status;
+    }
+
+    void withoutBatchEndpoint() {
+        this.batchEndpoint = false;
+    }
+
+    private void handle(HttpExchange exchange, boolean batch) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        Matcher matcher = FILENAME.matcher(new String(body, StandardCharsets.ISO_8859_1));
+        List<String> filenames = new CopyOnWriteArrayList<>();
+        while (matcher.find()) {
+            filenames.add(matcher.group(1));
+        }
+        requests.add(new Received(exchange.getRequestURI().getPath(),
+                exchange.getRequestHeaders().getFirst("Content-Length"),
+                exchange.getRequestHeaders().getFirst("Transfer-Encoding"), body, filenames));
+
+        int responseStatus = batch && !batchEndpoint ? 404 : status;
+        String json;
+        if (batch) {
+            json = "{\"results\":[" + String.join(",", filenames.stream().map(StubVoiceMlServer::result).toList()) + "]}";
+        } else {
+            json = filenames.isEmpty() ? "{}" : result(filenames.get(0));
+        }
+        byte[] response = json.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(responseStatus, response.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(response);
+        }
+    }
+
+    private static String result(String fileId) {
+        return "{\"file_id\":\"" + fileId + "\",\"embedding\":[0.5,0.25],\"feature_count\":2}";
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
@@ -0,0 +1,127 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.service.TokenBlacklistServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenBlacklistServiceImplTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private TokenBlacklistServiceImpl tokenBlacklistService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(tokenBlacklistService, "expectedRevocations", 1000L);
+        ReflectionTestUtils.setField(tokenBlacklistService, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(tokenBlacklistService, "epochCacheTtl", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(tokenBlacklistService, "epochCacheMaxSize", 100L);
+        tokenBlacklistService.init();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void isRevoked_UnrevokedTokenSkipsBlacklistLookup() {
+        // Act
+        boolean first = tokenBlacklistService.isRevoked(TOKEN, "user-1", Instant.now());
+        boolean second = tokenBlacklistService.isRevoked(TOKEN, "user-1", Instant.now());
+
+        // Assert
+        assertFalse(first);
+        assertFalse(second);
+        verify(redisTemplate, never()).hasKey(anyString());
+        verify(valueOperations, times(1)).get("user_tokens:user-1");
+    }
+
+    @Test
+    void isRevoked_LoggedOutTokenConfirmedInRedis() {
+        // Arrange
+        when(redisTemplate.hasKey("blacklisted_token:" + TOKEN)).thenReturn(true);
+
+        // Act
+        tokenBlacklistService.blacklistToken(TOKEN);
+
+        // Assert
+        assertTrue(tokenBlacklistService.isRevoked(TOKEN, "user-1", Instant.now()));
+        verify(redisTemplate).convertAndSend(TokenBlacklistServiceImpl.REVOCATION_CHANNEL, "token:signature");
+    }
+
+    @Test
+    void isRevoked_AppliesRevocationsBroadcastByOtherNodes() {
+        // Arrange
+        Instant issuedAt = Instant.now().minusSeconds(60);
+        when(redisTemplate.hasKey("blacklisted_token:" + TOKEN)).thenReturn(true);
+
+        // Act
+        tokenBlacklistService.onRevocationBroadcast("token:signature");
+        tokenBlacklistService.onRevocationBroadcast("user:user-2:" + System.currentTimeMillis());
+
+        // Assert
+        assertTrue(tokenBlacklistService.isRevoked(TOKEN, "user-1", issuedAt));
+        assertTrue(tokenBlacklistService.isRevoked("header.payload.other", "user-2", issuedAt));
+        assertFalse(tokenBlacklistService.isRevoked("header.payload.other", "user-2", Instant.now().plusSeconds(1)));
+        verify(valueOperations, never()).get("user_tokens:user-2");
+    }
+
+    @Test
+    void isRevoked_ComparesLogoutEpochAtIssuedAtSecondGranularity() {
+        // Arrange
+        when(valueOperations.get("user_tokens:user-1")).thenReturn("1700000000750");
+
+        // Act & Assert
+        assertTrue(tokenBlacklistService.isRevoked(TOKEN, "user-1", Instant.ofEpochSecond(1_699_999_999)));
+        assertTrue(tokenBlacklistService.isRevoked(TOKEN, "user-1", Instant.ofEpochSecond(1_700_000_000)));
+        assertFalse(tokenBlacklistService.isRevoked(TOKEN, "user-1", Instant.ofEpochSecond(1_700_000_001)));
+    }
+
+    @Test
+    void isRevoked_RedisDownWhenReadingLogoutEpochRejectsToken() {
+        // Arrange
+        when(valueOperations.get("user_tokens:user-1")).thenThrow(new RedisConnectionFailureException("down"));
+
+        // Act & Assert
+        assertTrue(tokenBlacklistService.isRevoked(TOKEN, "user-1", Instant.now()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rebuildRevocationFilter_LoadsRevocationsFromRedis() {
+        // Arrange
+        Cursor<String> keys = mock(Cursor.class);
+        when(keys.hasNext()).thenReturn(true, false);
+        when(keys.next()).thenReturn("blacklisted_token:" + TOKEN);
+        when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(keys);
+        when(redisTemplate.hasKey("blacklisted_token:" + TOKEN)).thenReturn(true);
+
+        // Act
+        tokenBlacklistService.rebuildRevocationFilter();
+
+        // Assert
+        assertTrue(tokenBlacklistService.isRevoked(TOKEN, null, null));
+    }
+}
@@ -0,0 +1,142 @@
+package com.inkluziv.inkluziv.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inkluziv.data.enums.Role;
+import com.inkluziv.data.model.User;
+import com.inkluziv.data.repository.UserRepository;
+import com.inkluziv.service.UserDetailsCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserDetailsCacheServiceImplTest {
+
+    private static final List<String> KEYS = List.of("user_details:test@example.com", "user_details:generation:test@example.com");
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private UserDetailsCacheServiceImpl userDetailsCacheService;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userDetailsCacheService = new UserDetailsCacheServiceImpl(userRepository, redisTemplate, new ObjectMapper(), new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(userDetailsCacheService, "localTtl", Duration.ofMinutes(5));
+        ReflectionTestUtils.setField(userDetailsCacheService, "localMaxSize", 100L);
+        ReflectionTestUtils.setField(userDetailsCacheService, "sharedTtl", Duration.ofMinutes(30));
+        userDetailsCacheService.init();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        user = new User();
+        user.setId("user-1");
+        user.setEmail("test@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.USER);
+        user.setActive(true);
+        user.setVoicePrint(new byte[]{1, 2, 3});
+    }
+
+    @Test
+    void loadUserByEmail_MissLoadsFromMongoAndSharesSlimSnapshot() {
+        // Arrange
+        when(valueOperations.multiGet(KEYS)).thenReturn(Arrays.asList(null, null));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        UserDetails first = userDetailsCacheService.loadUserByEmail("test@example.com");
+        UserDetails second = userDetailsCacheService.loadUserByEmail("test@example.com");
+
+        // Assert
+        assertSame(first, second);
+        assertNull(first.getPassword());
+        assertNull(((User) first).getVoicePrint());
+        verify(userRepository, times(1)).findByEmail("test@example.com");
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS),
+                argThat(json -> !json.toString().contains("voicePrint") && !json.toString().contains("hash")), eq("0"), eq("1800000"));
+    }
+
+    @Test
+    void loadUserByEmail_SharedEntrySkipsMongo() {
+        // Arrange
+        when(valueOperations.multiGet(KEYS))
+                .thenReturn(Arrays.asList("{\"id\":\"user-1\",\"email\":\"test@example.com\",\"role\":\"ADMIN\",\"active\":true}", "3"));
+
+        // Act
+        User loaded = (User) userDetailsCacheService.loadUserByEmail("test@example.com");
+
+        // Assert
+        assertEquals("user-1", loaded.getId());
+        assertEquals(Role.ADMIN, loaded.getRole());
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void evict_DropsBothLevelsAndBroadcasts() {
+        // Arrange
+        when(valueOperations.multiGet(KEYS)).thenReturn(Arrays.asList(null, null));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        userDetailsCacheService.loadUserByEmail("test@example.com");
+
+        // Act
+        userDetailsCacheService.evict("test@example.com");
+        userDetailsCacheService.loadUserByEmail("test@example.com");
+
+        // Assert
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), eq("3600000"));
+        verify(redisTemplate).convertAndSend(UserDetailsCacheServiceImpl.INVALIDATION_CHANNEL, "test@example.com");
+        verify(userRepository, times(2)).findByEmail("test@example.com");
+    }
+
+    @Test
+    void loadUserByEmail_SharesOnlyUnderTheGenerationSeenBeforeTheRead() {
+        // Arrange
+        when(valueOperations.multiGet(KEYS)).thenReturn(Arrays.asList(null, "7"));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        userDetailsCacheService.loadUserByEmail("test@example.com");
+
+        // Assert
+        verify(redisTemplate).execute(any(RedisScript.class), eq(KEYS), anyString(), eq("7"), eq("1800000"));
+    }
+
+    @Test
+    void loadUserByEmail_SharedCacheDownSkipsTheWrite() {
+        // Arrange
+        when(valueOperations.multiGet(KEYS)).thenThrow(new RedisConnectionFailureException("down"));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+
+        // Act
+        User loaded = (User) userDetailsCacheService.loadUserByEmail("test@example.com");
+
+        // Assert
+        assertEquals("user-1", loaded.getId());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+}
@@ -11,6 +11,7 @@ import com.inkluziv.dto.request.*;
 import com.inkluziv.dto.response.*;
 import com.inkluziv.exception.*;
 import com.inkluziv.util.JwtUtil;
+import com.inkluziv.util.VoicePrintCodec;
 import com.inkluziv.service.*;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -19,17 +20,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -37,6 +35,7 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @Slf4j
@@ -56,10 +55,7 @@ class UserServiceImplTest {
     private UserRepository userRepository;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
-
-    @Mock
-    private AuthenticationManager authenticationManager;
+    private PasswordHashingService passwordHashingService;
 
     @Mock
     private CloudinaryService cloudinaryService;
@@ -67,12 +63,18 @@ class UserServiceImplTest {
     @Mock
     private VoiceAuthenticationService voiceAuthenticationService;
 
+    @Mock
+    private UserDetailsCacheService userDetailsCacheService;
+
     @Mock
     private EmbeddingRepository embeddingRepository;
 
     @Mock
     private TokenBlacklistService tokenBlacklistService;
 
+    @Mock
+    private VoiceIdentificationService voiceIdentificationService;
+
     @Mock
     private Authentication authentication;
 
@@ -98,23 +100,23 @@ class UserServiceImplTest {
 
     @BeforeEach
     void setUp() {
-        List<Double> voicePrint = Arrays.asList(
-                -179.73248291015625, 80.432373046875, 25.7293643951416, 26.481021881103516,
-                0.9633487462997437, 9.07381534576416, -0.821174144744873, -0.6693892478942871,
-                -0.7973114848136902, 6.839402198791504, -1.3271806240081787, 2.139167070388794,
-                -3.3540587425231934, 150.9971923828125, 28.2651309967041, 30.896163940429688,
-                15.999171257019043, 15.818509101867676, 10.698274612426758, 10.30055046081543,
-                9.566656112670898, 9.09653091430664, 9.800527572631836, 8.17348861694336,
-                9.797332763671875, 7.144084930419922, 1764.7723388671875, 758.12841796875,
-                3716.839111328125, 1590.5218505859375, 21.500165939331055, 17.72335433959961,
-                20.96478843688965, 19.498722076416016, 18.552955627441406, 17.707551956176758,
-                53.31694030761719, 0.11314080655574799, 0.07901652157306671, 0.22481265664100647,
-                0.3495051860809326, 0.532171368598938, 0.33286482095718384, 0.35310232639312744,
-                0.2797504663467407, 0.43715015053749084, 0.41605344414711, 0.3430567681789398,
-                0.4373064935207367, 0.2796345353126526, 0.2925730347633362, 0.20705638825893402,
-                0.0326019749045372, 0.01897321827709675, -0.09110479801893234, -0.002287629758939147,
-                -0.005856381729245186, 125.0
-        );
+        float[] voicePrint = {
+                -179.73248291015625f, 80.432373046875f, 25.7293643951416f, 26.481021881103516f,
+                0.9633487462997437f, 9.07381534576416f, -0.821174144744873f, -0.6693892478942871f,
+                -0.7973114848136902f, 6.839402198791504f, -1.3271806240081787f, 2.139167070388794f,
+                -3.3540587425231934f, 150.9971923828125f, 28.2651309967041f, 30.896163940429688f,
+                15.999171257019043f, 15.818509101867676f, 10.698274612426758f, 10.30055046081543f,
+                9.566656112670898f, 9.09653091430664f, 9.800527572631836f, 8.17348861694336f,
+                9.797332763671875f, 7.144084930419922f, 1764.7723388671875f, 758.12841796875f,
+                3716.839111328125f, 1590.5218505859375f, 21.500165939331055f, 17.72335433959961f,
+                20.96478843688965f, 19.498722076416016f, 18.552955627441406f, 17.707551956176758f,
+                53.31694030761719f, 0.11314080655574799f, 0.07901652157306671f, 0.22481265664100647f,
+                0.3495051860809326f, 0.532171368598938f, 0.33286482095718384f, 0.35310232639312744f,
+                0.2797504663467407f, 0.43715015053749084f, 0.41605344414711f, 0.3430567681789398f,
+                0.4373064935207367f, 0.2796345353126526f, 0.2925730347633362f, 0.20705638825893402f,
+                0.0326019749045372f, 0.01897321827709675f, -0.09110479801893234f, -0.002287629758939147f,
+                -0.005856381729245186f, 125.0f
+        };
         createUserRequest = new CreateUserRequest();
         createUserRequest.setEmail("test@example.com");
         createUserRequest.setPassword("password123");
@@ -172,13 +174,15 @@ class UserServiceImplTest {
         pendingUser.setPassword("encodedPassword");
         pendingUser.setOtp("123456");
         pendingUser.setRole(Role.USER);
-        pendingUser.setVoicePrint(voicePrint.toString());
+        pendingUser.setVoicePrint(VoicePrintCodec.encode(voicePrint));
 
         embedding = new Embedding();
         embedding.setId("123");
         embedding.setCreatedAt(LocalDateTime.parse("2024-01-01T10:00:00"));
-        embedding.setVoicePrint(voicePrint.toString());
+        embedding.setVoicePrint(VoicePrintCodec.encode(voicePrint));
+        embedding.setModel("v1");
 
+        lenient().when(voiceAuthenticationService.enrollmentModel()).thenReturn("v1");
     }
 
     @Test
@@ -188,7 +192,7 @@ class UserServiceImplTest {
         when(userRepository.findByEmail(createUserRequest.getEmail()))
                 .thenReturn(Optional.empty())
                 .thenReturn(Optional.empty());
-        when(passwordEncoder.encode(createUserRequest.getPassword()))
+        when(passwordHashingService.encode(createUserRequest.getPassword()))
                 .thenReturn("encodedPassword");
         when(otpService.sendOtp(createUserRequest.getEmail()))
                 .thenReturn(new OTPResponse("123456", "test@example.com", "OTP sent"));
@@ -207,7 +211,7 @@ class UserServiceImplTest {
 
         // Fix: Verify that findByEmail is called twice
         verify(userRepository, times(2)).findByEmail(createUserRequest.getEmail());
-        verify(passwordEncoder).encode(createUserRequest.getPassword());
+        verify(passwordHashingService).encode(createUserRequest.getPassword());
         verify(otpService).sendOtp(createUserRequest.getEmail());
         verify(pendingUserRepository).save(any(PendingUser.class));
     }
@@ -226,7 +230,7 @@ class UserServiceImplTest {
 
         assertNotNull(exception);
         verify(userRepository).findByEmail(createUserRequest.getEmail());
-        verify(passwordEncoder, never()).encode(anyString());
+        verify(passwordHashingService, never()).encode(anyString());
         verify(otpService, never()).sendOtp(anyString());
     }
 
@@ -368,7 +372,7 @@ class UserServiceImplTest {
     void login_Success() {
         // Arrange
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(true);
+        when(passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(true);
         when(jwtTokenUtil.generateToken(user)).thenReturn("jwt-token");
 
         // Act
@@ -381,33 +385,76 @@ class UserServiceImplTest {
                 () -> assertEquals("test@example.com", response.getUser().getEmail())
         );
 
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(userRepository).findByEmail(loginRequest.getEmail());
-        verify(passwordEncoder).matches(loginRequest.getPassword(), user.getPassword());
+        verify(userRepository, times(1)).findByEmail(loginRequest.getEmail());
+        verify(passwordHashingService, times(1)).matches(loginRequest.getPassword(), user.getPassword());
+        verify(passwordHashingService).upgradeEncoding(user.getPassword());
+        verifyNoMoreInteractions(passwordHashingService);
+        verify(userRepository, never()).replacePasswordHash(anyString(), anyString(), anyString());
         verify(jwtTokenUtil).generateToken(user);
     }
 
+    @Test
+    void login_OutdatedHash_RehashesPassword() {
+        // Arrange
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches(loginRequest.getPassword(), "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encode(loginRequest.getPassword())).thenReturn("{bcrypt}upgradedPassword");
+        when(userRepository.replacePasswordHash("1", "encodedPassword", "{bcrypt}upgradedPassword")).thenReturn(1L);
+        when(jwtTokenUtil.generateToken(user)).thenReturn("jwt-token");
+
+        // Act
+        LoginResponse response = userService.login(loginRequest);
+
+        // Assert
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("{bcrypt}upgradedPassword", user.getPassword());
+        verify(userRepository).replacePasswordHash("1", "encodedPassword", "{bcrypt}upgradedPassword");
+        verify(userDetailsCacheService).evict("test@example.com");
+    }
+
+    @Test
+    void login_OutdatedHash_HashingOverloaded_StillLogsIn() {
+        // Arrange
+        when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
+        when(passwordHashingService.matches(loginRequest.getPassword(), "encodedPassword")).thenReturn(true);
+        when(passwordHashingService.upgradeEncoding("encodedPassword")).thenReturn(true);
+        when(passwordHashingService.encode(loginRequest.getPassword()))
+                .thenThrow(new PasswordHashingOverloadedException("busy", 1));
+        when(jwtTokenUtil.generateToken(user)).thenReturn("jwt-token");
+
+        // Act
+        LoginResponse response = userService.login(loginRequest);
+
+        // Assert
+        assertEquals("jwt-token", response.getToken());
+        assertEquals("encodedPassword", user.getPassword());
+        verify(userRepository, never()).replacePasswordHash(anyString(), anyString(), anyString());
+    }
+
     @Test
     void login_UserNotFound() {
         // Arrange
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.empty());
+        when(passwordHashingService.dummyHash()).thenReturn("dummyHash");
+        when(passwordHashingService.matches(loginRequest.getPassword(), "dummyHash")).thenReturn(false);
 
         // Act & Assert
-        UserNotFoundException exception = assertThrows(
-                UserNotFoundException.class,
+        InvalidPasswordException exception = assertThrows(
+                InvalidPasswordException.class,
                 () -> userService.login(loginRequest)
         );
 
-        assertNotNull(exception);
-        verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
+        assertEquals("Invalid email or password", exception.getMessage());
         verify(userRepository).findByEmail(loginRequest.getEmail());
+        verify(passwordHashingService, times(1)).matches(anyString(), anyString());
     }
 
     @Test
     void login_InvalidPassword() {
         // Arrange
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(false);
+        when(passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(false);
 
         // Act & Assert
         InvalidPasswordException exception = assertThrows(
@@ -415,9 +462,9 @@ class UserServiceImplTest {
                 () -> userService.login(loginRequest)
         );
 
-        assertNotNull(exception);
+        assertEquals("Invalid email or password", exception.getMessage());
         verify(userRepository).findByEmail(loginRequest.getEmail());
-        verify(passwordEncoder).matches(loginRequest.getPassword(), user.getPassword());
+        verify(passwordHashingService, times(1)).matches(anyString(), anyString());
     }
 
     @Test
@@ -425,7 +472,7 @@ class UserServiceImplTest {
         // Arrange
         loginRequest.setRole(Role.ADMIN);
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(true);
+        when(passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(true);
 
         // Act & Assert
         InvalidRoleException exception = assertThrows(
@@ -435,7 +482,7 @@ class UserServiceImplTest {
 
         assertNotNull(exception);
         verify(userRepository).findByEmail(loginRequest.getEmail());
-        verify(passwordEncoder).matches(loginRequest.getPassword(), user.getPassword());
+        verify(passwordHashingService).matches(loginRequest.getPassword(), user.getPassword());
     }
 
     @Test
@@ -443,13 +490,13 @@ class UserServiceImplTest {
         // Arrange
         user.setActive(false);
         when(userRepository.findByEmail(loginRequest.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(true);
+        when(passwordHashingService.matches(loginRequest.getPassword(), user.getPassword())).thenReturn(true);
 
         // Act & Assert
         IsNotActiveException exception = assertThrows(IsNotActiveException.class, () -> userService.login(loginRequest));
         assertNotNull(exception);
         verify(userRepository).findByEmail(loginRequest.getEmail());
-        verify(passwordEncoder).matches(loginRequest.getPassword(), user.getPassword());
+        verify(passwordHashingService).matches(loginRequest.getPassword(), user.getPassword());
     }
 
     @Test
@@ -522,7 +569,7 @@ class UserServiceImplTest {
     void resetPassword_Success() {
         // Arrange
         when(userRepository.findByEmail(changePasswordRequest.getEmail())).thenReturn(Optional.of(user));
-        when(passwordEncoder.encode(changePasswordRequest.getNewPassword())).thenReturn("newEncodedPassword");
+        when(passwordHashingService.encode(changePasswordRequest.getNewPassword())).thenReturn("newEncodedPassword");
         when(userRepository.save(any(User.class))).thenReturn(user);
 
         // Act
@@ -537,8 +584,9 @@ class UserServiceImplTest {
 
         verify(otpService).verifyOtp(changePasswordRequest.getEmail(), changePasswordRequest.getOtp());
         verify(userRepository).findByEmail(changePasswordRequest.getEmail());
-        verify(passwordEncoder).encode(changePasswordRequest.getNewPassword());
+        verify(passwordHashingService).encode(changePasswordRequest.getNewPassword());
         verify(userRepository).save(user);
+        verify(userDetailsCacheService).evict("test@example.com");
         verify(otpService).deleteOtp(changePasswordRequest.getEmail(), changePasswordRequest.getOtp());
     }
 
@@ -621,7 +669,8 @@ class UserServiceImplTest {
     void voiceSignup_Success() throws IOException {
         // Fix: Create proper EmbeddingResponse mock
         Embedding embedding1 = new Embedding();
-        embedding1.setVoicePrintList(Arrays.asList(1.0, 2.0, 3.0));
+        embedding1.setVoicePrintVector(new float[]{1.0f, 2.0f, 3.0f});
+        embedding1.setModel("v1");
         EmbeddingResponse embeddingResponse = new EmbeddingResponse();
         embeddingResponse.setEmbedding(embedding1);
 
@@ -630,7 +679,7 @@ class UserServiceImplTest {
                 .thenReturn(embeddingResponse);
         when(embeddingRepository.save(any(Embedding.class))).thenReturn(embedding);
         when(voiceAuthenticationService.generateSecurePassword()).thenReturn("securePassword");
-        when(passwordEncoder.encode("securePassword")).thenReturn("encodedSecurePassword");
+        when(passwordHashingService.encode("securePassword")).thenReturn("encodedSecurePassword");
         when(otpService.sendOtp(voiceSignupRequest.getEmail()))
                 .thenReturn(new OTPResponse("123456", "test@example.com", "OTP sent"));
         when(pendingUserRepository.save(any(PendingUser.class))).thenReturn(pendingUser);
@@ -646,6 +695,23 @@ class UserServiceImplTest {
         verify(pendingUserRepository).save(any(PendingUser.class));
     }
 
+    @Test
+    void voiceSignup_FallbackPrintRejected() throws IOException {
+        Embedding fallback = new Embedding();
+        fallback.setVoicePrintVector(new float[]{1.0f, 2.0f, 3.0f});
+        fallback.setModel("local-mfcc-v1");
+        EmbeddingResponse embeddingResponse = new EmbeddingResponse();
+        embeddingResponse.setEmbedding(fallback);
+
+        when(userRepository.findByEmail(voiceSignupRequest.getEmail())).thenReturn(Optional.empty());
+        when(voiceAuthenticationService.extractVoiceFeatures(voiceSignupRequest.getVoiceSample()))
+                .thenReturn(embeddingResponse);
+
+        assertThrows(VoiceProcessingFailedException.class, () -> userService.voiceSignup(voiceSignupRequest));
+        verify(embeddingRepository, never()).save(any(Embedding.class));
+        verify(pendingUserRepository, never()).save(any(PendingUser.class));
+    }
+
     @Test
     void voiceSignup_EmailAlreadyExists() throws IOException {
         when(userRepository.findByEmail(voiceSignupRequest.getEmail())).thenReturn(Optional.of(user));
@@ -730,10 +796,10 @@ class UserServiceImplTest {
     @Test
     void voiceLogin_Success() throws IOException {
         user.setVoiceAuthEnabled(true);
-        user.setVoicePrint("voice-print-data");
+        user.setVoicePrint(VoicePrintCodec.encode(new float[]{0.1f, 0.2f, 0.3f}));
 
         when(userRepository.findByEmail(voiceLoginRequest.getEmail())).thenReturn(Optional.of(user));
-        when(voiceAuthenticationService.verifyVoice(voiceLoginRequest.getVoiceSample(), user.getVoicePrint()))
+        when(voiceAuthenticationService.verifyVoice(voiceLoginRequest.getVoiceSample(), user))
                 .thenReturn(true);
         when(jwtTokenUtil.generateToken(user)).thenReturn("jwt-token");
         when(userRepository.save(any(User.class))).thenReturn(user);
@@ -743,7 +809,7 @@ class UserServiceImplTest {
         assertAll(() -> assertNotNull(response), () -> assertEquals("jwt-token", response.getToken()), () -> assertEquals("test@example.com", response.getUser().getEmail()));
 
         verify(userRepository).findByEmail(voiceLoginRequest.getEmail());
-        verify(voiceAuthenticationService).verifyVoice(voiceLoginRequest.getVoiceSample(), user.getVoicePrint());
+        verify(voiceAuthenticationService).verifyVoice(voiceLoginRequest.getVoiceSample(), user);
         verify(jwtTokenUtil).generateToken(user);
     }
 
@@ -755,7 +821,7 @@ class UserServiceImplTest {
 
         assertNotNull(exception);
         verify(userRepository).findByEmail(voiceLoginRequest.getEmail());
-        verify(voiceAuthenticationService, never()).verifyVoice(any(), any());
+        verify(voiceAuthenticationService, never()).verifyVoice(any(), any(User.class));
     }
 
     @Test
@@ -767,52 +833,105 @@ class UserServiceImplTest {
 
         assertNotNull(exception);
         verify(userRepository).findByEmail(voiceLoginRequest.getEmail());
-        verify(voiceAuthenticationService, never()).verifyVoice(any(), any());
+        verify(voiceAuthenticationService, never()).verifyVoice(any(), any(User.class));
     }
 
     @Test
     void voiceLogin_VoiceDoesNotMatch() throws IOException {
         user.setVoiceAuthEnabled(true);
-        user.setVoicePrint("voice-print-data");
+        user.setVoicePrint(VoicePrintCodec.encode(new float[]{0.1f, 0.2f, 0.3f}));
 
         when(userRepository.findByEmail(voiceLoginRequest.getEmail())).thenReturn(Optional.of(user));
-        when(voiceAuthenticationService.verifyVoice(voiceLoginRequest.getVoiceSample(), user.getVoicePrint()))
+        when(voiceAuthenticationService.verifyVoice(voiceLoginRequest.getVoiceSample(), user))
                 .thenReturn(false);
 
         VoiceDoesNotMatchException exception = assertThrows(VoiceDoesNotMatchException.class, () -> userService.voiceLogin(voiceLoginRequest));
 
         assertNotNull(exception);
-        verify(voiceAuthenticationService).verifyVoice(voiceLoginRequest.getVoiceSample(), user.getVoicePrint());
+        verify(voiceAuthenticationService).verifyVoice(voiceLoginRequest.getVoiceSample(), user);
     }
 
     @Test
     void voiceLogin_VoiceProcessingFailed() throws IOException {
         user.setVoiceAuthEnabled(true);
-        user.setVoicePrint("voice-print-data");
+        user.setVoicePrint(VoicePrintCodec.encode(new float[]{0.1f, 0.2f, 0.3f}));
 
         when(userRepository.findByEmail(voiceLoginRequest.getEmail())).thenReturn(Optional.of(user));
-        when(voiceAuthenticationService.verifyVoice(voiceLoginRequest.getVoiceSample(), user.getVoicePrint()))
+        when(voiceAuthenticationService.verifyVoice(voiceLoginRequest.getVoiceSample(), user))
                 .thenThrow(new IOException("Voice processing failed"));
 
         VoiceProcessingFailedException exception = assertThrows(VoiceProcessingFailedException.class, () -> userService.voiceLogin(voiceLoginRequest)
         );
 
         assertNotNull(exception);
-        verify(voiceAuthenticationService).verifyVoice(voiceLoginRequest.getVoiceSample(), user.getVoicePrint());
+        verify(voiceAuthenticationService).verifyVoice(voiceLoginRequest.getVoiceSample(), user);
     }
 
     @Test
     void voiceLogin_InactiveUser() throws IOException {
         user.setActive(false);
         user.setVoiceAuthEnabled(true);
-        user.setVoicePrint("voice-print-data");
+        user.setVoicePrint(VoicePrintCodec.encode(new float[]{0.1f, 0.2f, 0.3f}));
 
         when(userRepository.findByEmail(voiceLoginRequest.getEmail())).thenReturn(Optional.of(user));
 
         InactiveUserException exception = assertThrows(InactiveUserException.class, () -> userService.voiceLogin(voiceLoginRequest));
         assertNotNull(exception);
         verify(userRepository).findByEmail(voiceLoginRequest.getEmail());
-        verify(voiceAuthenticationService, never()).verifyVoice(any(), any());
+        verify(voiceAuthenticationService, never()).verifyVoice(any(), any(User.class));
+    }
+
+    @Test
+    void voiceIdentify_Success() throws IOException {
+        VoiceIdentifyRequest request = new VoiceIdentifyRequest();
+        request.setVoiceSample(mock(MultipartFile.class));
+        user.setVoiceAuthEnabled(true);
+        EmbeddingResponse embeddingResponse = new EmbeddingResponse();
+        embeddingResponse.setEmbedding(embedding);
+
+        when(voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample())).thenReturn(embeddingResponse);
+        when(voiceIdentificationService.identify(any(float[].class))).thenReturn(Optional.of("1"));
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+        when(jwtTokenUtil.generateToken(user)).thenReturn("jwt-token");
+
+        LoginResponse response = userService.voiceIdentify(request);
+
+        assertAll(() -> assertNotNull(response), () -> assertEquals("jwt-token", response.getToken()), () -> assertEquals("1", response.getUserId()));
+        verify(voiceIdentificationService).identify(embedding.getVoicePrintVector());
+        verify(userRepository).save(user);
+        verify(userRepository, never()).findByEmail(anyString());
+    }
+
+    @Test
+    void voiceIdentify_NotRecognised() throws IOException {
+        VoiceIdentifyRequest request = new VoiceIdentifyRequest();
+        request.setVoiceSample(mock(MultipartFile.class));
+        EmbeddingResponse embeddingResponse = new EmbeddingResponse();
+        embeddingResponse.setEmbedding(embedding);
+
+        when(voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample())).thenReturn(embeddingResponse);
+        when(voiceIdentificationService.identify(any(float[].class))).thenReturn(Optional.empty());
+
+        assertThrows(VoiceDoesNotMatchException.class, () -> userService.voiceIdentify(request));
+        verify(userRepository, never()).findById(anyString());
+        verify(jwtTokenUtil, never()).generateToken(any(User.class));
+    }
+
+    @Test
+    void voiceIdentify_InactiveUser() throws IOException {
+        VoiceIdentifyRequest request = new VoiceIdentifyRequest();
+        request.setVoiceSample(mock(MultipartFile.class));
+        user.setActive(false);
+        user.setVoiceAuthEnabled(true);
+        EmbeddingResponse embeddingResponse = new EmbeddingResponse();
+        embeddingResponse.setEmbedding(embedding);
+
+        when(voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample())).thenReturn(embeddingResponse);
+        when(voiceIdentificationService.identify(any(float[].class))).thenReturn(Optional.of("1"));
+        when(userRepository.findById("1")).thenReturn(Optional.of(user));
+
+        assertThrows(InactiveUserException.class, () -> userService.voiceIdentify(request));
+        verify(jwtTokenUtil, never()).generateToken(any(User.class));
     }
 
     @Test
@@ -821,7 +940,8 @@ class UserServiceImplTest {
 
         // Fix: Create proper EmbeddingResponse mock
         Embedding embedding1 = new Embedding();
-        embedding1.setVoicePrintList(Arrays.asList(1.0, 2.0, 3.0));
+        embedding1.setVoicePrintVector(new float[]{1.0f, 2.0f, 3.0f});
+        embedding1.setModel("v1");
         EmbeddingResponse embeddingResponse = new EmbeddingResponse();
         embeddingResponse.setEmbedding(embedding1);
 
@@ -838,9 +958,115 @@ class UserServiceImplTest {
         verify(voiceAuthenticationService).extractVoiceFeatures(enableVoiceAuthRequest.getVoiceSample());
         verify(embeddingRepository).save(any(Embedding.class));
         verify(userRepository).save(user);
+        verify(voiceIdentificationService).index(user.getId(), user.getVoicePrint());
         assertTrue(user.isVoiceAuthEnabled());
     }
 
+    @Test
+    void enrollVoiceSample_AccumulatesNormalisedCentroid() throws IOException {
+        ReflectionTestUtils.setField(userService, "maxEnrollmentSamples", 5);
+        VoiceEnrollRequest request = new VoiceEnrollRequest();
+        request.setEmail("test@example.com");
+        request.setVoiceSample(mock(MultipartFile.class));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample()))
+                .thenReturn(embeddingResponseFor(new float[]{2.0f, 0.0f}))
+                .thenReturn(embeddingResponseFor(new float[]{0.0f, 5.0f}));
+
+        userService.enrollVoiceSample(request);
+        userService.enrollVoiceSample(request);
+
+        float[] centroid = VoicePrintCodec.decode(user.getVoicePrint());
+        assertEquals(2, user.getVoiceSamples().size());
+        assertEquals((float) Math.sqrt(0.5), centroid[0], 1e-6f);
+        assertEquals((float) Math.sqrt(0.5), centroid[1], 1e-6f);
+        assertEquals((float) Math.sqrt(0.5), user.getVoiceCentroidNorm(), 1e-6f);
+        verify(voiceIdentificationService, times(2)).index(eq(user.getId()), any(byte[].class));
+    }
+
+    @Test
+    void enrollVoiceSample_ReplacesOldestSampleAtCapacity() throws IOException {
+        ReflectionTestUtils.setField(userService, "maxEnrollmentSamples", 2);
+        VoiceEnrollRequest request = new VoiceEnrollRequest();
+        request.setEmail("test@example.com");
+        request.setVoiceSample(mock(MultipartFile.class));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample()))
+                .thenReturn(embeddingResponseFor("first", new float[]{1.0f, 0.0f}))
+                .thenReturn(embeddingResponseFor("second", new float[]{0.0f, 1.0f}))
+                .thenReturn(embeddingResponseFor("third", new float[]{0.0f, 1.0f}));
+
+        userService.enrollVoiceSample(request);
+        userService.enrollVoiceSample(request);
+        userService.enrollVoiceSample(request);
+
+        float[] centroid = VoicePrintCodec.decode(user.getVoicePrint());
+        assertEquals(2, user.getVoiceSamples().size());
+        assertEquals(List.of("second", "third"), user.getVoiceEmbeddingIds());
+        assertEquals(0.0f, centroid[0], 1e-6f);
+        assertEquals(1.0f, centroid[1], 1e-6f);
+        verify(embeddingRepository, times(3)).save(any(Embedding.class));
+    }
+
+    @Test
+    void enrollVoiceSample_NewModelRestartsEnrollment() throws IOException {
+        ReflectionTestUtils.setField(userService, "maxEnrollmentSamples", 5);
+        VoiceEnrollRequest request = new VoiceEnrollRequest();
+        request.setEmail("test@example.com");
+        request.setVoiceSample(mock(MultipartFile.class));
+        EmbeddingResponse upgraded = embeddingResponseFor("upgraded", new float[]{0.0f, 1.0f});
+        upgraded.getEmbedding().setModel("v2");
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample()))
+                .thenReturn(embeddingResponseFor("old", new float[]{1.0f, 0.0f}))
+                .thenReturn(upgraded);
+        when(voiceAuthenticationService.enrollmentModel()).thenReturn("v1", "v2");
+
+        userService.enrollVoiceSample(request);
+        userService.enrollVoiceSample(request);
+
+        assertEquals(List.of("upgraded"), user.getVoiceEmbeddingIds());
+        assertEquals("v2", user.getVoiceModel());
+        assertArrayEquals(new float[]{0.0f, 1.0f}, VoicePrintCodec.decode(user.getVoicePrint()), 1e-6f);
+    }
+
+    @Test
+    void enrollVoiceSample_KeepsFallbackPrintAlongsideRemoteCentroid() throws IOException {
+        ReflectionTestUtils.setField(userService, "maxEnrollmentSamples", 5);
+        VoiceEnrollRequest request = new VoiceEnrollRequest();
+        request.setEmail("test@example.com");
+        request.setVoiceSample(mock(MultipartFile.class));
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(voiceAuthenticationService.extractVoiceFeatures(request.getVoiceSample()))
+                .thenReturn(embeddingResponseFor(new float[]{1.0f, 0.0f}))
+                .thenReturn(embeddingResponseFor(new float[]{0.0f, 1.0f}));
+        when(voiceAuthenticationService.extractFallbackVoicePrint(request.getVoiceSample()))
+                .thenReturn(VoicePrintCodec.encode(new float[]{3.0f, 0.0f, 0.0f}))
+                .thenReturn(VoicePrintCodec.encode(new float[]{0.0f, 0.0f, 2.0f}));
+
+        userService.enrollVoiceSample(request);
+        userService.enrollVoiceSample(request);
+
+        float[] fallback = VoicePrintCodec.decode(user.getFallbackVoicePrint());
+        assertEquals((float) Math.sqrt(0.5), fallback[0], 1e-6f);
+        assertEquals((float) Math.sqrt(0.5), fallback[2], 1e-6f);
+        assertEquals(2, VoicePrintCodec.dimension(user.getVoicePrint()));
+    }
+
+    private EmbeddingResponse embeddingResponseFor(float[] vector) {
+        return embeddingResponseFor(null, vector);
+    }
+
+    private EmbeddingResponse embeddingResponseFor(String id, float[] vector) {
+        Embedding sample = new Embedding();
+        sample.setId(id);
+        sample.setVoicePrintVector(vector);
+        sample.setModel("v1");
+        EmbeddingResponse response = new EmbeddingResponse();
+        response.setEmbedding(sample);
+        return response;
+    }
+
     @Test
     void enableVoiceAuthentication_UserNotFound() throws IOException {
         setupAuthentication();
@@ -885,7 +1111,7 @@ class UserServiceImplTest {
     void disableVoiceAuthentication_Success() {
         setupAuthentication();
         user.setVoiceAuthEnabled(true);
-        user.setVoicePrint("voice-print-data");
+        user.setVoicePrint(VoicePrintCodec.encode(new float[]{0.1f, 0.2f, 0.3f}));
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
         when(userRepository.save(any(User.class))).thenReturn(user);
@@ -896,6 +1122,7 @@ class UserServiceImplTest {
 
         verify(userRepository).findByEmail("test@example.com");
         verify(userRepository).save(user);
+        verify(voiceIdentificationService).remove(user.getId());
         assertNull(user.getVoicePrint());
         assertFalse(user.isVoiceAuthEnabled());
     }
@@ -941,6 +1168,7 @@ class UserServiceImplTest {
         verify(jwtTokenUtil).extractTokenFromContext();
         verify(tokenBlacklistService).blacklistToken("jwt-token");
         verify(userRepository).save(user);
+        verify(userDetailsCacheService).evict("test@example.com");
     }
 
     @Test
@@ -995,6 +1223,20 @@ class UserServiceImplTest {
         verify(tokenBlacklistService, never()).blacklistAllUserTokens(any());
     }
 
+    @Test
+    void deactivateAccount_RevokesAllTokens() {
+        setupAuthentication();
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(any(User.class))).thenReturn(user);
+
+        LogoutResponse response = userService.deactivateAccount();
+
+        assertAll(() -> assertEquals("Account deactivated successfully", response.getMessage()), () -> assertFalse(user.isActive()), () -> assertFalse(user.isEnabled()));
+        verify(tokenBlacklistService).blacklistAllUserTokens(user.getId());
+        verify(userRepository).save(user);
+        verify(userDetailsCacheService).evict("test@example.com");
+    }
+
     @Test
     void getAuthentication_NoAuthentication() {
         when(securityContext.getAuthentication()).thenReturn(null);
@@ -1017,7 +1259,7 @@ class UserServiceImplTest {
     @Test
     void sendVerificationOTP_OTPServiceException() {
         when(userRepository.findByEmail(createUserRequest.getEmail())).thenReturn(Optional.empty());
-        when(passwordEncoder.encode(createUserRequest.getPassword())).thenReturn("encodedPassword");
+        when(passwordHashingService.encode(createUserRequest.getPassword())).thenReturn("encodedPassword");
         when(otpService.sendOtp(createUserRequest.getEmail()))
                 .thenThrow(new RuntimeException("OTP service unavailable"));
 
@@ -0,0 +1,249 @@
+package com.inkluziv.inkluziv.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.inkluziv.data.model.Embedding;
+import com.inkluziv.data.model.User;
+import com.inkluziv.data.repository.EmbeddingRepository;
+import com.inkluziv.dto.response.EmbeddingResponse;
+import com.inkluziv.dto.response.PythonEmbeddingResponse;
+import com.inkluziv.service.VoiceAuthenticationServiceImpl;
+import com.inkluziv.service.VoiceMlClient;
+import com.inkluziv.data.enums.LocalExtractionMode;
+import com.inkluziv.data.enums.ScoreNormalization;
+import com.inkluziv.data.enums.SimilarityMode;
+import com.inkluziv.exception.FailedToExtractVoiceException;
+import com.inkluziv.exception.VoiceDoesNotMatchException;
+import com.inkluziv.exception.VoiceProcessingFailedException;
+import com.inkluziv.util.VoicePrintCodec;
+import com.inkluziv.util.AudioPreprocessor;
+import com.inkluziv.util.MfccFeatureExtractor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.ScoreCohort;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoiceAuthenticationServiceImplTest {
+
+    @Mock
+    private VoiceMlClient voiceMlClient;
+
+    @Mock
+    private EmbeddingRepository embeddingRepository;
+
+    private Cache<String, Embedding> embeddingCache;
+    private VoiceAuthenticationServiceImpl voiceAuthenticationService;
+
+    @BeforeEach
+    void setUp() {
+        embeddingCache = Caffeine.newBuilder().maximumSize(100).build();
+        voiceAuthenticationService = new VoiceAuthenticationServiceImpl(
+                voiceMlClient, new ScalarSimilarityEngine(), embeddingCache,
+                new MfccFeatureExtractor(), Executors.newSingleThreadExecutor(), new SimpleMeterRegistry(),
+                new AudioPreprocessor(30, 40), ScoreCohort.empty(), embeddingRepository);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "modelVersion", "v1");
+        ReflectionTestUtils.setField(voiceAuthenticationService, "localExtractionMode", LocalExtractionMode.OFF);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "fallbackCooldown", Duration.ofSeconds(30));
+    }
+
+    @Test
+    void testExtractVoiceFeatures_RepeatedSampleServedFromCache() {
+        // Arrange
+        PythonEmbeddingResponse body = new PythonEmbeddingResponse();
+        body.setFile_id("file-1");
+        body.setEmbedding(new float[]{0.1f, 0.2f, 0.3f});
+        body.setFeature_count(3);
+        when(voiceMlClient.extractEmbedding(any())).thenReturn(body);
+
+        // Act
+        EmbeddingResponse first = voiceAuthenticationService.extractVoiceFeatures(sample(new byte[]{1, 2, 3}));
+        EmbeddingResponse second = voiceAuthenticationService.extractVoiceFeatures(sample(new byte[]{1, 2, 3}));
+
+        // Assert
+        verify(voiceMlClient, times(1)).extractEmbedding(any());
+        assertEquals("file-1", second.getEmbedding().getId());
+        assertArrayEquals(first.getEmbedding().getVoicePrint(), second.getEmbedding().getVoicePrint());
+        assertNotSame(first.getEmbedding(), second.getEmbedding());
+    }
+
+    @Test
+    void testExtractVoiceFeatures_DifferentSampleCallsService() {
+        // Arrange
+        PythonEmbeddingResponse body = new PythonEmbeddingResponse();
+        body.setFile_id("file-1");
+        body.setEmbedding(new float[]{0.1f, 0.2f, 0.3f});
+        when(voiceMlClient.extractEmbedding(any())).thenReturn(body);
+
+        // Act
+        voiceAuthenticationService.extractVoiceFeatures(sample(new byte[]{1, 2, 3}));
+        voiceAuthenticationService.extractVoiceFeatures(sample(new byte[]{4, 5, 6}));
+
+        // Assert
+        verify(voiceMlClient, times(2)).extractEmbedding(any());
+        assertEquals(2, embeddingCache.estimatedSize());
+    }
+
+    @Test
+    void testVerifyVoice_FallbackScoresAgainstEnrolledLocalPrintWhenServiceFails() {
+        // Arrange
+        ReflectionTestUtils.setField(voiceAuthenticationService, "localExtractionMode", LocalExtractionMode.FALLBACK);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "fallbackThreshold", 0.9);
+        byte[] fallbackVoicePrint = voiceAuthenticationService.extractFallbackVoicePrint(sample(tone(220.0)));
+        when(voiceMlClient.extractEmbedding(any())).thenThrow(new FailedToExtractVoiceException("Failed to extract voice features"));
+        User user = enrolledUser(new float[]{1.0f, 0.0f});
+        user.setFallbackVoicePrint(fallbackVoicePrint);
+
+        // Act & Assert
+        assertEquals(new MfccFeatureExtractor().dimension(), VoicePrintCodec.dimension(fallbackVoicePrint));
+        assertTrue(voiceAuthenticationService.verifyVoice(sample(tone(220.0)), user));
+        assertTrue(voiceAuthenticationService.verifyVoice(sample(tone(220.0)), user));
+        assertThrows(VoiceProcessingFailedException.class,
+                () -> voiceAuthenticationService.extractVoiceFeatures(sample(tone(220.0))));
+        verify(voiceMlClient, times(1)).extractEmbedding(any());
+        assertEquals(0, embeddingCache.estimatedSize());
+    }
+
+    @Test
+    void testVerifyVoice_FallbackWithoutEnrolledLocalPrintFailsFast() {
+        // Arrange
+        ReflectionTestUtils.setField(voiceAuthenticationService, "localExtractionMode", LocalExtractionMode.FALLBACK);
+        when(voiceMlClient.extractEmbedding(any())).thenThrow(new FailedToExtractVoiceException("Failed to extract voice features"));
+        User user = enrolledUser(new float[]{1.0f, 0.0f});
+
+        // Act & Assert
+        assertThrows(VoiceProcessingFailedException.class, () -> voiceAuthenticationService.verifyVoice(sample(tone(220.0)), user));
+        assertThrows(VoiceProcessingFailedException.class, () -> voiceAuthenticationService.verifyVoice(sample(tone(220.0)), user));
+        verify(voiceMlClient, times(1)).extractEmbedding(any());
+    }
+
+    @Test
+    void testVerifyVoice_ScoresCentroidTogetherWithTopKSamples() {
+        // Arrange
+        ReflectionTestUtils.setField(voiceAuthenticationService, "similarityMode", SimilarityMode.COSINE);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "similarityThreshold", 0.85);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "verificationTopK", 2);
+        PythonEmbeddingResponse body = new PythonEmbeddingResponse();
+        body.setFile_id("probe");
+        body.setEmbedding(new float[]{1.0f, 0.0f});
+        when(voiceMlClient.extractEmbedding(any())).thenReturn(body);
+        byte[] centroid = VoicePrintCodec.encode(new float[]{0.6f, 0.8f});
+        List<byte[]> samples = List.of(
+                VoicePrintCodec.encode(new float[]{1.0f, 0.0f}),
+                VoicePrintCodec.encode(new float[]{0.0f, 1.0f}),
+                VoicePrintCodec.encode(new float[]{0.99f, 0.14f}));
+
+        // Act & Assert
+        assertTrue(voiceAuthenticationService.verifyVoice(sample(new byte[]{1}), centroid, samples));
+        assertTrue(voiceAuthenticationService.verifyVoice(sample(new byte[]{1}), centroid, samples.stream()
+                .map(encoded -> VoicePrintCodec.encodeQuantized(VoicePrintCodec.decode(encoded))).toList()));
+        assertThrows(VoiceDoesNotMatchException.class,
+                () -> voiceAuthenticationService.verifyVoice(sample(new byte[]{1}), centroid, List.of()));
+    }
+
+    @Test
+    void testVerifyVoice_RescoresQuantizedSamplesAgainstStoredOriginals() {
+        // Arrange
+        ReflectionTestUtils.setField(voiceAuthenticationService, "similarityMode", SimilarityMode.COSINE);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "similarityThreshold", 0.9);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "verificationTopK", 1);
+        PythonEmbeddingResponse body = new PythonEmbeddingResponse();
+        body.setEmbedding(new float[]{1.0f, 0.0f});
+        when(voiceMlClient.extractEmbedding(any())).thenReturn(body);
+        Embedding stored = new Embedding();
+        stored.setId("sample-1");
+        stored.setVoicePrint(VoicePrintCodec.encode(new float[]{2.0f, 0.0f}));
+        when(embeddingRepository.findAllById(List.of("sample-1"))).thenReturn(List.of(stored));
+        User user = enrolledUser(new float[]{1.0f, 0.0f});
+        user.setVoiceSamples(List.of(VoicePrintCodec.encodeQuantized(new float[]{0.6f, 0.8f})));
+        user.setVoiceEmbeddingIds(List.of("sample-1"));
+
+        // Act & Assert: the stored original scores 1.0, so the mean passes; the quantized copy alone would give 0.8
+        assertTrue(voiceAuthenticationService.verifyVoice(sample(new byte[]{1}), user));
+        verify(embeddingRepository).findAllById(List.of("sample-1"));
+    }
+
+    @Test
+    void testVerifyVoice_NormalizesScoreAgainstCohort() {
+        // Arrange
+        Random random = new Random(3);
+        List<float[]> impostors = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            float[] impostor = new float[64];
+            for (int j = 0; j < impostor.length; j++) {
+                impostor[j] = (float) random.nextGaussian();
+            }
+            impostors.add(impostor);
+        }
+        voiceAuthenticationService = new VoiceAuthenticationServiceImpl(
+                voiceMlClient, new ScalarSimilarityEngine(), embeddingCache,
+                new MfccFeatureExtractor(), Executors.newSingleThreadExecutor(), new SimpleMeterRegistry(),
+                new AudioPreprocessor(30, 40), ScoreCohort.of(impostors), embeddingRepository);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "modelVersion", "v1");
+        ReflectionTestUtils.setField(voiceAuthenticationService, "localExtractionMode", LocalExtractionMode.OFF);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "similarityMode", SimilarityMode.COSINE);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "similarityThreshold", 0.99);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "scoreNormalization", ScoreNormalization.S_NORM);
+        ReflectionTestUtils.setField(voiceAuthenticationService, "normalizedThreshold", 3.0);
+        float[] centroid = new float[64];
+        centroid[0] = 1f;
+        float[] genuine = new float[64];
+        genuine[0] = 0.9f;
+        genuine[1] = 0.436f;
+        float[] impostor = new float[64];
+        impostor[1] = 1f;
+        PythonEmbeddingResponse genuineBody = new PythonEmbeddingResponse();
+        genuineBody.setEmbedding(genuine);
+        PythonEmbeddingResponse impostorBody = new PythonEmbeddingResponse();
+        impostorBody.setEmbedding(impostor);
+        when(voiceMlClient.extractEmbedding(any())).thenReturn(genuineBody, impostorBody);
+
+        // Act & Assert
+        assertTrue(voiceAuthenticationService.verifyVoice(sample(new byte[]{1}), VoicePrintCodec.encode(centroid)));
+        assertThrows(VoiceDoesNotMatchException.class,
+                () -> voiceAuthenticationService.verifyVoice(sample(new byte[]{2}), VoicePrintCodec.encode(centroid)));
+    }
+
+    private User enrolledUser(float[] centroid) {
+        User user = new User();
+        user.setVoiceModel("v1");
+        user.setVoicePrint(VoicePrintCodec.encode(centroid));
+        return user;
+    }
+
+    private byte[] tone(double frequency) {
+        int samples = 16_000;
+        ByteBuffer wav = ByteBuffer.allocate(44 + samples * 2).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + samples * 2).put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        wav.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(16_000).putInt(32_000).putShort((short) 2).putShort((short) 16);
+        wav.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(samples * 2);
+        for (int i = 0; i < samples; i++) {
+            wav.putShort((short) (Math.sin(2 * Math.PI * frequency * i / 16_000) * 12_000));
+        }
+        return wav.array();
+    }
+
+    private MockMultipartFile sample(byte[] audio) {
+        return new MockMultipartFile("voiceSample", "sample.wav", "audio/wav", audio);
+    }
+}
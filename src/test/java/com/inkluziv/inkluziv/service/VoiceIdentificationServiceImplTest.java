@@ -0,0 +1,129 @@
+package com.inkluziv.inkluziv.service;
+
+import com.inkluziv.data.model.User;
+import com.inkluziv.data.repository.UserRepository;
+import com.inkluziv.service.VoiceIdentificationServiceImpl;
+import com.inkluziv.util.MappedVoicePrintStore;
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.VoicePrintCodec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class VoiceIdentificationServiceImplTest {
+
+    @TempDir
+    Path directory;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private VoiceIdentificationServiceImpl voiceIdentificationService;
+
+    @BeforeEach
+    void setUp() {
+        voiceIdentificationService = new VoiceIdentificationServiceImpl(userRepository, new ScalarSimilarityEngine(), redisTemplate);
+        ReflectionTestUtils.setField(voiceIdentificationService, "similarityThreshold", 0.85);
+        ReflectionTestUtils.setField(voiceIdentificationService, "acceptanceMargin", 0.02);
+        ReflectionTestUtils.setField(voiceIdentificationService, "maxConnections", 16);
+        ReflectionTestUtils.setField(voiceIdentificationService, "efConstruction", 200);
+        ReflectionTestUtils.setField(voiceIdentificationService, "efSearch", 64);
+        ReflectionTestUtils.setField(voiceIdentificationService, "storeEnabled", true);
+        ReflectionTestUtils.setField(voiceIdentificationService, "storeDirectory", directory.toString());
+        ReflectionTestUtils.setField(voiceIdentificationService, "reconcileSkew", Duration.ofMinutes(5));
+    }
+
+    @Test
+    void run_WarmStartReplaysUsersChangedSinceTheStoreHighWater() throws Exception {
+        // Arrange
+        MappedVoicePrintStore store = MappedVoicePrintStore.create(directory, 2);
+        store.put("user-a", new float[]{1.0f, 0.0f});
+        store.put("user-b", new float[]{0.0f, 1.0f});
+        long highWater = 1_700_000_000_000L;
+        store.advanceHighWater(highWater);
+        store.close();
+        User disabled = voiceUser("user-b", null, false);
+        User enrolled = voiceUser("user-c", new float[]{-1.0f, 0.0f}, true);
+        when(userRepository.streamUsersUpdatedSince(any())).thenReturn(Stream.of(disabled, enrolled));
+
+        // Act
+        voiceIdentificationService.run(null);
+
+        // Assert
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(userRepository).streamUsersUpdatedSince(since.capture());
+        assertEquals(highWater - Duration.ofMinutes(5).toMillis(),
+                since.getValue().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        assertEquals(2, voiceIdentificationService.size());
+        assertEquals(Optional.empty(), voiceIdentificationService.identify(new float[]{0.0f, 1.0f}));
+        assertEquals(Optional.of("user-c"), voiceIdentificationService.identify(new float[]{-1.0f, 0.0f}));
+        verifyNoInteractions(redisTemplate);
+        voiceIdentificationService.closeStore();
+    }
+
+    @Test
+    void index_BroadcastsAndOtherNodesReReadTheUser() {
+        // Arrange
+        ReflectionTestUtils.setField(voiceIdentificationService, "storeEnabled", false);
+        VoiceIdentificationServiceImpl otherNode = new VoiceIdentificationServiceImpl(userRepository, new ScalarSimilarityEngine(), redisTemplate);
+        ReflectionTestUtils.setField(otherNode, "similarityThreshold", 0.85);
+        ReflectionTestUtils.setField(otherNode, "maxConnections", 16);
+        ReflectionTestUtils.setField(otherNode, "efConstruction", 200);
+        ReflectionTestUtils.setField(otherNode, "efSearch", 64);
+        when(userRepository.findById("user-a")).thenReturn(Optional.of(voiceUser("user-a", new float[]{1.0f, 0.0f}, true)));
+
+        // Act
+        voiceIdentificationService.index("user-a", VoicePrintCodec.encode(new float[]{1.0f, 0.0f}));
+        ArgumentCaptor<String> message = ArgumentCaptor.forClass(String.class);
+        verify(redisTemplate).convertAndSend(eq(VoiceIdentificationServiceImpl.MUTATION_CHANNEL), message.capture());
+        voiceIdentificationService.refreshLocal(message.getValue());
+        otherNode.refreshLocal(message.getValue());
+
+        // Assert
+        assertEquals(Optional.of("user-a"), otherNode.identify(new float[]{1.0f, 0.0f}));
+        verify(userRepository, times(1)).findById("user-a");
+    }
+
+    @Test
+    void refreshLocal_RemovesUserThatIsGoneFromMongo() {
+        // Arrange
+        ReflectionTestUtils.setField(voiceIdentificationService, "storeEnabled", false);
+        voiceIdentificationService.index("user-a", VoicePrintCodec.encode(new float[]{1.0f, 0.0f}));
+        when(userRepository.findById("user-a")).thenReturn(Optional.empty());
+
+        // Act
+        voiceIdentificationService.refreshLocal("other-node user-a");
+
+        // Assert
+        assertEquals(0, voiceIdentificationService.size());
+    }
+
+    private static User voiceUser(String id, float[] voicePrint, boolean enabled) {
+        User user = new User();
+        user.setId(id);
+        user.setVoicePrint(voicePrint == null ? null : VoicePrintCodec.encode(voicePrint));
+        user.setVoiceAuthEnabled(enabled);
+        return user;
+    }
+}
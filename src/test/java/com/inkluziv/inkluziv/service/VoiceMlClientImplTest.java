@@ -0,0 +1,143 @@
+package com.inkluziv.inkluziv.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.inkluziv.dto.response.PythonEmbeddingResponse;
+import com.inkluziv.exception.FailedToExtractVoiceException;
+import com.inkluziv.service.VoiceMlClientImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoiceMlClientImplTest {
+
+    private StubVoiceMlServer server;
+    private VoiceMlClientImpl voiceMlClient;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new StubVoiceMlServer();
+        voiceMlClient = new VoiceMlClientImpl(HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build(), new ObjectMapper());
+        ReflectionTestUtils.setField(voiceMlClient, "pythonMicroserviceUrl", server.url());
+        ReflectionTestUtils.setField(voiceMlClient, "readTimeout", Duration.ofSeconds(5));
+        ReflectionTestUtils.setField(voiceMlClient, "batchingEnabled", true);
+        ReflectionTestUtils.setField(voiceMlClient, "batchWindowMs", 50L);
+        ReflectionTestUtils.setField(voiceMlClient, "batchMaxSize", 16);
+        ReflectionTestUtils.setField(voiceMlClient, "queueCapacity", 64);
+        voiceMlClient.startDispatcher();
+    }
+
+    @AfterEach
+    void tearDown() {
+        voiceMlClient.stopDispatcher();
+        server.close();
+    }
+
+    @Test
+    void testExtractEmbedding_SendsExactContentLength() {
+        // Arrange
+        byte[] audio = new byte[50_000];
+        audio[0] = 42;
+
+        // Act
+        PythonEmbeddingResponse response = voiceMlClient.extractEmbedding(sample("sample.wav", audio));
+
+        // Assert
+        assertEquals("sample.wav", response.getFile_id());
+        assertEquals(2, response.getEmbedding().length);
+        StubVoiceMlServer.Received received = server.requests().get(0);
+        assertEquals("/extract-embedding", received.path());
+        assertNull(received.transferEncoding());
+        assertEquals(received.body().length, Long.parseLong(received.contentLength()));
+        assertTrue(received.body().length > audio.length);
+    }
+
+    @Test
+    void testExtractEmbedding_StripsControlCharactersFromPartHeader() {
+        // Act
+        PythonEmbeddingResponse response = voiceMlClient.extractEmbedding(
+                new MockMultipartFile("voiceSample", "sample.wav\r\nX-Injected: 1", "audio/wav\r\nX-Other: 2", new byte[]{1, 2}));
+
+        // Assert
+        String body = new String(server.requests().get(0).body(), StandardCharsets.ISO_8859_1);
+        assertEquals("sample.wavX-Injected: 1", response.getFile_id());
+        assertFalse(body.contains("\r\nX-Injected"));
+        assertFalse(body.contains("\r\nX-Other"));
+    }
+
+    @Test
+    void testExtractEmbedding_NonOkStatusThrows() {
+        // Arrange
+        server.respondWith(500);
+
+        // Act & Assert
+        assertThrows(FailedToExtractVoiceException.class, () -> voiceMlClient.extractEmbedding(sample("sample.wav", new byte[]{1, 2})));
+    }
+
+    @Test
+    void testExtractEmbedding_RequestThatCannotBeBuiltFailsOnlyItsCaller() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> voiceMlClient.extractEmbedding(sample("empty.wav", new byte[0])));
+        assertEquals("sample.wav", voiceMlClient.extractEmbedding(sample("sample.wav", new byte[]{1, 2})).getFile_id());
+    }
+
+    @Test
+    void testExtractEmbedding_ConcurrentCallsAreBatched() {
+        // Arrange
+        int callers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        // Act
+        List<CompletableFuture<PythonEmbeddingResponse>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            MockMultipartFile sample = sample("caller-" + i + ".wav", new byte[]{(byte) i, 1, 2, 3});
+            results.add(CompletableFuture.supplyAsync(() -> voiceMlClient.extractEmbedding(sample), executor));
+        }
+
+        // Assert
+        for (int i = 0; i < callers; i++) {
+            assertEquals("caller-" + i + ".wav", results.get(i).join().getFile_id());
+        }
+        assertTrue(server.requests().size() < callers);
+        assertTrue(server.requests().stream().anyMatch(received -> received.path().equals("/extract-embeddings")));
+        server.requests().forEach(received -> assertEquals(received.body().length, Long.parseLong(received.contentLength())));
+        executor.shutdown();
+    }
+
+    @Test
+    void testExtractEmbedding_FallsBackWhenBatchEndpointMissing() {
+        // Arrange
+        server.withoutBatchEndpoint();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // Act
+        List<CompletableFuture<PythonEmbeddingResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            MockMultipartFile sample = sample("caller-" + i + ".wav", new byte[]{(byte) i});
+            results.add(CompletableFuture.supplyAsync(() -> voiceMlClient.extractEmbedding(sample), executor));
+        }
+
+        // Assert
+        for (int i = 0; i < 4; i++) {
+            assertEquals("caller-" + i + ".wav", results.get(i).join().getFile_id());
+        }
+        executor.shutdown();
+    }
+
+    private MockMultipartFile sample(String filename, byte[] audio) {
+        return new MockMultipartFile("voiceSample", filename, "audio/wav", audio);
+    }
+}
@@ -0,0 +1,77 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.exception.InvalidVoiceInputException;
+import com.inkluziv.exception.NoVoiceInputException;
+import com.inkluziv.util.AudioPreprocessor;
+import com.inkluziv.util.PcmAudio;
+import com.inkluziv.util.WavDecoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AudioPreprocessorTest {
+
+    private final AudioPreprocessor preprocessor = new AudioPreprocessor(5, 40);
+
+    @Test
+    void testPrepare_DownmixesResamplesAndTrimsSilence() throws IOException {
+        MockMultipartFile upload = new MockMultipartFile("voiceSample", "clip.wav", "audio/wav",
+                stereoWav(44_100, 0.5, 1.0, 0.5));
+
+        MultipartFile prepared = preprocessor.prepare(upload);
+        PcmAudio audio = WavDecoder.decode(prepared.getInputStream());
+
+        assertEquals(16_000, audio.sampleRate());
+        assertEquals(1.2, audio.durationSeconds(), 0.05);
+        assertEquals("clip.wav", prepared.getOriginalFilename());
+        assertTrue(prepared.getSize() < upload.getSize() / 4);
+    }
+
+    @Test
+    void testPrepare_RejectsOverLongClipFromHeader() {
+        MockMultipartFile upload = new MockMultipartFile("voiceSample", "long.wav", "audio/wav",
+                stereoWav(8_000, 0.0, 6.0, 0.0));
+
+        assertThrows(InvalidVoiceInputException.class, () -> preprocessor.prepare(upload));
+    }
+
+    @Test
+    void testPrepare_RejectsSilence() {
+        MockMultipartFile upload = new MockMultipartFile("voiceSample", "quiet.wav", "audio/wav",
+                stereoWav(16_000, 1.0, 0.0, 0.0));
+
+        assertThrows(NoVoiceInputException.class, () -> preprocessor.prepare(upload));
+    }
+
+    @Test
+    void testPrepare_PassesThroughNonWavInput() throws IOException {
+        MockMultipartFile upload = new MockMultipartFile("voiceSample", "clip.mp3", "audio/mpeg",
+                "ID3 compressed audio".getBytes(StandardCharsets.US_ASCII));
+
+        assertSame(upload, preprocessor.prepare(upload));
+    }
+
+    private static byte[] stereoWav(int sampleRate, double leadingSilence, double tone, double trailingSilence) {
+        int silenceBefore = (int) (sampleRate * leadingSilence);
+        int toneSamples = (int) (sampleRate * tone);
+        int frames = silenceBefore + toneSamples + (int) (sampleRate * trailingSilence);
+        ByteBuffer wav = ByteBuffer.allocate(44 + frames * 4).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36 + frames * 4).put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        wav.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 2)
+                .putInt(sampleRate).putInt(sampleRate * 4).putShort((short) 4).putShort((short) 16);
+        wav.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(frames * 4);
+        for (int i = 0; i < frames; i++) {
+            boolean speaking = i >= silenceBefore && i < silenceBefore + toneSamples;
+            short value = speaking ? (short) (Math.sin(2 * Math.PI * 300.0 * i / sampleRate) * 10_000) : 0;
+            wav.putShort(value).putShort(value);
+        }
+        return wav.array();
+    }
+}
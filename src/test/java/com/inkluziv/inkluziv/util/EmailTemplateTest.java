@@ -0,0 +1,55 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.util.EmailTemplate;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmailTemplateTest {
+
+    @Test
+    void render_SubstitutesAndEscapesPlaceholders() {
+        // Arrange
+        EmailTemplate template = EmailTemplate.compile("alert", "<p>{{ event }}</p><div>{{{html}}}</div>{{event}}");
+
+        // Act
+        String rendered = template.render(Map.of("event", "<script>\"x\" & 'y'</script>", "html", "<b>ok</b>"));
+
+        // Assert
+        assertEquals("<p>&lt;script&gt;&quot;x&quot; &amp; &#39;y&#39;&lt;/script&gt;</p><div><b>ok</b></div>"
+                + "&lt;script&gt;&quot;x&quot; &amp; &#39;y&#39;&lt;/script&gt;", rendered);
+        assertEquals(Set.of("event", "html"), template.variables());
+    }
+
+    @Test
+    void render_ReusesPooledBufferAcrossCalls() {
+        // Arrange
+        EmailTemplate template = EmailTemplate.compile("otp", "Code: {{otp}} valid for {{minutes}} minutes");
+
+        // Act
+        String first = template.render(Map.of("otp", "123456", "minutes", 2));
+        String second = template.render(Map.of("otp", "654321", "minutes", 5));
+
+        // Assert
+        assertEquals("Code: 123456 valid for 2 minutes", first);
+        assertEquals("Code: 654321 valid for 5 minutes", second);
+    }
+
+    @Test
+    void render_MissingValue_Throws() {
+        // Arrange
+        EmailTemplate template = EmailTemplate.compile("otp", "Code: {{otp}}");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    void compile_UnclosedPlaceholder_Throws() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> EmailTemplate.compile("broken", "Code: {{otp"));
+    }
+}
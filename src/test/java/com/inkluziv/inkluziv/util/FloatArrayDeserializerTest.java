@@ -0,0 +1,45 @@
+package com.inkluziv.inkluziv.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.inkluziv.dto.response.PythonEmbeddingResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FloatArrayDeserializerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deserialize_ReadsEmbeddingIntoFloatArray() throws Exception {
+        String json = "{\"file_id\":\"f\",\"embedding\":[0.5,-2,1.5e-3,-179.73248],\"feature_count\":4}";
+
+        PythonEmbeddingResponse response = objectMapper.readValue(json, PythonEmbeddingResponse.class);
+
+        assertArrayEquals(new float[]{0.5f, -2f, 1.5e-3f, -179.73248f}, response.getEmbedding());
+        assertEquals(4, response.getFeature_count());
+    }
+
+    @Test
+    void deserialize_GrowsPastInitialCapacity() throws Exception {
+        StringJoiner values = new StringJoiner(",", "{\"embedding\":[", "]}");
+        for (int i = 0; i < 2000; i++) {
+            values.add(Integer.toString(i));
+        }
+
+        float[] embedding = objectMapper.readValue(values.toString(), PythonEmbeddingResponse.class).getEmbedding();
+
+        assertEquals(2000, embedding.length);
+        assertEquals(1999f, embedding[1999]);
+    }
+
+    @Test
+    void deserialize_NullAndNonNumericValues() throws Exception {
+        assertNull(objectMapper.readValue("{\"embedding\":null}", PythonEmbeddingResponse.class).getEmbedding());
+        assertThrows(MismatchedInputException.class,
+                () -> objectMapper.readValue("{\"embedding\":[0.1,\"x\"]}", PythonEmbeddingResponse.class));
+    }
+}
@@ -0,0 +1,154 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.util.HnswIndex;
+import com.inkluziv.util.OnHeapVectorStore;
+import com.inkluziv.util.QuantizedVectorStore;
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.SimilarityEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HnswIndexTest {
+
+    private static final int DIMENSION = 32;
+
+    private final SimilarityEngine similarityEngine = new ScalarSimilarityEngine();
+
+    @Test
+    void search_FindsExactNearestNeighbourWithHighRecall() {
+        Random random = new Random(7);
+        int size = 2000;
+        float[][] vectors = new float[size][];
+        HnswIndex index = new HnswIndex(similarityEngine, new OnHeapVectorStore(DIMENSION), 16, 200, 64);
+        for (int node = 0; node < size; node++) {
+            vectors[node] = randomVector(random);
+            index.upsert("user-" + node, vectors[node]);
+        }
+
+        int hits = 0;
+        int queries = 200;
+        for (int query = 0; query < queries; query++) {
+            float[] probe = randomVector(random);
+            List<HnswIndex.Match> matches = index.search(probe, 1);
+            if (matches.get(0).key().equals("user-" + bruteForceNearest(vectors, probe))) {
+                hits++;
+            }
+        }
+
+        assertEquals(size, index.size());
+        assertTrue(hits >= queries * 0.95, "recall@1 was " + hits + "/" + queries);
+    }
+
+    @Test
+    void search_ScoresAreCosineSimilarity() {
+        HnswIndex index = new HnswIndex(similarityEngine, new OnHeapVectorStore(3), 16, 200, 64);
+        index.upsert("a", new float[]{3.0f, 4.0f, 0.0f});
+
+        List<HnswIndex.Match> matches = index.search(new float[]{6.0f, 8.0f, 0.0f}, 1);
+
+        assertEquals("a", matches.get(0).key());
+        assertEquals(1.0, matches.get(0).score(), 1e-6);
+    }
+
+    @Test
+    void upsert_ReplacesExistingKey() {
+        HnswIndex index = new HnswIndex(similarityEngine, new OnHeapVectorStore(3), 16, 200, 64);
+        index.upsert("a", new float[]{1.0f, 0.0f, 0.0f});
+        index.upsert("b", new float[]{0.0f, 1.0f, 0.0f});
+
+        index.upsert("a", new float[]{0.0f, 0.0f, 1.0f});
+
+        assertEquals(2, index.size());
+        assertEquals("a", index.search(new float[]{0.0f, 0.0f, 1.0f}, 1).get(0).key());
+        assertEquals("b", index.search(new float[]{1.0f, 0.1f, 0.0f}, 1).get(0).key());
+    }
+
+    @Test
+    void remove_ExcludesKeyFromResults() {
+        Random random = new Random(11);
+        HnswIndex index = new HnswIndex(similarityEngine, new OnHeapVectorStore(DIMENSION), 8, 100, 32);
+        for (int node = 0; node < 100; node++) {
+            index.upsert("user-" + node, randomVector(random));
+        }
+
+        for (int node = 0; node < 80; node++) {
+            assertTrue(index.remove("user-" + node));
+        }
+
+        assertEquals(20, index.size());
+        assertFalse(index.remove("user-0"));
+        for (HnswIndex.Match match : index.search(randomVector(random), 20)) {
+            assertTrue(Integer.parseInt(match.key().substring(5)) >= 80);
+        }
+    }
+
+    @Test
+    void exactSearch_MatchesGraphSearchOnTopResult() {
+        Random random = new Random(3);
+        HnswIndex index = new HnswIndex(similarityEngine, new OnHeapVectorStore(DIMENSION), 16, 200, 64);
+        for (int node = 0; node < 300; node++) {
+            index.upsert("user-" + node, randomVector(random));
+        }
+        float[] probe = randomVector(random);
+
+        HnswIndex.Match exact = index.exactSearch(probe, 1).get(0);
+        HnswIndex.Match approximate = index.search(probe, 1).get(0);
+
+        assertEquals(exact.key(), approximate.key());
+        assertEquals(exact.score(), approximate.score(), 1e-9);
+    }
+
+    private int bruteForceNearest(float[][] vectors, float[] probe) {
+        int best = -1;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (int node = 0; node < vectors.length; node++) {
+            double score = similarityEngine.cosine(vectors[node], probe);
+            if (score > bestScore) {
+                bestScore = score;
+                best = node;
+            }
+        }
+        return best;
+    }
+
+    @Test
+    void search_OverQuantizedStoreKeepsRecallAndReturnsExactScores() {
+        Random random = new Random(13);
+        int size = 2000;
+        float[][] vectors = new float[size][];
+        HnswIndex index = new HnswIndex(similarityEngine, new QuantizedVectorStore(new OnHeapVectorStore(DIMENSION)), 16, 200, 64);
+        for (int node = 0; node < size; node++) {
+            vectors[node] = randomVector(random);
+            index.upsert("user-" + node, vectors[node]);
+        }
+
+        int hits = 0;
+        int queries = 200;
+        for (int query = 0; query < queries; query++) {
+            float[] probe = randomVector(random);
+            HnswIndex.Match match = index.search(probe, 1).get(0);
+            int nearest = bruteForceNearest(vectors, probe);
+            if (match.key().equals("user-" + nearest)) {
+                hits++;
+                assertEquals(similarityEngine.cosine(probe, vectors[nearest]), match.score(), 1e-5);
+            }
+        }
+
+        assertTrue(hits >= queries * 0.95, "recall@1 was " + hits + "/" + queries);
+        HnswIndex.Match exact = index.exactSearch(vectors[42], 1).get(0);
+        assertEquals("user-42", exact.key());
+        assertEquals(1.0, exact.score(), 1e-5);
+    }
+
+    private static float[] randomVector(Random random) {
+        float[] vector = new float[DIMENSION];
+        for (int index = 0; index < DIMENSION; index++) {
+            vector[index] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
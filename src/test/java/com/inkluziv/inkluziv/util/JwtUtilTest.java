@@ -0,0 +1,92 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.data.enums.Role;
+import com.inkluziv.exception.InvalidTokenException;
+import com.inkluziv.util.JwtUtil;
+import com.inkluziv.util.TokenPrincipal;
+import com.inkluziv.util.VerifiedClaims;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private JwtUtil jwtUtil;
+    private final UserDetails userDetails = User.withUsername("test@example.com").password("x").authorities(List.of()).build();
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", Base64.getEncoder().encodeToString(new byte[32]));
+        ReflectionTestUtils.setField(jwtUtil, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(jwtUtil, "cacheTtl", Duration.ofMinutes(5));
+        jwtUtil.init();
+    }
+
+    @Test
+    void verify_ReturnsSubjectAndClaimsFromOneParse() {
+        String token = jwtUtil.generateToken(Map.of("role", "USER"), userDetails);
+
+        VerifiedClaims claims = jwtUtil.verify(token);
+
+        assertEquals("test@example.com", claims.subject());
+        assertEquals("USER", claims.get("role", String.class));
+        assertTrue(claims.expiresAt().isAfter(claims.issuedAt()));
+        assertThrows(UnsupportedOperationException.class, () -> claims.claims().put("role", "ADMIN"));
+        assertTrue(jwtUtil.isValidToken(token, userDetails));
+    }
+
+    @Test
+    void verify_RepeatedTokenServedFromCache() {
+        String token = jwtUtil.generateToken(userDetails);
+
+        assertSame(jwtUtil.verify(token), jwtUtil.verify(token));
+    }
+
+    @Test
+    void verify_RejectsTamperedPayloadEvenWithCachedSignature() {
+        String token = jwtUtil.generateToken(userDetails);
+        jwtUtil.verify(token);
+        String[] parts = token.split("\\.");
+        String forgedPayload = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("{\"sub\":\"admin@example.com\"}".getBytes());
+
+        assertThrows(InvalidTokenException.class, () -> jwtUtil.verify(parts[0] + "." + forgedPayload + "." + parts[2]));
+        assertThrows(InvalidTokenException.class, () -> jwtUtil.verify("not-a-token"));
+    }
+
+    @Test
+    void principalOf_RebuildsUserFromTokenClaims() {
+        com.inkluziv.data.model.User user = new com.inkluziv.data.model.User();
+        user.setId("user-1");
+        user.setEmail("test@example.com");
+        user.setRole(Role.ADMIN);
+        user.setActive(true);
+
+        TokenPrincipal principal = jwtUtil.principalOf(jwtUtil.verify(jwtUtil.generateToken(user))).orElseThrow();
+
+        assertEquals(new TokenPrincipal("user-1", "test@example.com", Role.ADMIN, true), principal);
+        assertEquals(List.of(Role.ADMIN), principal.getAuthorities());
+        assertTrue(jwtUtil.principalOf(jwtUtil.verify(jwtUtil.generateToken(userDetails))).isEmpty());
+    }
+
+    @Test
+    void principalOf_IsEmptyForInactiveUser() {
+        com.inkluziv.data.model.User user = new com.inkluziv.data.model.User();
+        user.setId("user-1");
+        user.setEmail("test@example.com");
+        user.setRole(Role.ADMIN);
+        user.setActive(false);
+
+        assertTrue(jwtUtil.principalOf(jwtUtil.verify(jwtUtil.generateToken(user))).isEmpty());
+    }
+}
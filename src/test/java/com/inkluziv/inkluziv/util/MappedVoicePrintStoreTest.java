@@ -0,0 +1,114 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.util.MappedVoicePrintStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedVoicePrintStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void open_RestoresLiveRecordsAndTombstones() throws IOException {
+        MappedVoicePrintStore store = MappedVoicePrintStore.create(directory, 3);
+        store.put("64f0c0ffee0000000000000a", new float[]{1.0f, 2.0f, 3.0f});
+        store.put("64f0c0ffee0000000000000b", new float[]{4.0f, 5.0f, 6.0f});
+        store.put("64f0c0ffee0000000000000a", new float[]{7.0f, 8.0f, 9.0f});
+        store.put("64f0c0ffee0000000000000c", new float[]{0.5f, 0.5f, 0.5f});
+        store.remove("64f0c0ffee0000000000000c");
+        store.close();
+
+        MappedVoicePrintStore reopened = MappedVoicePrintStore.open(directory);
+        float[] vector = new float[3];
+        reopened.read(reopened.slotOf("64f0c0ffee0000000000000a"), vector);
+
+        assertAll(
+                () -> assertEquals(3, reopened.dimension()),
+                () -> assertEquals(4, reopened.slotCount()),
+                () -> assertEquals(2, reopened.liveCount()),
+                () -> assertEquals(2, reopened.tombstoneCount()),
+                () -> assertEquals(-1, reopened.slotOf("64f0c0ffee0000000000000c")),
+                () -> assertArrayEquals(new float[]{7.0f, 8.0f, 9.0f}, vector)
+        );
+    }
+
+    @Test
+    void highWater_SurvivesReopenAndCompaction() throws IOException {
+        MappedVoicePrintStore store = MappedVoicePrintStore.create(directory, 2);
+        assertEquals(0, store.highWater());
+        store.put("user-1", new float[]{1.0f, 0.0f});
+        store.advanceHighWater(1_700_000_000_000L);
+        store.advanceHighWater(1_600_000_000_000L);
+        store.close();
+
+        MappedVoicePrintStore reopened = MappedVoicePrintStore.open(directory);
+        MappedVoicePrintStore compacted = reopened.compact();
+
+        assertEquals(1_700_000_000_000L, reopened.highWater());
+        assertEquals(1_700_000_000_000L, compacted.highWater());
+    }
+
+    @Test
+    void put_GrowsAcrossSegments() throws IOException {
+        MappedVoicePrintStore store = MappedVoicePrintStore.create(directory, 2);
+        int records = 70_000;
+        for (int index = 0; index < records; index++) {
+            store.put("user-" + index, new float[]{index, -index});
+        }
+        store.close();
+
+        MappedVoicePrintStore reopened = MappedVoicePrintStore.open(directory);
+        float[] vector = new float[2];
+        reopened.read(reopened.slotOf("user-69999"), vector);
+
+        assertEquals(records, reopened.liveCount());
+        assertArrayEquals(new float[]{69999.0f, -69999.0f}, vector);
+    }
+
+    @Test
+    void compact_DropsTombstonesAndPublishesNewGeneration() throws IOException {
+        MappedVoicePrintStore store = MappedVoicePrintStore.create(directory, 2);
+        for (int index = 0; index < 10; index++) {
+            store.put("user-" + index, new float[]{index, index});
+        }
+        for (int index = 0; index < 8; index++) {
+            store.remove("user-" + index);
+        }
+
+        MappedVoicePrintStore compacted = store.compact();
+        store.deleteFiles();
+        compacted.close();
+
+        MappedVoicePrintStore reopened = MappedVoicePrintStore.open(directory);
+        float[] vector = new float[2];
+        reopened.read(reopened.slotOf("user-9"), vector);
+
+        assertAll(
+                () -> assertEquals(2, reopened.slotCount()),
+                () -> assertEquals(0, reopened.tombstoneCount()),
+                () -> assertArrayEquals(new float[]{9.0f, 9.0f}, vector),
+                () -> assertEquals(1, countSegmentFiles())
+        );
+    }
+
+    @Test
+    void put_RejectsWrongDimension() throws IOException {
+        MappedVoicePrintStore store = MappedVoicePrintStore.create(directory, 2);
+
+        assertThrows(IllegalArgumentException.class, () -> store.put("user", new float[]{1.0f}));
+    }
+
+    private long countSegmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".seg")).count();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.exception.InvalidVoiceInputException;
+import com.inkluziv.util.MfccFeatureExtractor;
+import com.inkluziv.util.PcmAudio;
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.WavDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MfccFeatureExtractorTest {
+
+    private final MfccFeatureExtractor extractor = new MfccFeatureExtractor();
+    private final ScalarSimilarityEngine engine = new ScalarSimilarityEngine();
+
+    @Test
+    void testExtract_ProducesNormalisedFixedSizeEmbedding() {
+        float[] embedding = extractor.extract(new PcmAudio(tone(16_000, 1.0, 220.0, 0.4), 16_000));
+
+        assertEquals(extractor.dimension(), embedding.length);
+        assertEquals(1.0, engine.squaredNorm(embedding), 1e-4);
+    }
+
+    @Test
+    void testExtract_SimilarSignalsScoreHigherThanDifferentOnes() {
+        float[] low = extractor.extract(new PcmAudio(tone(16_000, 1.0, 220.0, 0.4), 16_000));
+        float[] lowQuieter = extractor.extract(new PcmAudio(tone(16_000, 1.0, 220.0, 0.1), 16_000));
+        float[] high = extractor.extract(new PcmAudio(tone(16_000, 1.0, 2_500.0, 0.4), 16_000));
+
+        assertTrue(engine.cosine(low, lowQuieter) > engine.cosine(low, high));
+    }
+
+    @Test
+    void testExtract_ResamplesToAnalysisRate() {
+        float[] native16k = extractor.extract(new PcmAudio(tone(16_000, 1.0, 440.0, 0.4), 16_000));
+        float[] from44k = extractor.extract(new PcmAudio(tone(44_100, 1.0, 440.0, 0.4), 44_100));
+
+        assertTrue(engine.cosine(native16k, from44k) > 0.95);
+    }
+
+    @Test
+    void testWavDecoder_DownmixesStereoSixteenBit() throws IOException {
+        ByteBuffer wav = ByteBuffer.allocate(44 + 8).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(44).put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        wav.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 2)
+                .putInt(8_000).putInt(32_000).putShort((short) 4).putShort((short) 16);
+        wav.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(8);
+        wav.putShort((short) 16_384).putShort((short) 0).putShort((short) -32_768).putShort((short) -32_768);
+
+        PcmAudio audio = WavDecoder.decode(new ByteArrayInputStream(wav.array()));
+
+        assertEquals(8_000, audio.sampleRate());
+        assertArrayEquals(new float[]{0.25f, -1f}, audio.samples(), 1e-6f);
+    }
+
+    @Test
+    void testWavDecoder_RejectsNonWavInput() {
+        assertThrows(InvalidVoiceInputException.class,
+                () -> WavDecoder.decode(new ByteArrayInputStream("ID3 not a wav file".getBytes(StandardCharsets.US_ASCII))));
+    }
+
+    @Test
+    void testWavDecoder_RejectsImplausibleSampleRate() {
+        ByteBuffer wav = ByteBuffer.allocate(44).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(36).put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        wav.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(Integer.MAX_VALUE).putInt(0).putShort((short) 4).putShort((short) 32);
+        wav.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(0xFFFFFFFC);
+
+        assertThrows(InvalidVoiceInputException.class, () -> WavDecoder.decode(new ByteArrayInputStream(wav.array()), 30));
+    }
+
+    @Test
+    void testWavDecoder_OversizedDataChunkDecodesOnlyWhatArrives() throws IOException {
+        ByteBuffer wav = ByteBuffer.allocate(44 + 4).order(ByteOrder.LITTLE_ENDIAN);
+        wav.put("RIFF".getBytes(StandardCharsets.US_ASCII)).putInt(40).put("WAVE".getBytes(StandardCharsets.US_ASCII));
+        wav.put("fmt ".getBytes(StandardCharsets.US_ASCII)).putInt(16).putShort((short) 1).putShort((short) 1)
+                .putInt(8_000).putInt(16_000).putShort((short) 2).putShort((short) 16);
+        wav.put("data".getBytes(StandardCharsets.US_ASCII)).putInt(0x7FFFFFFE);
+        wav.putShort((short) 16_384).putShort((short) -16_384);
+
+        PcmAudio audio = WavDecoder.decode(new ByteArrayInputStream(wav.array()));
+
+        assertArrayEquals(new float[]{0.5f, -0.5f}, audio.samples(), 1e-6f);
+    }
+
+    private static float[] tone(int sampleRate, double seconds, double frequency, double amplitude) {
+        float[] samples = new float[(int) (sampleRate * seconds)];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = (float) (amplitude * Math.sin(2 * Math.PI * frequency * i / sampleRate)
+                    + 0.01 * Math.sin(2 * Math.PI * 97.0 * i / sampleRate));
+        }
+        return samples;
+    }
+}
@@ -0,0 +1,94 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.ScoreCohort;
+import com.inkluziv.util.SimilarityEngine;
+import com.inkluziv.util.VectorSimilarityEngine;
+import com.inkluziv.util.VoicePrintCodec;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreCohortTest {
+
+    private final SimilarityEngine scalar = new ScalarSimilarityEngine();
+
+    @Test
+    void statistics_WholeCohortMatchesDirectComputation() {
+        Random random = new Random(5);
+        List<float[]> impostors = randomVectors(random, 300, 40);
+        ScoreCohort cohort = ScoreCohort.of(impostors);
+        float[] probe = scalar.normalize(randomVector(random, 40));
+
+        ScoreCohort.Statistics statistics = cohort.statistics(scalar, probe, 0);
+
+        double[] scores = impostors.stream().mapToDouble(impostor -> scalar.cosine(probe, impostor)).toArray();
+        double mean = Arrays.stream(scores).average().orElseThrow();
+        double deviation = Math.sqrt(Arrays.stream(scores).map(score -> (score - mean) * (score - mean)).average().orElseThrow());
+        assertEquals(mean, statistics.mean(), 1e-5);
+        assertEquals(deviation, statistics.deviation(), 1e-5);
+    }
+
+    @Test
+    void statistics_TopNCountsOnlyClosestImpostors() {
+        Random random = new Random(9);
+        List<float[]> impostors = randomVectors(random, 500, 40);
+        ScoreCohort cohort = ScoreCohort.of(impostors);
+        float[] probe = scalar.normalize(randomVector(random, 40));
+
+        ScoreCohort.Statistics statistics = cohort.statistics(new VectorSimilarityEngine(), probe, 50);
+
+        double expectedMean = impostors.stream().mapToDouble(impostor -> scalar.cosine(probe, impostor))
+                .boxed().sorted((first, second) -> Double.compare(second, first))
+                .limit(50).mapToDouble(Double::doubleValue).average().orElseThrow();
+        assertEquals(expectedMean, statistics.mean(), 1e-5);
+        assertTrue(statistics.mean() > cohort.statistics(scalar, probe, 0).mean());
+    }
+
+    @Test
+    void sNorm_AveragesBothZScores() {
+        double normalized = ScoreCohort.sNorm(0.8, new ScoreCohort.Statistics(0.2, 0.1), new ScoreCohort.Statistics(0.4, 0.2));
+
+        assertEquals(0.5 * (6.0 + 2.0), normalized, 1e-9);
+    }
+
+    @Test
+    void load_ReadsConcatenatedVoicePrints(@TempDir Path directory) throws Exception {
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        file.write(VoicePrintCodec.encode(new float[]{3f, 4f, 0f}));
+        file.write(VoicePrintCodec.encode(new float[]{0f, 0f, 2f}));
+        Path path = directory.resolve("cohort.bin");
+        Files.write(path, file.toByteArray());
+
+        ScoreCohort cohort = ScoreCohort.load(path);
+
+        assertEquals(2, cohort.size());
+        assertEquals(3, cohort.dimension());
+        assertEquals(0.6, cohort.statistics(scalar, new float[]{1f, 0f, 0f}, 1).mean(), 1e-6);
+    }
+
+    private static List<float[]> randomVectors(Random random, int count, int dimension) {
+        List<float[]> vectors = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vectors.add(randomVector(random, dimension));
+        }
+        return vectors;
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int i = 0; i < dimension; i++) {
+            vector[i] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
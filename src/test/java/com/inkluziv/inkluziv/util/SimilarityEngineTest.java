@@ -0,0 +1,104 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.data.enums.SimilarityMode;
+import com.inkluziv.util.ScalarSimilarityEngine;
+import com.inkluziv.util.SimilarityEngine;
+import com.inkluziv.util.VectorSimilarityEngine;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimilarityEngineTest {
+
+    private final SimilarityEngine scalar = new ScalarSimilarityEngine();
+    private final SimilarityEngine vector = new VectorSimilarityEngine();
+
+    @Test
+    void vectorEngine_MatchesScalarForAllModes() {
+        Random random = new Random(42);
+        for (int dimension : new int[]{1, 7, 58, 192, 515}) {
+            float[] first = randomVector(random, dimension);
+            float[] second = randomVector(random, dimension);
+            for (SimilarityMode mode : SimilarityMode.values()) {
+                assertEquals(scalar.similarity(mode, first, second), vector.similarity(mode, first, second), 1e-3,
+                        mode + " at dimension " + dimension);
+            }
+        }
+    }
+
+    @Test
+    void vectorEngine_Int8DotMatchesScalar() {
+        Random random = new Random(11);
+        for (int length : new int[]{1, 8, 57, 192}) {
+            byte[] first = new byte[length + 3];
+            byte[] second = new byte[length + 5];
+            random.nextBytes(first);
+            random.nextBytes(second);
+            assertEquals(scalar.dotInt8(first, 3, second, 5, length), vector.dotInt8(first, 3, second, 5, length),
+                    "length " + length);
+        }
+    }
+
+    @Test
+    void vectorEngine_DotRowsMatchesScalar() {
+        Random random = new Random(23);
+        for (int dimension : new int[]{3, 40, 192}) {
+            for (int rows : new int[]{1, 4, 7}) {
+                float[] probe = randomVector(random, dimension);
+                float[] matrix = randomVector(random, dimension * rows);
+                float[] expected = new float[rows];
+                float[] actual = new float[rows];
+
+                scalar.dotRows(probe, matrix, rows, expected);
+                vector.dotRows(probe, matrix, rows, actual);
+
+                assertArrayEquals(expected, actual, 1e-3f, rows + " rows at dimension " + dimension);
+            }
+        }
+    }
+
+    @Test
+    void cosine_IdenticalVectorsScoreOne() {
+        float[] voicePrint = {-179.7f, 80.4f, 25.7f, 26.5f, 0.96f};
+
+        assertAll(
+                () -> assertEquals(1.0, scalar.similarity(SimilarityMode.COSINE, voicePrint, voicePrint), 1e-6),
+                () -> assertEquals(1.0, vector.similarity(SimilarityMode.COSINE, voicePrint, voicePrint), 1e-6)
+        );
+    }
+
+    @Test
+    void dotProduct_OnNormalizedVectorsEqualsCosine() {
+        float[] first = {3.0f, 4.0f, 0.0f};
+        float[] second = {4.0f, 3.0f, 0.0f};
+        double cosine = scalar.cosine(first, second);
+
+        double dot = vector.similarity(SimilarityMode.DOT_PRODUCT,
+                vector.normalize(first.clone()), vector.normalize(second.clone()));
+
+        assertEquals(cosine, dot, 1e-6);
+    }
+
+    @Test
+    void euclidean_IdenticalVectorsScoreOne() {
+        float[] voicePrint = {1.0f, 2.0f, 3.0f};
+
+        assertEquals(1.0, vector.similarity(SimilarityMode.EUCLIDEAN, voicePrint, voicePrint), 1e-9);
+    }
+
+    @Test
+    void similarity_LengthMismatch() {
+        assertThrows(IllegalArgumentException.class,
+                () -> scalar.similarity(SimilarityMode.COSINE, new float[2], new float[3]));
+    }
+
+    private static float[] randomVector(Random random, int dimension) {
+        float[] vector = new float[dimension];
+        for (int index = 0; index < dimension; index++) {
+            vector[index] = (float) random.nextGaussian();
+        }
+        return vector;
+    }
+}
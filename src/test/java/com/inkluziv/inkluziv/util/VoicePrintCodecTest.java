@@ -0,0 +1,75 @@
+package com.inkluziv.inkluziv.util;
+
+import com.inkluziv.exception.InvalidVoicePrintException;
+import com.inkluziv.util.VoicePrintCodec;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VoicePrintCodecTest {
+
+    @Test
+    void encodeDecode_RoundTrip() {
+        float[] vector = {-179.73248f, 80.43237f, 0.0f, 1.0E-6f, 125.0f};
+
+        byte[] encoded = VoicePrintCodec.encode(vector);
+
+        assertAll(
+                () -> assertEquals(VoicePrintCodec.HEADER_BYTES + vector.length * Float.BYTES, encoded.length),
+                () -> assertTrue(VoicePrintCodec.isEncoded(encoded)),
+                () -> assertEquals(vector.length, VoicePrintCodec.dimension(encoded)),
+                () -> assertArrayEquals(vector, VoicePrintCodec.decode(encoded))
+        );
+    }
+
+    @Test
+    void encode_IsLittleEndian() {
+        byte[] encoded = VoicePrintCodec.encode(new float[]{1.0f});
+
+        int bits = (encoded[8] & 0xFF) | (encoded[9] & 0xFF) << 8 | (encoded[10] & 0xFF) << 16 | (encoded[11] & 0xFF) << 24;
+        assertEquals(Float.floatToIntBits(1.0f), bits);
+    }
+
+    @Test
+    void decode_TruncatedPrint() {
+        byte[] encoded = VoicePrintCodec.encode(new float[]{1.0f, 2.0f, 3.0f});
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 1);
+
+        assertThrows(InvalidVoicePrintException.class, () -> VoicePrintCodec.decode(truncated));
+    }
+
+    @Test
+    void decode_NotEncoded() {
+        assertThrows(InvalidVoicePrintException.class, () -> VoicePrintCodec.decode("1.0, 2.0".getBytes()));
+    }
+
+    @Test
+    void parseLegacy_ListToStringForm() {
+        assertArrayEquals(new float[]{-179.73248f, 80.43237f, 125.0f},
+                VoicePrintCodec.parseLegacy("[-179.73248291015625, 80.432373046875, 125.0]"));
+    }
+
+    @Test
+    void parseLegacy_CommaJoinedForm() {
+        assertArrayEquals(new float[]{1.0f, 2.0f, 3.0f}, VoicePrintCodec.parseLegacy("1.0,2.0, 3.0"));
+    }
+
+    @Test
+    void parseLegacy_NotNumeric() {
+        assertThrows(InvalidVoicePrintException.class, () -> VoicePrintCodec.parseLegacy("voice-print-data"));
+    }
+
+    @Test
+    void encodeQuantized_RoundTripsWithinQuantizationError() {
+        float[] vector = {0.5f, -0.25f, 0.125f, -1.0f};
+
+        byte[] encoded = VoicePrintCodec.encodeQuantized(vector);
+
+        assertTrue(VoicePrintCodec.isQuantized(encoded));
+        assertEquals(VoicePrintCodec.HEADER_BYTES + Float.BYTES + vector.length, encoded.length);
+        assertEquals(4, VoicePrintCodec.dimension(encoded));
+        assertArrayEquals(vector, VoicePrintCodec.decode(encoded), 1.0f / 127);
+    }
+}